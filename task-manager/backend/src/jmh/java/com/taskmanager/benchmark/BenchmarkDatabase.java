@@ -0,0 +1,104 @@
+package com.taskmanager.benchmark;
+
+import com.taskmanager.TaskManagerApplication;
+import com.taskmanager.model.Task;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Boots the application without a web server against an in-memory
+ * Oracle-mode H2. Flyway creates the schema from db/migration/h2, then the
+ * tasks table is filled straight through JDBC.
+ *
+ * <p>Seeded data shape: 10% of the rows are top-level tasks and the rest
+ * are spread evenly over them as subtasks. Every tenth row is
+ * soft-deleted. Status and category cycle through their enum values.
+ */
+final class BenchmarkDatabase {
+
+    static final int TOP_LEVEL_RATIO = 10;
+    private static final int INSERT_BATCH_SIZE = 10_000;
+
+    private BenchmarkDatabase() {
+    }
+
+    static ConfigurableApplicationContext start(String searchEngine) {
+        return new SpringApplicationBuilder(TaskManagerApplication.class)
+            .web(WebApplicationType.NONE)
+            .properties(
+                "spring.main.banner-mode=off",
+                "logging.level.root=WARN",
+                "spring.datasource.url=jdbc:h2:mem:benchmark;MODE=Oracle;DB_CLOSE_DELAY=-1",
+                "spring.datasource.driver-class-name=org.h2.Driver",
+                "spring.datasource.username=sa",
+                "spring.datasource.password=",
+                // Same SQL as production; ddl-auto=validate would trip over H2's type names
+                "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.Oracle12cDialect",
+                "taskmanager.jpa.sequence-mismatch-strategy=none",
+                "spring.jpa.hibernate.ddl-auto=none",
+                "spring.jpa.show-sql=false",
+                // Measure the database path, not cache hits
+                "taskmanager.cache.mode=none",
+                "taskmanager.search.engine=" + searchEngine)
+            .run();
+    }
+
+    static void seed(JdbcTemplate jdbcTemplate, int rows) {
+        jdbcTemplate.update("DELETE FROM tasks WHERE parent_task_id IS NOT NULL");
+        jdbcTemplate.update("DELETE FROM tasks");
+        int topLevel = Math.max(1, rows / TOP_LEVEL_RATIO);
+        long now = System.currentTimeMillis();
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH_SIZE);
+        for (int id = 1; id <= rows; id++) {
+            Long parent = id > topLevel ? (long) (id % topLevel) + 1 : null;
+            Timestamp createdAt = new Timestamp(now - id * 1000L);
+            batch.add(new Object[] {
+                id,
+                "Task " + id,
+                "Benchmark task " + id + " with a description long enough to look like a real one.",
+                new Timestamp(now + (id % 90) * 86_400_000L),
+                Task.Priority.values()[id % Task.Priority.values().length].name(),
+                Task.Category.values()[id % Task.Category.values().length].name(),
+                Task.Status.values()[id % Task.Status.values().length].name(),
+                parent,
+                id % 10 == 0 ? 1 : 0,
+                createdAt,
+                createdAt
+            });
+            if (batch.size() == INSERT_BATCH_SIZE) {
+                insert(jdbcTemplate, batch);
+                batch.clear();
+            }
+        }
+        insert(jdbcTemplate, batch);
+        // The pooled optimizer treats NEXTVAL as the top of a 50-id block
+        jdbcTemplate.execute("ALTER SEQUENCE task_seq RESTART WITH " + (rows + 51));
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    /** A random live task id, i.e. one that is not a multiple of ten. */
+    static long liveId(int rows, Random random) {
+        long id = 1 + random.nextInt(rows);
+        return id % 10 == 0 ? id - 1 : id;
+    }
+
+    static long topLevelId(int rows, Random random) {
+        return liveId(Math.max(1, rows / TOP_LEVEL_RATIO), random);
+    }
+
+    private static void insert(JdbcTemplate jdbcTemplate, List<Object[]> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO tasks (id, title, description, due_date, priority, category, " +
+            "status, parent_task_id, is_deleted, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+            batch);
+    }
+}
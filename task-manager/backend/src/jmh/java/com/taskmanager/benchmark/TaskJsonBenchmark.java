@@ -0,0 +1,81 @@
+package com.taskmanager.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskSummary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of writing large list responses the way TaskController does, for
+ * full {@link Task} entities and for the CLOB-free {@link TaskSummary}
+ * projection. Output goes to a null stream so only serialization is timed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx4g"})
+public class TaskJsonBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int rows;
+
+    private ObjectWriter writer;
+    private List<Task> tasks;
+    private List<TaskSummary> summaries;
+
+    @Setup
+    public void setUp() {
+        // Same defaults as Spring Boot's auto-configured ObjectMapper
+        writer = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build()
+            .writer();
+        tasks = new ArrayList<>(rows);
+        summaries = new ArrayList<>(rows);
+        Date now = new Date();
+        for (int id = 1; id <= rows; id++) {
+            Task task = new Task("Task " + id,
+                "Benchmark task " + id + " with a description long enough to look like a real one.");
+            task.setId((long) id);
+            task.setDueDate(now);
+            task.setStatus(Task.Status.values()[id % Task.Status.values().length]);
+            task.setCategory(Task.Category.values()[id % Task.Category.values().length]);
+            task.setParentTaskId(id > rows / BenchmarkDatabase.TOP_LEVEL_RATIO ? (long) id / 10 : null);
+            task.setCreatedAt(now);
+            task.setUpdatedAt(now);
+            tasks.add(task);
+            summaries.add(TaskSummary.from(task));
+        }
+    }
+
+    @Benchmark
+    public void serializeTasks() throws IOException {
+        writer.writeValue(OutputStream.nullOutputStream(), tasks);
+    }
+
+    @Benchmark
+    public void serializeSummaries() throws IOException {
+        writer.writeValue(OutputStream.nullOutputStream(), summaries);
+    }
+}
@@ -0,0 +1,76 @@
+package com.taskmanager.benchmark;
+
+import com.taskmanager.model.CursorPage;
+import com.taskmanager.model.TaskSummary;
+import com.taskmanager.service.LuceneTaskSearchEngine;
+import com.taskmanager.service.TaskService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Paged keyword search through {@link TaskService} with each search engine.
+ * The Lucene index is rebuilt from the seeded rows before measuring.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx4g"})
+public class TaskSearchBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int rows;
+
+    @Param({"jpql", "lucene"})
+    private String engine;
+
+    private final Random random = new Random(42);
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkDatabase.start(engine);
+        BenchmarkDatabase.seed(context.getBean(JdbcTemplate.class), rows);
+        if ("lucene".equals(engine)) {
+            // Startup indexed the empty table; index the seeded rows instead
+            context.getBean(LuceneTaskSearchEngine.class).rebuild();
+        }
+        taskService = context.getBean(TaskService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    // "Task 1234" matches one title exactly plus every title/description
+    // containing a word starting with 1234
+    @Benchmark
+    public CursorPage<TaskSummary> searchSelective() {
+        return taskService.searchTasksPage("Task " + BenchmarkDatabase.liveId(rows, random), null,
+            TaskService.DEFAULT_PAGE_SIZE);
+    }
+
+    // Matches every row's description
+    @Benchmark
+    public CursorPage<TaskSummary> searchBroad() {
+        return taskService.searchTasksPage("benchmark", null, TaskService.DEFAULT_PAGE_SIZE);
+    }
+}
@@ -0,0 +1,103 @@
+package com.taskmanager.benchmark;
+
+import com.taskmanager.model.CursorPage;
+import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskSummary;
+import com.taskmanager.model.TaskTreeNode;
+import com.taskmanager.service.TaskService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link TaskService} hot paths against a seeded Oracle-mode H2, with the
+ * task cache off so every call reaches the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx4g"})
+public class TaskServiceBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int rows;
+
+    private final Random random = new Random(42);
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkDatabase.start("jpql");
+        BenchmarkDatabase.seed(context.getBean(JdbcTemplate.class), rows);
+        taskService = context.getBean(TaskService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Task createTask() {
+        Task task = new Task("Benchmark create", "Created by TaskServiceBenchmark");
+        task.setParentTaskId(BenchmarkDatabase.topLevelId(rows, random));
+        return taskService.createTask(task);
+    }
+
+    @Benchmark
+    public Task updateTask() {
+        Task details = new Task("Benchmark update " + random.nextInt(), "Updated by TaskServiceBenchmark");
+        details.setStatus(Task.Status.IN_PROGRESS);
+        return taskService.updateTask(BenchmarkDatabase.liveId(rows, random), details);
+    }
+
+    @Benchmark
+    public Optional<Task> getTaskById() {
+        return taskService.getTaskById(BenchmarkDatabase.liveId(rows, random));
+    }
+
+    // Unpaged: returns every live top-level task (rows / 10 minus deleted)
+    @Benchmark
+    public List<TaskSummary> listAllTopLevel() {
+        return taskService.getAllTasks();
+    }
+
+    @Benchmark
+    public CursorPage<TaskSummary> listTopLevelPage() {
+        return taskService.getAllTasksPage(null, TaskService.DEFAULT_PAGE_SIZE);
+    }
+
+    @Benchmark
+    public CursorPage<TaskSummary> listByStatusPage() {
+        return taskService.getTasksByStatusPage(Task.Status.PENDING, null, TaskService.DEFAULT_PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<TaskSummary> getSubTasks() {
+        return taskService.getSubTasks(BenchmarkDatabase.topLevelId(rows, random));
+    }
+
+    @Benchmark
+    public CursorPage<TaskTreeNode> getTaskTreePage() {
+        return taskService.getTaskTreePage(null, TaskService.DEFAULT_PAGE_SIZE, 2);
+    }
+}
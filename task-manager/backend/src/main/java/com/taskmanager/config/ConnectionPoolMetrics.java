@@ -0,0 +1,133 @@
+package com.taskmanager.config;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToIntFunction;
+
+/**
+ * Collects HikariCP pool gauges and connection acquire/usage timings.
+ * Hikari calls the tracker on every borrow, so it only touches
+ * contention-free adders.
+ *
+ * <p>Also publishes the same numbers to Micrometer under Hikari's own
+ * {@code hikaricp.connections.*} names. Function meters read the adders
+ * at scrape time, so the borrow path is unchanged.
+ */
+public class ConnectionPoolMetrics implements MetricsTrackerFactory, MeterBinder {
+
+    private final String poolName;
+    private volatile PoolStats poolStats;
+
+    private final LongAdder acquireCount = new LongAdder();
+    private final LongAdder acquireNanos = new LongAdder();
+    private final LongAccumulator maxAcquireNanos = new LongAccumulator(Math::max, 0);
+    private final LongAdder usageCount = new LongAdder();
+    private final LongAdder usageMillis = new LongAdder();
+    private final LongAdder connectionsCreated = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+
+    public ConnectionPoolMetrics(String poolName) {
+        this.poolName = poolName;
+    }
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        this.poolStats = poolStats;
+        return new IMetricsTracker() {
+            @Override
+            public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+                connectionsCreated.increment();
+            }
+
+            @Override
+            public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                acquireCount.increment();
+                acquireNanos.add(elapsedAcquiredNanos);
+                maxAcquireNanos.accumulate(elapsedAcquiredNanos);
+            }
+
+            @Override
+            public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+                usageCount.increment();
+                usageMillis.add(elapsedBorrowedMillis);
+            }
+
+            @Override
+            public void recordConnectionTimeout() {
+                timeouts.increment();
+            }
+        };
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        poolGauge(registry, "hikaricp.connections", PoolStats::getTotalConnections);
+        poolGauge(registry, "hikaricp.connections.active", PoolStats::getActiveConnections);
+        poolGauge(registry, "hikaricp.connections.idle", PoolStats::getIdleConnections);
+        poolGauge(registry, "hikaricp.connections.pending", PoolStats::getPendingThreads);
+        poolGauge(registry, "hikaricp.connections.max", PoolStats::getMaxConnections);
+        poolGauge(registry, "hikaricp.connections.min", PoolStats::getMinConnections);
+        FunctionTimer.builder("hikaricp.connections.acquire", this,
+                metrics -> metrics.acquireCount.sum(), metrics -> metrics.acquireNanos.sum(), TimeUnit.NANOSECONDS)
+            .tag("pool", poolName)
+            .register(registry);
+        TimeGauge.builder("hikaricp.connections.acquire.max", this, TimeUnit.NANOSECONDS,
+                metrics -> metrics.maxAcquireNanos.get())
+            .tag("pool", poolName)
+            .register(registry);
+        FunctionTimer.builder("hikaricp.connections.usage", this,
+                metrics -> metrics.usageCount.sum(), metrics -> metrics.usageMillis.sum(), TimeUnit.MILLISECONDS)
+            .tag("pool", poolName)
+            .register(registry);
+        FunctionCounter.builder("hikaricp.connections.created", this, metrics -> metrics.connectionsCreated.sum())
+            .tag("pool", poolName)
+            .register(registry);
+        FunctionCounter.builder("hikaricp.connections.timeout", this, metrics -> metrics.timeouts.sum())
+            .tag("pool", poolName)
+            .register(registry);
+    }
+
+    private void poolGauge(MeterRegistry registry, String name, ToIntFunction<PoolStats> value) {
+        Gauge.builder(name, this, metrics -> {
+                PoolStats stats = metrics.poolStats;
+                return stats == null ? Double.NaN : value.applyAsInt(stats);
+            })
+            .tag("pool", poolName)
+            .register(registry);
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        PoolStats stats = poolStats;
+        if (stats != null) {
+            metrics.put("active", stats.getActiveConnections());
+            metrics.put("idle", stats.getIdleConnections());
+            metrics.put("total", stats.getTotalConnections());
+            metrics.put("pending", stats.getPendingThreads());
+            metrics.put("max", stats.getMaxConnections());
+            metrics.put("min", stats.getMinConnections());
+        }
+        long acquires = acquireCount.sum();
+        metrics.put("acquireCount", acquires);
+        metrics.put("acquireMeanMicros", acquires == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(acquireNanos.sum() / acquires));
+        metrics.put("acquireMaxMicros", TimeUnit.NANOSECONDS.toMicros(maxAcquireNanos.get()));
+        long usages = usageCount.sum();
+        metrics.put("usageMeanMillis", usages == 0 ? 0 : usageMillis.sum() / usages);
+        metrics.put("connectionsCreated", connectionsCreated.sum());
+        metrics.put("timeouts", timeouts.sum());
+        return metrics;
+    }
+}
@@ -1,20 +1,28 @@
 package com.taskmanager.config;
 
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
-import org.springframework.jdbc.datasource.DriverManagerDataSource;
 import org.springframework.orm.jpa.JpaTransactionManager;
 import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
 import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
 import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 import javax.persistence.EntityManagerFactory;
 import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
 
 @Configuration
@@ -22,6 +30,10 @@ import java.util.Properties;
 @EnableTransactionManagement
 public class DatabaseConfig implements WebMvcConfigurer {
 
+    private static final Logger log = LoggerFactory.getLogger(DatabaseConfig.class);
+
+    private static final String POOL_NAME = "task-manager";
+
     @Value("${spring.datasource.url}")
     private String databaseUrl;
 
@@ -34,16 +46,132 @@ public class DatabaseConfig implements WebMvcConfigurer {
     @Value("${spring.datasource.driver-class-name}")
     private String databaseDriverClassName;
 
+    @Value("${spring.jpa.properties.hibernate.dialect:org.hibernate.dialect.Oracle12cDialect}")
+    private String hibernateDialect;
+
+    @Value("${spring.jpa.hibernate.ddl-auto:validate}")
+    private String hibernateDdlAuto;
+
+    // Diagnostic only: show_sql prints every statement to stdout synchronously
+    @Value("${spring.jpa.show-sql:false}")
+    private boolean showSql;
+
+    @Value("${taskmanager.sql.slow-query-ms:500}")
+    private long slowQueryMillis;
+
+    @Value("${spring.datasource.hikari.minimum-idle:5}")
+    private int poolMinimumIdle;
+
+    @Value("${spring.datasource.hikari.maximum-pool-size:20}")
+    private int poolMaximumSize;
+
+    @Value("${spring.datasource.hikari.connection-timeout:30000}")
+    private long poolConnectionTimeout;
+
+    @Value("${spring.datasource.hikari.validation-timeout:5000}")
+    private long poolValidationTimeout;
+
+    @Value("${spring.datasource.hikari.idle-timeout:600000}")
+    private long poolIdleTimeout;
+
+    @Value("${spring.datasource.hikari.max-lifetime:1800000}")
+    private long poolMaxLifetime;
+
+    @Value("${spring.datasource.hikari.keepalive-time:300000}")
+    private long poolKeepaliveTime;
+
+    @Value("${spring.datasource.hikari.leak-detection-threshold:0}")
+    private long poolLeakDetectionThreshold;
+
+    @Value("${spring.datasource.hikari.register-mbeans:false}")
+    private boolean poolRegisterMbeans;
+
+    @Value("${taskmanager.datasource.statement-cache-size:50}")
+    private int statementCacheSize;
+
+    @Value("${taskmanager.datasource.warm-up:false}")
+    private boolean warmUpPool;
+
+    @Value("${taskmanager.jpa.id-optimizer:pooled}")
+    private String idOptimizer;
+
+    @Value("${taskmanager.jpa.batch-size:50}")
+    private int jdbcBatchSize;
+
+    @Value("${taskmanager.jpa.write-timeout-seconds:30}")
+    private int writeTimeoutSeconds;
+
+    @Value("${taskmanager.jpa.sequence-mismatch-strategy:exception}")
+    private String sequenceMismatchStrategy;
+
+    @Value("${taskmanager.cache.mode:local}")
+    private String cacheMode;
+
+    @Value("${taskmanager.metrics.enabled:true}")
+    private boolean metricsEnabled;
+
     @Bean
+    public ConnectionPoolMetrics connectionPoolMetrics() {
+        return new ConnectionPoolMetrics(POOL_NAME);
+    }
+
+    @Bean(destroyMethod = "close")
     public DataSource dataSource() {
-        DriverManagerDataSource dataSource = new DriverManagerDataSource();
-        dataSource.setDriverClassName(databaseDriverClassName);
-        dataSource.setUrl(databaseUrl);
-        dataSource.setUsername(databaseUsername);
-        dataSource.setPassword(databasePassword);
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(POOL_NAME);
+        config.setDriverClassName(databaseDriverClassName);
+        config.setJdbcUrl(databaseUrl);
+        config.setUsername(databaseUsername);
+        config.setPassword(databasePassword);
+        config.setMinimumIdle(poolMinimumIdle);
+        config.setMaximumPoolSize(poolMaximumSize);
+        config.setConnectionTimeout(poolConnectionTimeout);
+        config.setValidationTimeout(poolValidationTimeout);
+        config.setIdleTimeout(poolIdleTimeout);
+        config.setMaxLifetime(poolMaxLifetime);
+        config.setKeepaliveTime(poolKeepaliveTime);
+        config.setLeakDetectionThreshold(poolLeakDetectionThreshold);
+        config.setRegisterMbeans(poolRegisterMbeans);
+        config.setMetricsTrackerFactory(connectionPoolMetrics());
+
+        // Oracle's implicit statement cache keeps parsed cursors per physical
+        // connection, which only pays off now that connections are reused
+        config.addDataSourceProperty("oracle.jdbc.implicitStatementCacheSize", String.valueOf(statementCacheSize));
+
+        HikariDataSource dataSource = new HikariDataSource(config);
+        if (warmUpPool) {
+            warmUp(dataSource);
+        }
         return dataSource;
     }
 
+    /**
+     * Opens minimum-idle connections up front so the first requests after a
+     * deploy do not pay for connection setup. Hikari would otherwise fill
+     * the pool in the background.
+     */
+    private void warmUp(HikariDataSource dataSource) {
+        List<Connection> connections = new ArrayList<>();
+        try {
+            for (int i = 0; i < poolMinimumIdle; i++) {
+                Connection connection = dataSource.getConnection();
+                connections.add(connection);
+                connection.isValid((int) (poolValidationTimeout / 1000));
+            }
+            log.info("Warmed up connection pool with {} connections", connections.size());
+        } catch (SQLException e) {
+            log.warn("Connection pool warm-up stopped after {} connections", connections.size(), e);
+        } finally {
+            for (Connection connection : connections) {
+                try {
+                    connection.close();
+                } catch (SQLException e) {
+                    log.debug("Failed to return warm-up connection", e);
+                }
+            }
+        }
+    }
+
     @Bean
     public LocalContainerEntityManagerFactoryBean entityManagerFactory() {
         LocalContainerEntityManagerFactoryBean em = new LocalContainerEntityManagerFactoryBean();
@@ -59,20 +187,61 @@ public class DatabaseConfig implements WebMvcConfigurer {
 
     @Bean
     public PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
-        JpaTransactionManager transactionManager = new JpaTransactionManager();
+        // The default timeout bounds how long a write can stay uncommitted,
+        // which sizes the change feed's rescan window. Read-only
+        // transactions, such as the streaming export, stay unbounded.
+        JpaTransactionManager transactionManager = new JpaTransactionManager() {
+            @Override
+            protected int determineTimeout(TransactionDefinition definition) {
+                return definition.isReadOnly() ? definition.getTimeout() : super.determineTimeout(definition);
+            }
+        };
+        transactionManager.setDefaultTimeout(writeTimeoutSeconds);
         transactionManager.setEntityManagerFactory(entityManagerFactory);
         return transactionManager;
     }
 
     private Properties jpaProperties() {
         Properties properties = new Properties();
-        properties.put("hibernate.dialect", "org.hibernate.dialect.Oracle12cDialect");
-        properties.put("hibernate.hbm2ddl.auto", "validate");
-        properties.put("hibernate.show_sql", "true");
-        properties.put("hibernate.format_sql", "true");
+        properties.put("hibernate.dialect", hibernateDialect);
+        properties.put("hibernate.hbm2ddl.auto", hibernateDdlAuto);
+        properties.put("hibernate.show_sql", String.valueOf(showSql));
+        properties.put("hibernate.format_sql", String.valueOf(showSql));
         properties.put("hibernate.use_sql_comments", "false");
-        properties.put("hibernate.jdbc.batch_size", "10");
+        properties.put("hibernate.jdbc.batch_size", String.valueOf(jdbcBatchSize));
+        // "pooled" or "pooled-lo"; both stay safe alongside raw task_seq.NEXTVAL callers
+        properties.put("hibernate.id.optimizer.pooled.preferred", idOptimizer);
+        // At startup Hibernate compares each sequence's INCREMENT BY with its
+        // allocationSize by reading the dictionary (all_sequences on Oracle)
+        properties.put("hibernate.id.sequence.increment_size_mismatch_strategy", sequenceMismatchStrategy);
+        // Group statements by entity so bulk writes fill whole JDBC batches
+        properties.put("hibernate.order_inserts", "true");
+        properties.put("hibernate.order_updates", "true");
+        properties.put("hibernate.jdbc.batch_versioned_data", "true");
         properties.put("hibernate.jdbc.fetch_size", "50");
+        // Criteria queries (TaskQueryRepository) bind every value, ids and
+        // counts included, so each filter combination is one cursor in Oracle
+        properties.put("hibernate.criteria.literal_handling_mode", "bind");
+        // Statistics feed the hibernate.* Micrometer meters; the per-session
+        // log line they would also print is turned off
+        properties.put("hibernate.generate_statistics", String.valueOf(metricsEnabled));
+        properties.put("hibernate.session.events.log", "false");
+        // Per-request statement counts and JDBC time (SqlStatementFilter)
+        properties.put("hibernate.session_factory.statement_inspector", SqlStatementInspector.class.getName());
+        properties.put("hibernate.session.events.auto", SqlTimingListener.class.getName());
+        // Logged at INFO on the org.hibernate.SQL_SLOW category
+        properties.put("hibernate.session.events.log.LOG_QUERIES_SLOWER_THAN_MS", String.valueOf(slowQueryMillis));
+
+        // Second-level cache is the alternative to TaskCache; never run both
+        boolean secondLevelCache = "hibernate".equalsIgnoreCase(cacheMode);
+        properties.put("hibernate.cache.use_second_level_cache", String.valueOf(secondLevelCache));
+        properties.put("hibernate.cache.use_query_cache", String.valueOf(secondLevelCache));
+        if (secondLevelCache) {
+            properties.put("javax.persistence.sharedCache.mode", "ENABLE_SELECTIVE");
+            properties.put("hibernate.cache.region.factory_class", "jcache");
+            properties.put("hibernate.javax.cache.provider", "org.ehcache.jsr107.EhcacheCachingProvider");
+            properties.put("hibernate.javax.cache.uri", "ehcache.xml");
+        }
         return properties;
     }
 
@@ -80,7 +249,7 @@ public class DatabaseConfig implements WebMvcConfigurer {
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/api/**")
             .allowedOrigins("http://localhost:3000")
-            .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
+            .allowedMethods("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS")
             .allowedHeaders("*")
             .allowCredentials(true)
             .maxAge(3600);
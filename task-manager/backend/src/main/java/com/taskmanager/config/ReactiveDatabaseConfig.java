@@ -0,0 +1,80 @@
+package com.taskmanager.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.binding.BindMarkersFactory;
+import org.springframework.r2dbc.core.binding.BindMarkersFactoryResolver;
+
+import java.time.Duration;
+
+/**
+ * R2DBC connection pool for the streaming read API
+ * ({@code taskmanager.reactive.enabled}). It is sized and configured
+ * independently of the Hikari pool in {@link DatabaseConfig}, which keeps
+ * serving JPA. Boot's own R2DBC auto-configuration is excluded in
+ * {@code TaskManagerApplication} so nothing else picks this pool up.
+ */
+@Configuration
+@ConditionalOnProperty(name = "taskmanager.reactive.enabled", havingValue = "true")
+public class ReactiveDatabaseConfig {
+
+    private static final String POOL_NAME = "task-manager-reactive";
+
+    @Value("${taskmanager.reactive.url}")
+    private String url;
+
+    @Value("${taskmanager.reactive.username:${spring.datasource.username}}")
+    private String username;
+
+    @Value("${taskmanager.reactive.password:${spring.datasource.password}}")
+    private String password;
+
+    @Value("${taskmanager.reactive.pool.initial-size:5}")
+    private int poolInitialSize;
+
+    @Value("${taskmanager.reactive.pool.max-size:20}")
+    private int poolMaxSize;
+
+    @Value("${taskmanager.reactive.pool.max-idle-time:600000}")
+    private long poolMaxIdleTime;
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionPool reactiveConnectionFactory() {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+            .option(ConnectionFactoryOptions.USER, username)
+            .option(ConnectionFactoryOptions.PASSWORD, password)
+            .build();
+        ConnectionPoolConfiguration configuration =
+            ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .name(POOL_NAME)
+                .initialSize(poolInitialSize)
+                .maxSize(poolMaxSize)
+                .maxIdleTime(Duration.ofMillis(poolMaxIdleTime))
+                .build();
+        return new ConnectionPool(configuration);
+    }
+
+    @Bean
+    public DatabaseClient databaseClient(ConnectionPool reactiveConnectionFactory) {
+        return DatabaseClient.builder()
+            .connectionFactory(reactiveConnectionFactory)
+            .bindMarkers(bindMarkers(reactiveConnectionFactory))
+            .build();
+    }
+
+    // Spring 5.3 has no built-in bind markers for Oracle R2DBC, which takes :name
+    private static BindMarkersFactory bindMarkers(ConnectionFactory connectionFactory) {
+        if (connectionFactory.getMetadata().getName().startsWith("Oracle")) {
+            return BindMarkersFactory.named(":", "P", 32);
+        }
+        return BindMarkersFactoryResolver.resolve(connectionFactory);
+    }
+}
@@ -0,0 +1,45 @@
+package com.taskmanager.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times every public {@code TaskService} method and the search engines'
+ * {@code search} calls as {@code taskmanager.service}, tagged with class,
+ * method and exception. Controllers are covered by Boot's
+ * {@code http.server.requests} and repositories by
+ * {@code spring.data.repository.invocations}.
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(name = "taskmanager.metrics.enabled", havingValue = "true", matchIfMissing = true)
+public class ServiceMetricsAspect {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Around("execution(public * com.taskmanager.service.TaskService.*(..)) || " +
+        "execution(public * com.taskmanager.service.TaskSearchEngine+.search(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("taskmanager.service")
+                .tag("class", joinPoint.getTarget().getClass().getSimpleName())
+                .tag("method", joinPoint.getSignature().getName())
+                .tag("exception", exception)
+                .register(meterRegistry));
+        }
+    }
+}
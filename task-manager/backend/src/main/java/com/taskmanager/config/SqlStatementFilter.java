@@ -0,0 +1,118 @@
+package com.taskmanager.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks the SQL each HTTP request issues. Per endpoint it records the
+ * statement count ({@code taskmanager.request.sql.statements}) and the JDBC
+ * time ({@code taskmanager.request.sql.time}).
+ *
+ * <p>A request is logged at WARN when it exceeds any of three thresholds:
+ * the statement budget, the slow-request time, or the same statement
+ * repeated often enough to suggest an N+1 pattern. Flagged requests are
+ * also counted by reason.
+ */
+@Component
+@ConditionalOnProperty(name = "taskmanager.sql.tracking", havingValue = "true", matchIfMissing = true)
+public class SqlStatementFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlStatementFilter.class);
+
+    @Value("${taskmanager.sql.max-statements-per-request:20}")
+    private int maxStatementsPerRequest;
+
+    @Value("${taskmanager.sql.slow-request-ms:1000}")
+    private long slowRequestMillis;
+
+    @Value("${taskmanager.sql.repeated-statement-threshold:5}")
+    private int repeatedStatementThreshold;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        SqlStatementStats stats = SqlStatementStats.begin();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            SqlStatementStats.end();
+            report(request, stats, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+    }
+
+    private void report(HttpServletRequest request, SqlStatementStats stats, long elapsedMillis) {
+        String uri = uriPattern(request);
+        String endpoint = request.getMethod() + " " + uri;
+        if (meterRegistry != null) {
+            DistributionSummary.builder("taskmanager.request.sql.statements")
+                .tag("uri", uri)
+                .tag("method", request.getMethod())
+                .register(meterRegistry)
+                .record(stats.getStatementCount());
+            Timer.builder("taskmanager.request.sql.time")
+                .tag("uri", uri)
+                .tag("method", request.getMethod())
+                .register(meterRegistry)
+                .record(stats.getJdbcNanos(), TimeUnit.NANOSECONDS);
+        }
+
+        List<String> reasons = new ArrayList<>();
+        if (stats.getStatementCount() > maxStatementsPerRequest) {
+            reasons.add("statements");
+        }
+        if (elapsedMillis > slowRequestMillis) {
+            reasons.add("slow");
+        }
+        Map.Entry<String, Integer> repeated = stats.getMostRepeatedStatement();
+        boolean nPlusOne = repeated != null && repeated.getValue() >= repeatedStatementThreshold;
+        if (nPlusOne) {
+            reasons.add("repeated");
+        }
+        if (reasons.isEmpty()) {
+            return;
+        }
+        if (meterRegistry != null) {
+            for (String reason : reasons) {
+                meterRegistry.counter("taskmanager.request.sql.flagged", "uri", uri,
+                    "reason", reason).increment();
+            }
+        }
+        if (nPlusOne) {
+            log.warn("{} {}: {} statements, {} ms JDBC, {} ms total; repeated {} times (possible N+1): {}",
+                endpoint, reasons, stats.getStatementCount(), stats.getJdbcMillis(), elapsedMillis,
+                repeated.getValue(), repeated.getKey());
+        } else {
+            log.warn("{} {}: {} statements, {} ms JDBC, {} ms total", endpoint, reasons,
+                stats.getStatementCount(), stats.getJdbcMillis(), elapsedMillis);
+        }
+    }
+
+    // The mapped pattern (/tasks/{id}) keeps metric tags bounded
+    private static String uriPattern(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+}
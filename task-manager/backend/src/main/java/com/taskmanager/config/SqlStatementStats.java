@@ -0,0 +1,92 @@
+package com.taskmanager.config;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SQL statements issued on the current thread, with their repetition counts
+ * and total JDBC execution time. Hibernate feeds it through
+ * {@link SqlStatementInspector} and {@link SqlTimingListener}.
+ * {@link SqlStatementFilter} opens one scope per HTTP request. Tests can
+ * open their own scope to bound the queries a call makes:
+ *
+ * <pre>
+ * SqlStatementStats stats = SqlStatementStats.begin();
+ * try {
+ *     mockMvc.perform(get("/tasks/tree"));
+ * } finally {
+ *     SqlStatementStats.end();
+ * }
+ * assertTrue(stats.getStatementCount() &lt;= 2);
+ * </pre>
+ *
+ * Nested scopes share the outermost one. Nothing is recorded outside a scope.
+ */
+public final class SqlStatementStats {
+
+    // Distinct SQL strings kept per scope; further statements are only counted
+    private static final int MAX_DISTINCT_STATEMENTS = 256;
+
+    private static final ThreadLocal<SqlStatementStats> CURRENT = new ThreadLocal<>();
+
+    private final Map<String, Integer> statements = new HashMap<>();
+    private int depth;
+    private int statementCount;
+    private long jdbcNanos;
+
+    private SqlStatementStats() {
+    }
+
+    public static SqlStatementStats begin() {
+        SqlStatementStats stats = CURRENT.get();
+        if (stats == null) {
+            stats = new SqlStatementStats();
+            CURRENT.set(stats);
+        }
+        stats.depth++;
+        return stats;
+    }
+
+    public static void end() {
+        SqlStatementStats stats = CURRENT.get();
+        if (stats != null && --stats.depth == 0) {
+            CURRENT.remove();
+        }
+    }
+
+    static SqlStatementStats current() {
+        return CURRENT.get();
+    }
+
+    void recordStatement(String sql) {
+        statementCount++;
+        if (statements.size() < MAX_DISTINCT_STATEMENTS || statements.containsKey(sql)) {
+            statements.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    void recordJdbcNanos(long nanos) {
+        jdbcNanos += nanos;
+    }
+
+    public int getStatementCount() { return statementCount; }
+
+    public long getJdbcMillis() { return TimeUnit.NANOSECONDS.toMillis(jdbcNanos); }
+
+    long getJdbcNanos() { return jdbcNanos; }
+
+    public Map<String, Integer> getStatements() { return Collections.unmodifiableMap(statements); }
+
+    /** The statement issued most often in this scope, or null if none was issued. */
+    public Map.Entry<String, Integer> getMostRepeatedStatement() {
+        Map.Entry<String, Integer> top = null;
+        for (Map.Entry<String, Integer> entry : statements.entrySet()) {
+            if (top == null || entry.getValue() > top.getValue()) {
+                top = entry;
+            }
+        }
+        return top;
+    }
+}
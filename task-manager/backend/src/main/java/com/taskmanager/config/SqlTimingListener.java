@@ -0,0 +1,40 @@
+package com.taskmanager.config;
+
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * Adds JDBC execution time, for single statements and batches, to the
+ * current {@link SqlStatementStats} scope. Hibernate creates one instance
+ * per session from {@code hibernate.session.events.auto}.
+ */
+public class SqlTimingListener extends BaseSessionEventListener {
+
+    private long executeStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executeStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        record();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        executeStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        record();
+    }
+
+    private void record() {
+        SqlStatementStats stats = SqlStatementStats.current();
+        if (stats != null) {
+            stats.recordJdbcNanos(System.nanoTime() - executeStart);
+        }
+    }
+}
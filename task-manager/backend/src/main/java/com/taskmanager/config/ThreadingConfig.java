@@ -0,0 +1,57 @@
+package com.taskmanager.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Request and {@code @Async} execution model, chosen with
+ * {@code taskmanager.threads.mode}.
+ *
+ * <p>{@code platform} (the default) keeps Tomcat's bounded worker pool and
+ * Boot's {@code applicationTaskExecutor}. {@code virtual} runs every
+ * request and async task on its own virtual thread, so a blocked JDBC call
+ * no longer holds one of a fixed number of request threads. Database
+ * concurrency is still capped by the Hikari pool in both modes.
+ *
+ * <p>Virtual threads need Java 21. The executor is looked up reflectively,
+ * so the Java 11 build runs unchanged on either JDK. Startup fails if
+ * {@code virtual} is requested on an older runtime.
+ */
+@Configuration
+@EnableAsync
+public class ThreadingConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnProperty(name = "taskmanager.threads.mode", havingValue = "virtual")
+    public ExecutorService virtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("taskmanager.threads.mode=virtual needs Java 21 or later, running on "
+                + Runtime.version(), e);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not create the virtual-thread executor", e);
+        }
+    }
+
+    // Replaces Boot's thread pool for @Async methods and async MVC requests
+    @Bean(name = {"applicationTaskExecutor", "taskExecutor"})
+    @ConditionalOnProperty(name = "taskmanager.threads.mode", havingValue = "virtual")
+    public AsyncTaskExecutor applicationTaskExecutor(ExecutorService virtualThreadExecutor) {
+        return new TaskExecutorAdapter(virtualThreadExecutor);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "taskmanager.threads.mode", havingValue = "virtual")
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandler(ExecutorService virtualThreadExecutor) {
+        return protocolHandler -> protocolHandler.setExecutor(virtualThreadExecutor);
+    }
+}
@@ -0,0 +1,33 @@
+package com.taskmanager.controller;
+
+import com.taskmanager.config.ConnectionPoolMetrics;
+import com.taskmanager.service.TaskCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/metrics")
+public class MetricsController {
+
+    @Autowired
+    private ConnectionPoolMetrics connectionPoolMetrics;
+
+    @Autowired
+    private TaskCache taskCache;
+
+    @GetMapping("/pool")
+    public ResponseEntity<Map<String, Object>> getPoolMetrics() {
+        return new ResponseEntity<>(connectionPoolMetrics.snapshot(), HttpStatus.OK);
+    }
+
+    @GetMapping("/cache")
+    public ResponseEntity<Map<String, Object>> getCacheMetrics() {
+        return new ResponseEntity<>(taskCache.stats(), HttpStatus.OK);
+    }
+}
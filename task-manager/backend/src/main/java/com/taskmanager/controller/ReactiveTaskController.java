@@ -0,0 +1,65 @@
+package com.taskmanager.controller;
+
+import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskSummary;
+import com.taskmanager.repository.ReactiveTaskRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+
+/**
+ * Streaming variants of the {@link TaskController} list endpoints, backed
+ * by R2DBC. Each response is written one task at a time as NDJSON
+ * ({@code Accept: application/x-ndjson}) or as Server-Sent Events
+ * ({@code Accept: text/event-stream}). No request thread waits on the
+ * database, and no result list is built in memory.
+ */
+@RestController
+@RequestMapping(value = "/reactive/tasks",
+    produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+@CrossOrigin(origins = "http://localhost:3000")
+@ConditionalOnProperty(name = "taskmanager.reactive.enabled", havingValue = "true")
+public class ReactiveTaskController {
+
+    @Autowired
+    private ReactiveTaskRepository reactiveTaskRepository;
+
+    @GetMapping
+    public ResponseEntity<Flux<TaskSummary>> getAllTasks() {
+        return new ResponseEntity<>(reactiveTaskRepository.findTopLevelSummaries(), HttpStatus.OK);
+    }
+
+    @GetMapping("/status/{status}")
+    public ResponseEntity<Flux<TaskSummary>> getTasksByStatus(@PathVariable String status) {
+        try {
+            Task.Status taskStatus = Task.Status.valueOf(status.toUpperCase());
+            return new ResponseEntity<>(reactiveTaskRepository.findSummariesByStatus(taskStatus), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @GetMapping("/category/{category}")
+    public ResponseEntity<Flux<TaskSummary>> getTasksByCategory(@PathVariable String category) {
+        try {
+            Task.Category taskCategory = Task.Category.valueOf(category.toUpperCase());
+            return new ResponseEntity<>(reactiveTaskRepository.findSummariesByCategory(taskCategory), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<Flux<TaskSummary>> searchTasks(@RequestParam String keyword) {
+        return new ResponseEntity<>(reactiveTaskRepository.searchSummaries(keyword), HttpStatus.OK);
+    }
+
+    @GetMapping("/{id}/subtasks")
+    public ResponseEntity<Flux<TaskSummary>> getSubTasks(@PathVariable Long id) {
+        return new ResponseEntity<>(reactiveTaskRepository.findSubTaskSummaries(id), HttpStatus.OK);
+    }
+}
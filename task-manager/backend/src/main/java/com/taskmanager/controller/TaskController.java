@@ -1,18 +1,45 @@
 package com.taskmanager.controller;
 
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.taskmanager.model.BatchResult;
+import com.taskmanager.model.CursorPage;
 import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskChangeFeed;
+import com.taskmanager.model.TaskImportResult;
+import com.taskmanager.model.TaskQuery;
+import com.taskmanager.model.TaskStats;
+import com.taskmanager.model.TaskSummary;
+import com.taskmanager.model.TaskTreeNode;
+import com.taskmanager.model.TaskValidator;
+import com.taskmanager.service.TaskChangeBroadcaster;
+import com.taskmanager.service.TaskExportFormat;
+import com.taskmanager.service.TaskImportService;
 import com.taskmanager.service.TaskService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/tasks")
@@ -22,16 +49,30 @@ public class TaskController {
     @Autowired
     private TaskService taskService;
 
+    @Autowired
+    private TaskImportService taskImportService;
+
+    @Autowired
+    private TaskChangeBroadcaster changeBroadcaster;
+
     @GetMapping
-    public ResponseEntity<List<Task>> getAllTasks() {
-        List<Task> tasks = taskService.getAllTasks();
-        return new ResponseEntity<>(tasks, HttpStatus.OK);
+    public ResponseEntity<List<TaskSummary>> getAllTasks(WebRequest request) {
+        ResponseEntity<List<TaskSummary>> unchanged = checkNotModified(request, taskService::getAllTasksValidator);
+        if (unchanged != null) {
+            return unchanged;
+        }
+        List<TaskSummary> tasks = taskService.getAllTasks();
+        return withValidator(tasks, TaskValidator.of(tasks));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Task> getTaskById(@PathVariable Long id) {
+    public ResponseEntity<Task> getTaskById(@PathVariable Long id, WebRequest request) {
+        ResponseEntity<Task> unchanged = checkNotModified(request, () -> taskService.getTaskValidator(id).orElse(null));
+        if (unchanged != null) {
+            return unchanged;
+        }
         Optional<Task> task = taskService.getTaskById(id);
-        return task.map(value -> new ResponseEntity<>(value, HttpStatus.OK))
+        return task.map(value -> withValidator(value, TaskValidator.of(value)))
             .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 
@@ -41,18 +82,107 @@ public class TaskController {
         return new ResponseEntity<>(createdTask, HttpStatus.CREATED);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<BatchResult> createTasks(@RequestBody List<Task> tasks) {
+        try {
+            BatchResult result = taskService.createTasks(tasks);
+            return new ResponseEntity<>(result, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @PatchMapping("/batch")
+    public ResponseEntity<BatchResult> updateTasks(@RequestBody List<Task> tasks) {
+        try {
+            BatchResult result = taskService.updateTasks(tasks);
+            return new ResponseEntity<>(result, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @DeleteMapping("/batch")
+    public ResponseEntity<BatchResult> deleteTasks(@RequestBody List<Long> ids) {
+        try {
+            BatchResult result = taskService.deleteTasks(ids);
+            return new ResponseEntity<>(result, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    // If-Match with the task's ETag turns the update into a compare-and-set:
+    // 412 when the task changed since it was read
     @PutMapping("/{id}")
-    public ResponseEntity<Task> updateTask(@PathVariable Long id, @Valid @RequestBody Task taskDetails) {
-        Task updatedTask = taskService.updateTask(id, taskDetails);
-        if (updatedTask != null) {
-            return new ResponseEntity<>(updatedTask, HttpStatus.OK);
+    public ResponseEntity<Task> updateTask(@PathVariable Long id, @Valid @RequestBody Task taskDetails,
+                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                           String ifMatch) {
+        Long expectedVersion = ifMatch == null || ifMatch.trim().equals("*") ? null : expectedVersion(id, ifMatch);
+        try {
+            Task updatedTask = expectedVersion == null
+                ? taskService.updateTask(id, taskDetails)
+                : taskService.updateTask(id, taskDetails, expectedVersion);
+            if (updatedTask != null) {
+                return withValidator(updatedTask, TaskValidator.of(updatedTask));
+            }
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            // Without If-Match the service already retried; another write kept getting there first
+            return new ResponseEntity<>(expectedVersion != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT);
+        }
+    }
+
+    // Partial update: only the fields in the body change. If-Match works as for PUT.
+    @PatchMapping("/{id}")
+    public ResponseEntity<Task> patchTask(@PathVariable Long id, @RequestBody ObjectNode changes,
+                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                          String ifMatch) {
+        Long expectedVersion = ifMatch == null || ifMatch.trim().equals("*") ? null : expectedVersion(id, ifMatch);
+        try {
+            Task patchedTask = taskService.patchTask(id, changes, expectedVersion);
+            if (patchedTask != null) {
+                return withValidator(patchedTask, TaskValidator.of(patchedTask));
+            }
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            return new ResponseEntity<>(expectedVersion != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT);
+        }
+    }
+
+    // Body {"status": "COMPLETED"}. With write-behind on, the change is
+    // queued and the answer is 202 without a body.
+    @PatchMapping("/{id}/status")
+    public ResponseEntity<TaskSummary> updateTaskStatus(@PathVariable Long id, @RequestBody Map<String, String> body) {
+        Task.Status status;
+        try {
+            status = Task.Status.valueOf(String.valueOf(body.get("status")).toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        if (taskService.isStatusWriteBehind()) {
+            taskService.queueStatusUpdate(id, status);
+            return new ResponseEntity<>(HttpStatus.ACCEPTED);
+        }
+        try {
+            TaskSummary updatedTask = taskService.updateStatus(id, status);
+            if (updatedTask != null) {
+                return new ResponseEntity<>(updatedTask, HttpStatus.OK);
+            }
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            return new ResponseEntity<>(HttpStatus.CONFLICT);
         }
-        return new ResponseEntity<>(HttpStatus.NOT_FOUND);
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteTask(@PathVariable Long id) {
-        boolean deleted = taskService.deleteTask(id);
+    public ResponseEntity<Void> deleteTask(@PathVariable Long id,
+                                           @RequestParam(defaultValue = "false") boolean cascade) {
+        boolean deleted = cascade ? taskService.deleteTaskTree(id) : taskService.deleteTask(id);
         if (deleted) {
             return new ResponseEntity<>(HttpStatus.NO_CONTENT);
         }
@@ -60,8 +190,9 @@ public class TaskController {
     }
 
     @PutMapping("/{id}/restore")
-    public ResponseEntity<Task> restoreTask(@PathVariable Long id) {
-        Task restoredTask = taskService.restoreTask(id);
+    public ResponseEntity<Task> restoreTask(@PathVariable Long id,
+                                            @RequestParam(defaultValue = "false") boolean cascade) {
+        Task restoredTask = cascade ? taskService.restoreTaskTree(id) : taskService.restoreTask(id);
         if (restoredTask != null) {
             return new ResponseEntity<>(restoredTask, HttpStatus.OK);
         }
@@ -69,42 +200,347 @@ public class TaskController {
     }
 
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<Task>> getTasksByStatus(@PathVariable String status) {
+    public ResponseEntity<List<TaskSummary>> getTasksByStatus(@PathVariable String status, WebRequest request) {
         try {
             Task.Status taskStatus = Task.Status.valueOf(status.toUpperCase());
-            List<Task> tasks = taskService.getTasksByStatus(taskStatus);
-            return new ResponseEntity<>(tasks, HttpStatus.OK);
+            ResponseEntity<List<TaskSummary>> unchanged =
+                checkNotModified(request, () -> taskService.getTasksByStatusValidator(taskStatus));
+            if (unchanged != null) {
+                return unchanged;
+            }
+            List<TaskSummary> tasks = taskService.getTasksByStatus(taskStatus);
+            return withValidator(tasks, TaskValidator.of(tasks));
         } catch (IllegalArgumentException e) {
             return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         }
     }
 
     @GetMapping("/category/{category}")
-    public ResponseEntity<List<Task>> getTasksByCategory(@PathVariable String category) {
+    public ResponseEntity<List<TaskSummary>> getTasksByCategory(@PathVariable String category, WebRequest request) {
         try {
             Task.Category taskCategory = Task.Category.valueOf(category.toUpperCase());
-            List<Task> tasks = taskService.getTasksByCategory(taskCategory);
-            return new ResponseEntity<>(tasks, HttpStatus.OK);
+            ResponseEntity<List<TaskSummary>> unchanged =
+                checkNotModified(request, () -> taskService.getTasksByCategoryValidator(taskCategory));
+            if (unchanged != null) {
+                return unchanged;
+            }
+            List<TaskSummary> tasks = taskService.getTasksByCategory(taskCategory);
+            return withValidator(tasks, TaskValidator.of(tasks));
         } catch (IllegalArgumentException e) {
             return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         }
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<Task>> searchTasks(@RequestParam String keyword) {
-        List<Task> tasks = taskService.searchTasks(keyword);
+    public ResponseEntity<List<TaskSummary>> searchTasks(@RequestParam String keyword) {
+        List<TaskSummary> tasks = taskService.searchTasks(keyword);
         return new ResponseEntity<>(tasks, HttpStatus.OK);
     }
 
     @GetMapping("/{id}/subtasks")
-    public ResponseEntity<List<Task>> getSubTasks(@PathVariable Long id) {
-        List<Task> subTasks = taskService.getSubTasks(id);
-        return new ResponseEntity<>(subTasks, HttpStatus.OK);
+    public ResponseEntity<List<TaskSummary>> getSubTasks(@PathVariable Long id, WebRequest request) {
+        ResponseEntity<List<TaskSummary>> unchanged =
+            checkNotModified(request, () -> taskService.getSubTasksValidator(id));
+        if (unchanged != null) {
+            return unchanged;
+        }
+        List<TaskSummary> subTasks = taskService.getSubTasks(id);
+        return withValidator(subTasks, TaskValidator.of(subTasks));
     }
 
     @GetMapping("/deleted")
-    public ResponseEntity<List<Task>> getDeletedTasks() {
-        List<Task> deletedTasks = taskService.getDeletedTasks();
-        return new ResponseEntity<>(deletedTasks, HttpStatus.OK);
+    public ResponseEntity<List<TaskSummary>> getDeletedTasks(WebRequest request) {
+        ResponseEntity<List<TaskSummary>> unchanged = checkNotModified(request, taskService::getDeletedTasksValidator);
+        if (unchanged != null) {
+            return unchanged;
+        }
+        List<TaskSummary> deletedTasks = taskService.getDeletedTasks();
+        return withValidator(deletedTasks, TaskValidator.of(deletedTasks));
+    }
+
+    // Dashboard counts, served from memory (see TaskStatistics)
+    @GetMapping("/stats")
+    public ResponseEntity<TaskStats> getStats() {
+        return new ResponseEntity<>(taskService.getStats(), HttpStatus.OK);
+    }
+
+    // Delta sync: pass the returned nextToken back as ?since= to get only
+    // what changed. Without a token the feed starts with every task.
+    @GetMapping("/changes")
+    public ResponseEntity<TaskChangeFeed> getChanges(@RequestParam(required = false) String since,
+                                                     @RequestParam(required = false) Integer limit) {
+        try {
+            TaskChangeFeed feed = taskService.getChanges(since, limit);
+            return new ResponseEntity<>(feed, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    // An empty feed positioned at the newest change: a client that loads its
+    // view from the paged endpoints takes this first, then follows the feed
+    // from it instead of downloading every task through it
+    @GetMapping("/changes/latest")
+    public ResponseEntity<TaskChangeFeed> getLatestChanges() {
+        TaskChangeFeed feed = new TaskChangeFeed(Collections.emptyList(), taskService.getLatestChangeToken(), false);
+        return new ResponseEntity<>(feed, HttpStatus.OK);
+    }
+
+    // The same deltas pushed as server-sent "changes" events. Each event id
+    // is a token, so a reconnecting EventSource resumes via Last-Event-ID.
+    @GetMapping(value = "/changes/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamChanges(@RequestParam(required = false) String since,
+                                                    @RequestHeader(value = "Last-Event-ID", required = false)
+                                                    String lastEventId) {
+        try {
+            SseEmitter emitter = changeBroadcaster.subscribe(lastEventId != null ? lastEventId : since);
+            return new ResponseEntity<>(emitter, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    // Streams the whole table, deleted tasks included, as it is read;
+    // gzip=true wraps the download in a .gz file
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTasks(@RequestParam(defaultValue = "jsonl") String format,
+                                                             @RequestParam(defaultValue = "false") boolean gzip) {
+        try {
+            TaskExportFormat exportFormat = TaskExportFormat.valueOf(format.toUpperCase());
+            String filename = "tasks." + exportFormat.getExtension() + (gzip ? ".gz" : "");
+            HttpHeaders headers = new HttpHeaders();
+            headers.set(HttpHeaders.CONTENT_TYPE, gzip ? "application/gzip" : exportFormat.getMediaType());
+            headers.set(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"");
+            StreamingResponseBody body = out -> {
+                if (gzip) {
+                    GZIPOutputStream compressed = new GZIPOutputStream(out, 8192);
+                    taskService.exportTasks(exportFormat, compressed);
+                    compressed.finish();
+                } else {
+                    taskService.exportTasks(exportFormat, out);
+                }
+            };
+            return new ResponseEntity<>(body, headers, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    // Bulk import of a CSV or JSON-lines body in the export layout. Repeat
+    // the call with the returned importId to resume an interrupted import.
+    @PostMapping("/import")
+    public ResponseEntity<TaskImportResult> importTasks(@RequestParam(defaultValue = "jsonl") String format,
+                                                        @RequestParam(required = false) String importId,
+                                                        @RequestParam(defaultValue = "false") boolean gzip,
+                                                        InputStream body) throws IOException {
+        try {
+            TaskExportFormat importFormat = TaskExportFormat.valueOf(format.toUpperCase());
+            InputStream in = gzip ? new GZIPInputStream(body, 65536) : body;
+            TaskImportResult result = taskImportService.importTasks(importId, importFormat, in);
+            return new ResponseEntity<>(result, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        } catch (IllegalStateException e) {
+            return new ResponseEntity<>(HttpStatus.CONFLICT);
+        }
+    }
+
+    @GetMapping("/import/{importId}")
+    public ResponseEntity<TaskImportResult> getImport(@PathVariable String importId) {
+        TaskImportResult result = taskImportService.getImport(importId);
+        if (result != null) {
+            return new ResponseEntity<>(result, HttpStatus.OK);
+        }
+        return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+    }
+
+    // Keyset-paginated listings: pass the returned nextCursor back as ?cursor=
+
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<TaskSummary>> getAllTasksPage(@RequestParam(required = false) String cursor,
+                                                            @RequestParam(required = false) Integer limit) {
+        try {
+            CursorPage<TaskSummary> page = taskService.getAllTasksPage(cursor, limit);
+            return new ResponseEntity<>(page, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @GetMapping("/status/{status}/page")
+    public ResponseEntity<CursorPage<TaskSummary>> getTasksByStatusPage(@PathVariable String status,
+                                                                 @RequestParam(required = false) String cursor,
+                                                                 @RequestParam(required = false) Integer limit) {
+        try {
+            Task.Status taskStatus = Task.Status.valueOf(status.toUpperCase());
+            CursorPage<TaskSummary> page = taskService.getTasksByStatusPage(taskStatus, cursor, limit);
+            return new ResponseEntity<>(page, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @GetMapping("/category/{category}/page")
+    public ResponseEntity<CursorPage<TaskSummary>> getTasksByCategoryPage(@PathVariable String category,
+                                                                   @RequestParam(required = false) String cursor,
+                                                                   @RequestParam(required = false) Integer limit) {
+        try {
+            Task.Category taskCategory = Task.Category.valueOf(category.toUpperCase());
+            CursorPage<TaskSummary> page = taskService.getTasksByCategoryPage(taskCategory, cursor, limit);
+            return new ResponseEntity<>(page, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @GetMapping("/search/page")
+    public ResponseEntity<CursorPage<TaskSummary>> searchTasksPage(@RequestParam String keyword,
+                                                            @RequestParam(required = false) String cursor,
+                                                            @RequestParam(required = false) Integer limit) {
+        try {
+            CursorPage<TaskSummary> page = taskService.searchTasksPage(keyword, cursor, limit);
+            return new ResponseEntity<>(page, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @GetMapping("/deleted/page")
+    public ResponseEntity<CursorPage<TaskSummary>> getDeletedTasksPage(@RequestParam(required = false) String cursor,
+                                                                @RequestParam(required = false) Integer limit) {
+        try {
+            CursorPage<TaskSummary> page = taskService.getDeletedTasksPage(cursor, limit);
+            return new ResponseEntity<>(page, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    /**
+     * Any combination of filters in one query, e.g.
+     * {@code /tasks/query?status=pending&priority=high&dueFrom=2025-01-01&sort=due_date_asc}.
+     * Dates are {@code yyyy-MM-dd} and inclusive.
+     */
+    @GetMapping("/query")
+    public ResponseEntity<CursorPage<TaskSummary>> queryTasks(@RequestParam(required = false) String status,
+                                                              @RequestParam(required = false) String category,
+                                                              @RequestParam(required = false) String priority,
+                                                              @RequestParam(required = false) String dueFrom,
+                                                              @RequestParam(required = false) String dueTo,
+                                                              @RequestParam(required = false) Long parentId,
+                                                              @RequestParam(defaultValue = "false") boolean topLevel,
+                                                              @RequestParam(required = false) String keyword,
+                                                              @RequestParam(required = false) String sort,
+                                                              @RequestParam(required = false) String cursor,
+                                                              @RequestParam(required = false) Integer limit) {
+        try {
+            TaskQuery query = new TaskQuery();
+            if (status != null) {
+                query.setStatus(Task.Status.valueOf(status.toUpperCase()));
+            }
+            if (category != null) {
+                query.setCategory(Task.Category.valueOf(category.toUpperCase()));
+            }
+            if (priority != null) {
+                query.setPriority(Task.Priority.valueOf(priority.toUpperCase()));
+            }
+            if (sort != null) {
+                query.setSort(TaskQuery.Sort.valueOf(sort.toUpperCase()));
+            }
+            query.setDueFrom(parseDate(dueFrom));
+            query.setDueTo(parseDate(dueTo));
+            query.setParentTaskId(parentId);
+            query.setTopLevel(topLevel);
+            query.setKeyword(keyword);
+            CursorPage<TaskSummary> page = taskService.queryTasks(query, cursor, limit);
+            return new ResponseEntity<>(page, HttpStatus.OK);
+        } catch (IllegalArgumentException | ParseException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @GetMapping("/tree")
+    public ResponseEntity<CursorPage<TaskTreeNode>> getTaskTree(@RequestParam(required = false) String cursor,
+                                                                @RequestParam(required = false) Integer limit,
+                                                                @RequestParam(required = false) Integer depth) {
+        try {
+            CursorPage<TaskTreeNode> page = taskService.getTaskTreePage(cursor, limit, depth);
+            return new ResponseEntity<>(page, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    // Conditional GETs. Only requests that carry If-None-Match or
+    // If-Modified-Since pay for the validator query; when it still matches
+    // they get a 304 without the body being loaded. Returns null to serve
+    // the body, whose 200 carries validators computed from the body itself.
+    private static <T> ResponseEntity<T> checkNotModified(WebRequest request, Supplier<TaskValidator> validator) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        String ifModifiedSince = request.getHeader(HttpHeaders.IF_MODIFIED_SINCE);
+        if (ifNoneMatch == null && ifModifiedSince == null) {
+            return null;
+        }
+        TaskValidator current = validator.get();
+        if (current == null) {
+            return null;
+        }
+        HttpHeaders conditions = new HttpHeaders();
+        boolean unchanged;
+        if (ifNoneMatch != null) {
+            // If-None-Match takes precedence and uses weak comparison (RFC 7232)
+            conditions.set(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+            unchanged = conditions.getIfNoneMatch().stream()
+                .map(tag -> tag.startsWith("W/") ? tag.substring(2) : tag)
+                .anyMatch(tag -> tag.equals("*") || tag.equals(current.getEtag()));
+        } else {
+            // HTTP dates have one-second resolution
+            conditions.set(HttpHeaders.IF_MODIFIED_SINCE, ifModifiedSince);
+            long since = conditions.getIfModifiedSince();
+            unchanged = since >= 0 && current.getLastModified() != null
+                && current.getLastModifiedMillis() / 1000 <= since / 1000;
+        }
+        if (!unchanged) {
+            return null;
+        }
+        return new ResponseEntity<>(validatorHeaders(current), HttpStatus.NOT_MODIFIED);
+    }
+
+    private static <T> ResponseEntity<T> withValidator(T body, TaskValidator validator) {
+        return new ResponseEntity<>(body, validatorHeaders(validator), HttpStatus.OK);
+    }
+
+    private static HttpHeaders validatorHeaders(TaskValidator validator) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(validator.getEtag());
+        if (validator.getLastModified() != null) {
+            headers.setLastModified(validator.getLastModifiedMillis());
+        }
+        // Browsers revalidate every time instead of guessing a freshness lifetime
+        headers.setCacheControl(CacheControl.noCache());
+        return headers;
+    }
+
+    // If-Match carries the task ETag, "<id>-<version>"; -1 never matches
+    private static Long expectedVersion(Long id, String ifMatch) {
+        String etag = ifMatch.trim();
+        String prefix = "\"" + id + "-";
+        if (!etag.startsWith(prefix) || !etag.endsWith("\"")) {
+            return -1L;
+        }
+        try {
+            return Long.valueOf(etag.substring(prefix.length(), etag.length() - 1));
+        } catch (NumberFormatException e) {
+            return -1L;
+        }
+    }
+
+    private static Date parseDate(String value) throws ParseException {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd");
+        format.setLenient(false);
+        return format.parse(value);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,57 @@
+package com.taskmanager.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-item outcome of a bulk create/update/delete. {@code index} refers to
+ * the item's position in the request body.
+ */
+public class BatchResult {
+
+    private final List<ItemResult> items = new ArrayList<>();
+    private int succeeded;
+    private int failed;
+
+    public void addSuccess(int index, Long id, Outcome outcome) {
+        items.add(new ItemResult(index, id, outcome, null));
+        succeeded++;
+    }
+
+    public void addFailure(int index, Long id, String error) {
+        items.add(new ItemResult(index, id, Outcome.FAILED, error));
+        failed++;
+    }
+
+    public List<ItemResult> getItems() { return items; }
+
+    public int getSucceeded() { return succeeded; }
+
+    public int getFailed() { return failed; }
+
+    public enum Outcome {
+        CREATED, UPDATED, DELETED, FAILED
+    }
+
+    public static class ItemResult {
+        private final int index;
+        private final Long id;
+        private final Outcome outcome;
+        private final String error;
+
+        public ItemResult(int index, Long id, Outcome outcome, String error) {
+            this.index = index;
+            this.id = id;
+            this.outcome = outcome;
+            this.error = error;
+        }
+
+        public int getIndex() { return index; }
+
+        public Long getId() { return id; }
+
+        public Outcome getOutcome() { return outcome; }
+
+        public String getError() { return error; }
+    }
+}
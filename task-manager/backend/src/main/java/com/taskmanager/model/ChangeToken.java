@@ -0,0 +1,76 @@
+package com.taskmanager.model;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * Position in the change feed. Clients only see it as an opaque, URL-safe
+ * token.
+ *
+ * <p>Change versions are handed out when a row is written, not when it
+ * commits, so a transaction that was still open during the last read can
+ * commit a version below the one already delivered. Each read therefore
+ * also re-reads rows whose {@code changed_at} is at or after
+ * {@code rescanFrom}: the previous read's start less the write
+ * transaction timeout, both on the database clock. {@code position} pages
+ * through one read in version order; {@code readStartedAt} remembers when
+ * that read began so the next window covers it all.
+ */
+public class ChangeToken {
+
+    private static final String FORMAT = "c1";
+    private static final String NONE = "-";
+
+    /** Start of the feed: every task, deleted ones included. */
+    public static final ChangeToken INITIAL = new ChangeToken(0, null, 0, null);
+
+    private final long version;
+    private final Date rescanFrom;
+    private final long position;
+    private final Date readStartedAt;
+
+    public ChangeToken(long version, Date rescanFrom, long position, Date readStartedAt) {
+        this.version = version;
+        this.rescanFrom = rescanFrom;
+        this.position = position;
+        this.readStartedAt = readStartedAt;
+    }
+
+    public String encode() {
+        String raw = FORMAT + ":" + version + ":" + millis(rescanFrom) + ":" + position + ":" + millis(readStartedAt);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ChangeToken decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":");
+            if (parts.length != 5 || !FORMAT.equals(parts[0])) {
+                throw new IllegalArgumentException("Invalid change token");
+            }
+            return new ChangeToken(Long.parseLong(parts[1]), date(parts[2]), Long.parseLong(parts[3]),
+                date(parts[4]));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid change token", e);
+        }
+    }
+
+    private static String millis(Date date) {
+        return date == null ? NONE : String.valueOf(date.getTime());
+    }
+
+    private static Date date(String millis) {
+        return NONE.equals(millis) ? null : new Date(Long.parseLong(millis));
+    }
+
+    /** Highest change version delivered by earlier reads. */
+    public long getVersion() { return version; }
+
+    public Date getRescanFrom() { return rescanFrom; }
+
+    /** Last change version returned by the current read, 0 on its first page. */
+    public long getPosition() { return position; }
+
+    public Date getReadStartedAt() { return readStartedAt; }
+}
@@ -0,0 +1,25 @@
+package com.taskmanager.model;
+
+import java.util.List;
+
+/**
+ * One slice of a keyset-paginated listing. {@code nextCursor} is null on
+ * the last page; otherwise it is passed back as {@code ?cursor=} to fetch
+ * the following slice.
+ */
+public class CursorPage<T> {
+
+    private final List<T> items;
+    private final String nextCursor;
+
+    public CursorPage(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getItems() { return items; }
+
+    public String getNextCursor() { return nextCursor; }
+
+    public boolean isHasMore() { return nextCursor != null; }
+}
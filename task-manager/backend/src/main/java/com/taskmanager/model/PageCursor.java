@@ -0,0 +1,48 @@
+package com.taskmanager.model;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * Position of the last row of a keyset page: the sort timestamp
+ * (created_at, updated_at or due_date) plus the id as tie-breaker. The
+ * timestamp is null when the row has no due date. Clients only ever see
+ * it as an opaque, URL-safe token.
+ */
+public class PageCursor {
+
+    private static final String VERSION = "v1";
+    private static final String NONE = "-";
+
+    private final Date timestamp;
+    private final Long id;
+
+    public PageCursor(Date timestamp, Long id) {
+        this.timestamp = timestamp;
+        this.id = id;
+    }
+
+    public String encode() {
+        String raw = VERSION + ":" + (timestamp == null ? NONE : timestamp.getTime()) + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PageCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":");
+            if (parts.length != 3 || !VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException("Invalid page cursor");
+            }
+            Date timestamp = NONE.equals(parts[1]) ? null : new Date(Long.parseLong(parts[1]));
+            return new PageCursor(timestamp, Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid page cursor", e);
+        }
+    }
+
+    public Date getTimestamp() { return timestamp; }
+
+    public Long getId() { return id; }
+}
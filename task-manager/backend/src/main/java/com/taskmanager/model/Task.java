@@ -1,5 +1,10 @@
 package com.taskmanager.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+
 import javax.persistence.*;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.Size;
@@ -8,10 +13,15 @@ import java.util.List;
 
 @Entity
 @Table(name = "tasks")
+@Cacheable
+@org.hibernate.annotations.Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+// UPDATEs list only the columns that changed, so a status change does not rewrite the description CLOB
+@DynamicUpdate
 public class Task {
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_seq")
-    @SequenceGenerator(name = "task_seq", sequenceName = "task_seq", allocationSize = 1)
+    // Must match task_seq INCREMENT BY; one NEXTVAL covers 50 inserts
+    @SequenceGenerator(name = "task_seq", sequenceName = "task_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Title is required")
@@ -38,6 +48,7 @@ public class Task {
     @Column(name = "parent_task_id")
     private Long parentTaskId;
 
+    @JsonIgnore
     @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @JoinColumn(name = "parent_task_id")
     private List<Task> subTasks;
@@ -53,6 +64,24 @@ public class Task {
     @Temporal(TemporalType.TIMESTAMP)
     private Date updatedAt;
 
+    // Stamped by the database on every insert and update (V5 migration)
+    @JsonIgnore
+    @Column(name = "change_version", insertable = false, updatable = false)
+    private Long changeVersion;
+
+    // Database clock, in UTC, at the same writes (V9 migration); the change
+    // feed's rescan window selects on it
+    @JsonIgnore
+    @Column(name = "changed_at", insertable = false, updatable = false)
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date changedAt;
+
+    // Optimistic lock, bumped by every write path; also the ETag of GET /tasks/{id}
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         createdAt = new Date();
@@ -121,4 +150,13 @@ public class Task {
 
     public Date getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(Date updatedAt) { this.updatedAt = updatedAt; }
+
+    public Long getChangeVersion() { return changeVersion; }
+    public void setChangeVersion(Long changeVersion) { this.changeVersion = changeVersion; }
+
+    public Date getChangedAt() { return changedAt; }
+    public void setChangedAt(Date changedAt) { this.changedAt = changedAt; }
+
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
 }
\ No newline at end of file
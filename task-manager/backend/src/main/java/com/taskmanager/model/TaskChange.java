@@ -0,0 +1,23 @@
+package com.taskmanager.model;
+
+import java.util.Date;
+
+/**
+ * One entry of the change feed: the task's summary columns as of
+ * {@code changeVersion}. Soft-deleted and restored tasks show up with
+ * {@code isDeleted} set accordingly, so a client can apply every entry as
+ * an upsert keyed on {@code id}, skipping versions it has already seen.
+ */
+public class TaskChange extends TaskSummary {
+
+    private final Long changeVersion;
+
+    public TaskChange(Long id, String title, Date dueDate, Task.Priority priority, Task.Category category,
+                      Task.Status status, Long parentTaskId, Boolean isDeleted, Date createdAt, Date updatedAt,
+                      Long changeVersion) {
+        super(id, title, dueDate, priority, category, status, parentTaskId, isDeleted, createdAt, updatedAt);
+        this.changeVersion = changeVersion;
+    }
+
+    public Long getChangeVersion() { return changeVersion; }
+}
@@ -0,0 +1,28 @@
+package com.taskmanager.model;
+
+import java.util.List;
+
+/**
+ * A slice of the change feed, in change-version order. {@code nextToken}
+ * is always set: pass it back as {@code ?since=} to continue. While
+ * {@code hasMore} is true the next call returns the rest of this slice
+ * straight away; after that it returns only newer changes.
+ */
+public class TaskChangeFeed {
+
+    private final List<TaskChange> changes;
+    private final String nextToken;
+    private final boolean hasMore;
+
+    public TaskChangeFeed(List<TaskChange> changes, String nextToken, boolean hasMore) {
+        this.changes = changes;
+        this.nextToken = nextToken;
+        this.hasMore = hasMore;
+    }
+
+    public List<TaskChange> getChanges() { return changes; }
+
+    public String getNextToken() { return nextToken; }
+
+    public boolean isHasMore() { return hasMore; }
+}
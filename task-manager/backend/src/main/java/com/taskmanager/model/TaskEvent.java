@@ -0,0 +1,64 @@
+package com.taskmanager.model;
+
+import javax.persistence.*;
+import java.util.Date;
+
+/**
+ * Something that happened to a task, as delivered by TaskEventBus. Events
+ * only name the task; listeners that need its fields read them, which also
+ * gives them the latest state when events for a task pile up. The same
+ * class maps the {@code task_events} outbox row the event is written to.
+ */
+@Entity
+@Table(name = "task_events")
+public class TaskEvent {
+
+    public enum Type {
+        TASK_CREATED, TASK_UPDATED, TASK_DELETED, TASK_RESTORED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_event_seq")
+    // Must match task_event_seq INCREMENT BY
+    @SequenceGenerator(name = "task_event_seq", sequenceName = "task_event_seq", allocationSize = 50)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false)
+    private Type type;
+
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "created_at", nullable = false)
+    private Date createdAt;
+
+    // Failed deliveries so far; TaskEventBus gives up at max-attempts
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    protected TaskEvent() {
+    }
+
+    public TaskEvent(Type type, Long taskId, Date createdAt) {
+        this.type = type;
+        this.taskId = taskId;
+        this.createdAt = createdAt;
+    }
+
+    public Long getId() { return id; }
+
+    public Type getType() { return type; }
+
+    public Long getTaskId() { return taskId; }
+
+    public Date getCreatedAt() { return createdAt; }
+
+    public int getAttempts() { return attempts; }
+
+    @Override
+    public String toString() {
+        return type + " " + taskId + " #" + id;
+    }
+}
@@ -0,0 +1,62 @@
+package com.taskmanager.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Progress of a bulk import. {@code rowsRead} counts every record consumed
+ * from the file, valid or not, and is the point a resumed import restarts
+ * from. {@code errors} lists the first failures only; {@code rowsFailed}
+ * has the full count.
+ */
+public class TaskImportResult {
+
+    private final String importId;
+    private final Status status;
+    private final long rowsRead;
+    private final long rowsImported;
+    private final long rowsFailed;
+    private final List<RowError> errors = new ArrayList<>();
+
+    public TaskImportResult(String importId, Status status, long rowsRead, long rowsImported, long rowsFailed) {
+        this.importId = importId;
+        this.status = status;
+        this.rowsRead = rowsRead;
+        this.rowsImported = rowsImported;
+        this.rowsFailed = rowsFailed;
+    }
+
+    public void addError(long row, String message) {
+        errors.add(new RowError(row, message));
+    }
+
+    public String getImportId() { return importId; }
+
+    public Status getStatus() { return status; }
+
+    public long getRowsRead() { return rowsRead; }
+
+    public long getRowsImported() { return rowsImported; }
+
+    public long getRowsFailed() { return rowsFailed; }
+
+    public List<RowError> getErrors() { return errors; }
+
+    public enum Status {
+        IN_PROGRESS, COMPLETED, FAILED
+    }
+
+    public static class RowError {
+        private final long row;
+        private final String message;
+
+        public RowError(long row, String message) {
+            this.row = row;
+            this.message = message;
+        }
+
+        public long getRow() { return row; }
+
+        public String getMessage() { return message; }
+    }
+}
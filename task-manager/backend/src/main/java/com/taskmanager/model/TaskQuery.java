@@ -0,0 +1,85 @@
+package com.taskmanager.model;
+
+import java.util.Date;
+
+/**
+ * Filters and sort order of {@code GET /tasks/query}. Every field is
+ * optional; unset fields do not constrain the result. Soft-deleted tasks
+ * are never returned.
+ */
+public class TaskQuery {
+
+    public enum Sort {
+        CREATED_DESC("createdAt", false),
+        CREATED_ASC("createdAt", true),
+        UPDATED_DESC("updatedAt", false),
+        UPDATED_ASC("updatedAt", true),
+        DUE_DATE_ASC("dueDate", true),
+        DUE_DATE_DESC("dueDate", false);
+
+        private final String attribute;
+        private final boolean ascending;
+
+        Sort(String attribute, boolean ascending) {
+            this.attribute = attribute;
+            this.ascending = ascending;
+        }
+
+        public String getAttribute() { return attribute; }
+
+        public boolean isAscending() { return ascending; }
+
+        // Only the due date is optional; the timestamps are always set
+        public boolean isNullable() { return "dueDate".equals(attribute); }
+
+        public Date keyOf(TaskSummary task) {
+            switch (this) {
+                case UPDATED_DESC:
+                case UPDATED_ASC:
+                    return task.getUpdatedAt();
+                case DUE_DATE_ASC:
+                case DUE_DATE_DESC:
+                    return task.getDueDate();
+                default:
+                    return task.getCreatedAt();
+            }
+        }
+    }
+
+    private Task.Status status;
+    private Task.Category category;
+    private Task.Priority priority;
+    private Date dueFrom;
+    private Date dueTo;
+    private Long parentTaskId;
+    private boolean topLevel;
+    private String keyword;
+    private Sort sort = Sort.CREATED_DESC;
+
+    public Task.Status getStatus() { return status; }
+    public void setStatus(Task.Status status) { this.status = status; }
+
+    public Task.Category getCategory() { return category; }
+    public void setCategory(Task.Category category) { this.category = category; }
+
+    public Task.Priority getPriority() { return priority; }
+    public void setPriority(Task.Priority priority) { this.priority = priority; }
+
+    public Date getDueFrom() { return dueFrom; }
+    public void setDueFrom(Date dueFrom) { this.dueFrom = dueFrom; }
+
+    public Date getDueTo() { return dueTo; }
+    public void setDueTo(Date dueTo) { this.dueTo = dueTo; }
+
+    public Long getParentTaskId() { return parentTaskId; }
+    public void setParentTaskId(Long parentTaskId) { this.parentTaskId = parentTaskId; }
+
+    public boolean isTopLevel() { return topLevel; }
+    public void setTopLevel(boolean topLevel) { this.topLevel = topLevel; }
+
+    public String getKeyword() { return keyword; }
+    public void setKeyword(String keyword) { this.keyword = keyword; }
+
+    public Sort getSort() { return sort; }
+    public void setSort(Sort sort) { this.sort = sort == null ? Sort.CREATED_DESC : sort; }
+}
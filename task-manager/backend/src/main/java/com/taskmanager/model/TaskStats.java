@@ -0,0 +1,42 @@
+package com.taskmanager.model;
+
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * Body of {@code GET /tasks/stats}: counts of non-deleted tasks per
+ * status, category and priority, plus the open tasks whose due date has
+ * passed. {@code reconciledAt} is when the counts were last checked
+ * against the database.
+ */
+public class TaskStats {
+
+    private final long total;
+    private final Map<Task.Status, Long> byStatus;
+    private final Map<Task.Category, Long> byCategory;
+    private final Map<Task.Priority, Long> byPriority;
+    private final long overdue;
+    private final Date reconciledAt;
+
+    public TaskStats(long total, Map<Task.Status, Long> byStatus, Map<Task.Category, Long> byCategory,
+                     Map<Task.Priority, Long> byPriority, long overdue, Date reconciledAt) {
+        this.total = total;
+        this.byStatus = byStatus;
+        this.byCategory = byCategory;
+        this.byPriority = byPriority;
+        this.overdue = overdue;
+        this.reconciledAt = reconciledAt;
+    }
+
+    public long getTotal() { return total; }
+
+    public Map<Task.Status, Long> getByStatus() { return byStatus; }
+
+    public Map<Task.Category, Long> getByCategory() { return byCategory; }
+
+    public Map<Task.Priority, Long> getByPriority() { return byPriority; }
+
+    public long getOverdue() { return overdue; }
+
+    public Date getReconciledAt() { return reconciledAt; }
+}
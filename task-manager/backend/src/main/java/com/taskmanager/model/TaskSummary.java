@@ -0,0 +1,70 @@
+package com.taskmanager.model;
+
+import java.util.Date;
+
+/**
+ * Wire format for task list responses. It holds every column except the
+ * {@code description} CLOB, which is only returned by
+ * {@code GET /tasks/{id}}. Repository queries build it through a JPQL
+ * constructor expression, so list reads never hydrate or dirty-check
+ * {@link Task} entities.
+ */
+public class TaskSummary {
+
+    private final Long id;
+    private final String title;
+    private final Date dueDate;
+    private final Task.Priority priority;
+    private final Task.Category category;
+    private final Task.Status status;
+    private final Long parentTaskId;
+    private final Boolean isDeleted;
+    private final Date createdAt;
+    private final Date updatedAt;
+
+    public TaskSummary(Long id, String title, Date dueDate, Task.Priority priority, Task.Category category,
+                       Task.Status status, Long parentTaskId, Boolean isDeleted, Date createdAt, Date updatedAt) {
+        this.id = id;
+        this.title = title;
+        this.dueDate = dueDate;
+        this.priority = priority;
+        this.category = category;
+        this.status = status;
+        this.parentTaskId = parentTaskId;
+        this.isDeleted = isDeleted;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
+    public static TaskSummary from(Task task) {
+        return new TaskSummary(task.getId(), task.getTitle(), task.getDueDate(), task.getPriority(),
+            task.getCategory(), task.getStatus(), task.getParentTaskId(), task.getIsDeleted(),
+            task.getCreatedAt(), task.getUpdatedAt());
+    }
+
+    // The same task after a status-only write
+    public TaskSummary withStatus(Task.Status status, Date updatedAt) {
+        return new TaskSummary(id, title, dueDate, priority, category, status, parentTaskId, isDeleted, createdAt,
+            updatedAt);
+    }
+
+    public Long getId() { return id; }
+
+    public String getTitle() { return title; }
+
+    public Date getDueDate() { return dueDate; }
+
+    public Task.Priority getPriority() { return priority; }
+
+    public Task.Category getCategory() { return category; }
+
+    public Task.Status getStatus() { return status; }
+
+    public Long getParentTaskId() { return parentTaskId; }
+
+    public Boolean getIsDeleted() { return isDeleted; }
+
+    public Date getCreatedAt() { return createdAt; }
+
+    public Date getUpdatedAt() { return updatedAt; }
+}
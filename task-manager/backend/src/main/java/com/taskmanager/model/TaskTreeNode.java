@@ -0,0 +1,23 @@
+package com.taskmanager.model;
+
+import java.util.List;
+
+/**
+ * A task together with its non-deleted descendants, assembled in memory
+ * from level-wide queries rather than through the lazy {@code subTasks}
+ * association.
+ */
+public class TaskTreeNode {
+
+    private final TaskSummary task;
+    private final List<TaskTreeNode> subTasks;
+
+    public TaskTreeNode(TaskSummary task, List<TaskTreeNode> subTasks) {
+        this.task = task;
+        this.subTasks = subTasks;
+    }
+
+    public TaskSummary getTask() { return task; }
+
+    public List<TaskTreeNode> getSubTasks() { return subTasks; }
+}
@@ -0,0 +1,55 @@
+package com.taskmanager.model;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * HTTP validators (strong ETag plus Last-Modified) for a task or a task
+ * list. Repository queries build them from a version lookup or a
+ * COUNT/MAX aggregate, so a conditional GET can be answered with 304
+ * before the body is loaded. Responses carry validators built from the
+ * body itself, so a body and its ETag always match.
+ *
+ * <p>A list's ETag is its row count plus its newest {@code updated_at}.
+ * Every write stamps {@code updated_at}, so a task joining or changing in
+ * the list raises the maximum and a task leaving it lowers the count.
+ */
+public class TaskValidator {
+
+    private final String etag;
+    private final Date lastModified;
+
+    // Single task: SELECT new TaskValidator(t.id, t.version, t.updatedAt)
+    public TaskValidator(Long id, Long version, Date updatedAt) {
+        this.etag = "\"" + id + "-" + (version != null ? version : 0) + "\"";
+        this.lastModified = updatedAt;
+    }
+
+    // List: SELECT new TaskValidator(COUNT(t), MAX(t.updatedAt))
+    public TaskValidator(Long count, Date maxUpdatedAt) {
+        this.etag = "\"" + count + "-" + (maxUpdatedAt != null ? maxUpdatedAt.getTime() : 0) + "\"";
+        this.lastModified = maxUpdatedAt;
+    }
+
+    public static TaskValidator of(Task task) {
+        return new TaskValidator(task.getId(), task.getVersion(), task.getUpdatedAt());
+    }
+
+    public static TaskValidator of(List<? extends TaskSummary> tasks) {
+        Date maxUpdatedAt = null;
+        for (TaskSummary task : tasks) {
+            Date updatedAt = task.getUpdatedAt();
+            if (updatedAt != null && (maxUpdatedAt == null || updatedAt.after(maxUpdatedAt))) {
+                maxUpdatedAt = updatedAt;
+            }
+        }
+        return new TaskValidator((long) tasks.size(), maxUpdatedAt);
+    }
+
+    public String getEtag() { return etag; }
+
+    public Date getLastModified() { return lastModified; }
+
+    /** Milliseconds since the epoch, or -1 when unknown (no Last-Modified). */
+    public long getLastModifiedMillis() { return lastModified != null ? lastModified.getTime() : -1; }
+}
@@ -0,0 +1,107 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskSummary;
+import io.r2dbc.spi.Row;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Date;
+
+/**
+ * Non-blocking counterparts of the {@link TaskRepository} summary queries,
+ * run over R2DBC against the same {@code tasks} table. Rows are emitted as
+ * they arrive from the driver, so no result list is ever materialized.
+ * Read-only: every write still goes through JPA.
+ */
+@Repository
+@ConditionalOnProperty(name = "taskmanager.reactive.enabled", havingValue = "true")
+public class ReactiveTaskRepository {
+
+    // Same columns as TaskRepository.SUMMARY_SELECT, never the description CLOB
+    private static final String SUMMARY_SELECT = "SELECT id, title, due_date, priority, category, status, " +
+        "parent_task_id, is_deleted, created_at, updated_at FROM tasks ";
+
+    private static final String NEWEST_FIRST = "ORDER BY created_at DESC, id DESC";
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    public Flux<TaskSummary> findTopLevelSummaries() {
+        return databaseClient.sql(SUMMARY_SELECT + "WHERE parent_task_id IS NULL AND is_deleted = 0 " + NEWEST_FIRST)
+            .map(ReactiveTaskRepository::toSummary)
+            .all();
+    }
+
+    public Flux<TaskSummary> findSummariesByStatus(Task.Status status) {
+        return databaseClient.sql(SUMMARY_SELECT + "WHERE status = :status AND is_deleted = 0 " + NEWEST_FIRST)
+            .bind("status", status.name())
+            .map(ReactiveTaskRepository::toSummary)
+            .all();
+    }
+
+    public Flux<TaskSummary> findSummariesByCategory(Task.Category category) {
+        return databaseClient.sql(SUMMARY_SELECT + "WHERE category = :category AND is_deleted = 0 " + NEWEST_FIRST)
+            .bind("category", category.name())
+            .map(ReactiveTaskRepository::toSummary)
+            .all();
+    }
+
+    public Flux<TaskSummary> findSubTaskSummaries(Long parentTaskId) {
+        return databaseClient.sql(SUMMARY_SELECT + "WHERE parent_task_id = :parentTaskId AND is_deleted = 0 " +
+                NEWEST_FIRST)
+            .bind("parentTaskId", parentTaskId)
+            .map(ReactiveTaskRepository::toSummary)
+            .all();
+    }
+
+    // Same LIKE match as TaskRepository.KEYWORD_MATCH; the Lucene index is
+    // not consulted because its searches block
+    public Flux<TaskSummary> searchSummaries(String keyword) {
+        return databaseClient.sql(SUMMARY_SELECT + "WHERE is_deleted = 0 AND " +
+                "(LOWER(title) LIKE :pattern OR LOWER(description) LIKE :pattern) " + NEWEST_FIRST)
+            .bind("pattern", "%" + keyword.toLowerCase() + "%")
+            .map(ReactiveTaskRepository::toSummary)
+            .all();
+    }
+
+    private static TaskSummary toSummary(Row row) {
+        return new TaskSummary(
+            toLong(row.get("id")),
+            row.get("title", String.class),
+            toDate(row.get("due_date")),
+            toEnum(Task.Priority.class, row.get("priority", String.class)),
+            toEnum(Task.Category.class, row.get("category", String.class)),
+            toEnum(Task.Status.class, row.get("status", String.class)),
+            toLong(row.get("parent_task_id")),
+            Long.valueOf(1L).equals(toLong(row.get("is_deleted"))),
+            toDate(row.get("created_at")),
+            toDate(row.get("updated_at")));
+    }
+
+    private static <E extends Enum<E>> E toEnum(Class<E> type, String value) {
+        return value != null ? Enum.valueOf(type, value) : null;
+    }
+
+    // Drivers differ in the Java types they pick for NUMBER and DATE columns
+
+    private static Long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : null;
+    }
+
+    private static Date toDate(Object value) {
+        if (value instanceof LocalDateTime) {
+            return Timestamp.valueOf((LocalDateTime) value);
+        }
+        if (value instanceof LocalDate) {
+            return java.sql.Date.valueOf((LocalDate) value);
+        }
+        return (Date) value;
+    }
+}
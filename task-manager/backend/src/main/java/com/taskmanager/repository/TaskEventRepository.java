@@ -0,0 +1,40 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.model.TaskEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.Temporal;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.TemporalType;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+// The task_events outbox (V8 migration), read and emptied by TaskEventBus
+@Repository
+public interface TaskEventRepository extends JpaRepository<TaskEvent, Long> {
+
+    // Events written before :before and not yet delivered, oldest first
+    @Query("SELECT e FROM TaskEvent e WHERE e.createdAt < :before ORDER BY e.id")
+    List<TaskEvent> findUndelivered(@Param("before") @Temporal(TemporalType.TIMESTAMP) Date before,
+                                    Pageable pageable);
+
+    @Query("SELECT MIN(e.createdAt) FROM TaskEvent e")
+    Date findOldestCreatedAt();
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE TaskEvent e SET e.attempts = e.attempts + 1 WHERE e.id = :id")
+    int incrementAttempts(@Param("id") Long id);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM TaskEvent e WHERE e.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+}
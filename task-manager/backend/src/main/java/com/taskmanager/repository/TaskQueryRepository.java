@@ -0,0 +1,22 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskQuery;
+import com.taskmanager.model.TaskSummary;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Ad-hoc summary queries built from {@link TaskSpecifications}. Mixed
+ * into {@link TaskRepository}; see {@link TaskQueryRepositoryImpl}.
+ */
+public interface TaskQueryRepository {
+
+    /**
+     * Returns up to {@code limit} summaries matching {@code specification},
+     * ordered by {@code sort} with the id as tie-breaker. Like the
+     * SUMMARY_SELECT queries, this never reads the description CLOB.
+     */
+    List<TaskSummary> findSummaries(Specification<Task> specification, TaskQuery.Sort sort, int limit);
+}
@@ -0,0 +1,62 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskQuery;
+import com.taskmanager.model.TaskSummary;
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Order;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class TaskQueryRepositoryImpl implements TaskQueryRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TaskSummary> findSummaries(Specification<Task> specification, TaskQuery.Sort sort, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskSummary> query = cb.createQuery(TaskSummary.class);
+        Root<Task> t = query.from(Task.class);
+        query.select(cb.construct(TaskSummary.class, t.get("id"), t.get("title"), t.get("dueDate"),
+            t.get("priority"), t.get("category"), t.get("status"), t.get("parentTaskId"), t.get("isDeleted"),
+            t.get("createdAt"), t.get("updatedAt")));
+
+        Predicate where = specification.toPredicate(t, query, cb);
+        if (where != null) {
+            query.where(where);
+        }
+        query.orderBy(orderOf(cb, t, sort));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
+    /**
+     * (key, id) in {@code sort} direction. A nullable key is preceded by a
+     * null rank that puts NULLs last ascending and first descending, as
+     * TaskSpecifications.after expects, instead of leaving it to the
+     * database's default NULL ordering.
+     */
+    private static List<Order> orderOf(CriteriaBuilder cb, Root<Task> t, TaskQuery.Sort sort) {
+        List<Expression<?>> keys = new ArrayList<>();
+        Path<?> key = t.get(sort.getAttribute());
+        if (sort.isNullable()) {
+            keys.add(cb.selectCase().when(cb.isNull(key), 1).otherwise(0));
+        }
+        keys.add(key);
+        keys.add(t.get("id"));
+        return keys.stream()
+            .map(expression -> sort.isAscending() ? cb.asc(expression) : cb.desc(expression))
+            .collect(Collectors.toList());
+    }
+}
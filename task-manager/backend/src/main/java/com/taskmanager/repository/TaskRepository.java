@@ -1,34 +1,282 @@
 package com.taskmanager.repository;
 
 import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskChange;
+import com.taskmanager.model.TaskSummary;
+import com.taskmanager.model.TaskValidator;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.jpa.repository.Temporal;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.QueryHint;
+import javax.persistence.TemporalType;
+
+import java.util.Collection;
 import java.util.List;
 import java.util.Date;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskQueryRepository {
+
+    // Selects every summary column but never the description CLOB
+    String SUMMARY_SELECT = "SELECT new com.taskmanager.model.TaskSummary(t.id, t.title, t.dueDate, " +
+        "t.priority, t.category, t.status, t.parentTaskId, t.isDeleted, t.createdAt, t.updatedAt) FROM Task t ";
+
+    String CHANGE_SELECT = "SELECT new com.taskmanager.model.TaskChange(t.id, t.title, t.dueDate, " +
+        "t.priority, t.category, t.status, t.parentTaskId, t.isDeleted, t.createdAt, t.updatedAt, " +
+        "t.changeVersion) FROM Task t ";
+
+    // Count and newest updated_at of a list, for its ETag (TaskValidator)
+    String VALIDATOR_SELECT = "SELECT new com.taskmanager.model.TaskValidator(COUNT(t), MAX(t.updatedAt)) FROM Task t ";
+
+    String KEYWORD_MATCH = "(LOWER(t.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+        "LOWER(t.description) LIKE LOWER(CONCAT('%', :keyword, '%'))) ";
+
+    // Trash queries filter and order on the same expressions as the
+    // function-based idx_tasks_trash (V3 migration), which only holds
+    // soft-deleted rows. Its keys are ascending, since DESC keys would store
+    // the live rows' NULLs too; Oracle reads it backwards for this DESC
+    // order. Keep the two in sync.
+    String TRASH_UPDATED_AT = "CASE WHEN t.isDeleted = true THEN t.updatedAt END ";
+    String TRASH_ID = "CASE WHEN t.isDeleted = true THEN t.id END ";
+    String TRASH_ORDER = "ORDER BY " + TRASH_UPDATED_AT + "DESC, " + TRASH_ID + "DESC";
+
+    // Summary projections used by the list endpoints. The cacheable hint only
+    // takes effect with taskmanager.cache.mode=hibernate.
+
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+    @Query(SUMMARY_SELECT + "WHERE t.parentTaskId IS NULL AND t.isDeleted = false ORDER BY t.createdAt DESC")
+    List<TaskSummary> findTopLevelSummaries();
+
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+    @Query(SUMMARY_SELECT + "WHERE t.status = :status AND t.isDeleted = false")
+    List<TaskSummary> findSummariesByStatus(@Param("status") Task.Status status);
+
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+    @Query(SUMMARY_SELECT + "WHERE t.category = :category AND t.isDeleted = false")
+    List<TaskSummary> findSummariesByCategory(@Param("category") Task.Category category);
+
+    @Query(SUMMARY_SELECT + "WHERE t.isDeleted = false AND " + KEYWORD_MATCH)
+    List<TaskSummary> searchSummaries(@Param("keyword") String keyword);
+
+    @Query(SUMMARY_SELECT + "WHERE t.parentTaskId = :parentTaskId AND t.isDeleted = false")
+    List<TaskSummary> findSubTaskSummaries(@Param("parentTaskId") Long parentTaskId);
+
+    @Query(SUMMARY_SELECT + "WHERE t.parentTaskId IN :parentTaskIds AND t.isDeleted = false " +
+        "ORDER BY t.createdAt DESC, t.id DESC")
+    List<TaskSummary> findSubTaskSummariesByParentIds(@Param("parentTaskIds") Collection<Long> parentTaskIds);
+
+    @Query(SUMMARY_SELECT + "WHERE " + TRASH_UPDATED_AT + "IS NOT NULL " + TRASH_ORDER)
+    List<TaskSummary> findDeletedSummaries();
+
+    @Query(SUMMARY_SELECT + "WHERE t.isDeleted = false AND t.dueDate BETWEEN :startDate AND :endDate")
+    List<TaskSummary> findSummariesByDateRange(@Param("startDate") Date startDate, @Param("endDate") Date endDate);
+
+    // Validators for conditional GETs: same filters as the list queries
+    // above, without reading or serializing the rows
+
+    @Query("SELECT new com.taskmanager.model.TaskValidator(t.id, t.version, t.updatedAt) FROM Task t " +
+        "WHERE t.id = :id")
+    Optional<TaskValidator> findValidatorById(@Param("id") Long id);
+
+    @Query(VALIDATOR_SELECT + "WHERE t.parentTaskId IS NULL AND t.isDeleted = false")
+    TaskValidator findTopLevelValidator();
+
+    @Query(VALIDATOR_SELECT + "WHERE t.status = :status AND t.isDeleted = false")
+    TaskValidator findValidatorByStatus(@Param("status") Task.Status status);
+
+    @Query(VALIDATOR_SELECT + "WHERE t.category = :category AND t.isDeleted = false")
+    TaskValidator findValidatorByCategory(@Param("category") Task.Category category);
+
+    @Query(VALIDATOR_SELECT + "WHERE t.parentTaskId = :parentTaskId AND t.isDeleted = false")
+    TaskValidator findSubTaskValidator(@Param("parentTaskId") Long parentTaskId);
+
+    @Query(VALIDATOR_SELECT + "WHERE " + TRASH_UPDATED_AT + "IS NOT NULL")
+    TaskValidator findDeletedValidator();
+
+    // Task statistics (TaskStatistics): the GROUP BY counts it rebuilds
+    // from (a few dozen groups at most, whatever the table size), and the
+    // rows a soft delete or restore has just flipped.
+
+    @Query("SELECT t.status, t.category, t.priority, COUNT(t) FROM Task t WHERE t.isDeleted = false " +
+        "GROUP BY t.status, t.category, t.priority")
+    List<Object[]> countLiveByStatusCategoryPriority();
+
+    @Query("SELECT t.dueDate, COUNT(t) FROM Task t WHERE t.isDeleted = false AND t.dueDate IS NOT NULL AND " +
+        "(t.status IS NULL OR t.status <> :completed) GROUP BY t.dueDate")
+    List<Object[]> countOpenByDueDate(@Param("completed") Task.Status completed);
+
+    @Query(SUMMARY_SELECT + "WHERE t.id = :id")
+    Optional<TaskSummary> findSummaryById(@Param("id") Long id);
+
+    @Query(SUMMARY_SELECT + "WHERE t.id IN :ids")
+    List<TaskSummary> findSummariesByIdsIncludingDeleted(@Param("ids") Collection<Long> ids);
+
+    // Set-based soft delete / restore: one UPDATE, no entity load. updatedAt
+    // is passed in rather than using CURRENT_TIMESTAMP so it keeps the same
+    // millisecond precision as entity writes (keyset cursors compare it).
+    // Bulk updates skip @Version, so each one bumps it explicitly. Each
+    // variant only touches rows whose flag actually changes, so concurrent
+    // deletes of one task count it once. The flag is never compared with a
+    // bound boolean: H2 re-prepares statements after a sequence allocation
+    // and then rejects BOOLEAN against NUMBER(1), so these use literals.
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.isDeleted = true, t.updatedAt = :now, t.version = t.version + 1 " +
+        "WHERE t.id = :id AND t.isDeleted = false")
+    int softDeleteById(@Param("id") Long id, @Param("now") @Temporal(TemporalType.TIMESTAMP) Date now);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.isDeleted = false, t.updatedAt = :now, t.version = t.version + 1 " +
+        "WHERE t.id = :id AND t.isDeleted = true")
+    int restoreById(@Param("id") Long id, @Param("now") @Temporal(TemporalType.TIMESTAMP) Date now);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.isDeleted = true, t.updatedAt = :now, t.version = t.version + 1 " +
+        "WHERE t.id IN :ids AND t.isDeleted = false")
+    int softDeleteByIds(@Param("ids") Collection<Long> ids, @Param("now") @Temporal(TemporalType.TIMESTAMP) Date now);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.isDeleted = false, t.updatedAt = :now, t.version = t.version + 1 " +
+        "WHERE t.id IN :ids AND t.isDeleted = true")
+    int restoreByIds(@Param("ids") Collection<Long> ids, @Param("now") @Temporal(TemporalType.TIMESTAMP) Date now);
+
+    // Status-only change, guarded by the status it was read with: 0 means
+    // another write changed it first (or the task was deleted)
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.status = :status, t.updatedAt = :now, t.version = t.version + 1 " +
+        "WHERE t.id = :id AND t.status = :from AND t.isDeleted = false")
+    int updateStatus(@Param("id") Long id, @Param("from") Task.Status from, @Param("status") Task.Status status,
+                     @Param("now") @Temporal(TemporalType.TIMESTAMP) Date now);
+
+    // PUT /tasks/{id}: replaces the editable fields, guarded by the version
+    // they were read with. 0 means another write committed first. dueDate
+    // may be null, so it takes its type from Task.dueDate: with @Temporal,
+    // Spring Data binds a null as a TypedParameterValue and the cast fails.
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.title = :title, t.description = :description, t.dueDate = :dueDate, " +
+        "t.priority = :priority, t.category = :category, t.status = :status, t.updatedAt = :now, " +
+        "t.version = t.version + 1 WHERE t.id = :id AND t.version = :version")
+    int updateDetails(@Param("id") Long id, @Param("version") Long version, @Param("title") String title,
+                      @Param("description") String description,
+                      @Param("dueDate") Date dueDate,
+                      @Param("priority") Task.Priority priority, @Param("category") Task.Category category,
+                      @Param("status") Task.Status status,
+                      @Param("now") @Temporal(TemporalType.TIMESTAMP) Date now);
+
+    // Subtree walks (TaskService.deleteTaskTree / restoreTaskTree): one
+    // level per query, deleted rows included, like getTaskTreePage, so they
+    // run on H2 as well as Oracle. Oracle returns NUMBER as BigDecimal from
+    // native queries.
+
+    @Query("SELECT t.id FROM Task t WHERE t.parentTaskId IN :parentTaskIds")
+    List<Long> findChildIds(@Param("parentTaskIds") Collection<Long> parentTaskIds);
+
+    @Query(value = "SELECT id FROM tasks WHERE id IN (:ids) FOR UPDATE", nativeQuery = true)
+    List<Number> lockByIds(@Param("ids") Collection<Long> ids);
+
+    // Full export, deleted rows included: a forward-only cursor over
+    // read-only entities that bypass the second-level cache. The stream must
+    // be consumed and closed inside a transaction.
+    @QueryHints({
+        @QueryHint(name = "org.hibernate.fetchSize", value = "1000"),
+        @QueryHint(name = "org.hibernate.readOnly", value = "true"),
+        @QueryHint(name = "org.hibernate.cacheMode", value = "IGNORE")
+    })
+    @Query("SELECT t FROM Task t")
+    Stream<Task> streamAll();
+
+    // Change feed: every row, deleted ones included, in change_version
+    // order. The rescan variant also returns rows the database stamped
+    // since :rescanFrom, whatever their version (see ChangeToken).
+
+    @Query(CHANGE_SELECT + "WHERE t.changeVersion > :position ORDER BY t.changeVersion")
+    List<TaskChange> findChangesAfter(@Param("position") long position, Pageable pageable);
+
+    @Query(CHANGE_SELECT + "WHERE t.changeVersion > :position AND " +
+        "(t.changeVersion > :version OR t.changedAt >= :rescanFrom) ORDER BY t.changeVersion")
+    List<TaskChange> findChangesAfter(@Param("position") long position, @Param("version") long version,
+                                      @Param("rescanFrom") @Temporal(TemporalType.TIMESTAMP) Date rescanFrom,
+                                      Pageable pageable);
+
+    @Query("SELECT MAX(t.changeVersion) FROM Task t")
+    Long findMaxChangeVersion();
+
+    // The clock changed_at is stamped from (V9 migration)
+    @Query(value = "SELECT CAST(SYSTIMESTAMP AT TIME ZONE 'UTC' AS TIMESTAMP) FROM dual", nativeQuery = true)
+    Date findChangeClock();
+
+    // Search index support: resolve ranked ids, and walk the table by id to rebuild
+
+    @Query(SUMMARY_SELECT + "WHERE t.id IN :ids AND t.isDeleted = false")
+    List<TaskSummary> findSummariesByIds(@Param("ids") Collection<Long> ids);
+
+    List<Task> findByIsDeletedFalseAndIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    // Keyset pagination: later pages seek past the (created_at, id) /
+    // (updated_at, id) of the previous page's last row. Pageable is only
+    // ever PageRequest.of(0, n), so no OFFSET.
+
+    @Query(SUMMARY_SELECT + "WHERE t.parentTaskId IS NULL AND t.isDeleted = false " +
+        "ORDER BY t.createdAt DESC, t.id DESC")
+    List<TaskSummary> findTopLevelSummariesFirstPage(Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE t.parentTaskId IS NULL AND t.isDeleted = false AND " +
+        "(t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id)) " +
+        "ORDER BY t.createdAt DESC, t.id DESC")
+    List<TaskSummary> findTopLevelSummariesAfter(@Param("createdAt") Date createdAt, @Param("id") Long id,
+                                                 Pageable pageable);
 
-    List<Task> findByIsDeletedFalseOrderByCreatedAtDesc();
+    @Query(SUMMARY_SELECT + "WHERE t.status = :status AND t.isDeleted = false " +
+        "ORDER BY t.createdAt DESC, t.id DESC")
+    List<TaskSummary> findSummariesByStatusFirstPage(@Param("status") Task.Status status, Pageable pageable);
 
-    List<Task> findByStatusAndIsDeletedFalse(Task.Status status);
+    @Query(SUMMARY_SELECT + "WHERE t.status = :status AND t.isDeleted = false AND " +
+        "(t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id)) " +
+        "ORDER BY t.createdAt DESC, t.id DESC")
+    List<TaskSummary> findSummariesByStatusAfter(@Param("status") Task.Status status, @Param("createdAt") Date createdAt,
+                                                 @Param("id") Long id, Pageable pageable);
 
-    List<Task> findByCategoryAndIsDeletedFalse(Task.Category category);
+    @Query(SUMMARY_SELECT + "WHERE t.category = :category AND t.isDeleted = false " +
+        "ORDER BY t.createdAt DESC, t.id DESC")
+    List<TaskSummary> findSummariesByCategoryFirstPage(@Param("category") Task.Category category, Pageable pageable);
 
-    List<Task> findByParentTaskIdAndIsDeletedFalse(Long parentTaskId);
+    @Query(SUMMARY_SELECT + "WHERE t.category = :category AND t.isDeleted = false AND " +
+        "(t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id)) " +
+        "ORDER BY t.createdAt DESC, t.id DESC")
+    List<TaskSummary> findSummariesByCategoryAfter(@Param("category") Task.Category category,
+                                                   @Param("createdAt") Date createdAt,
+                                                   @Param("id") Long id, Pageable pageable);
 
-    List<Task> findByParentTaskIdIsNullAndIsDeletedFalseOrderByCreatedAtDesc();
+    @Query(SUMMARY_SELECT + "WHERE " + TRASH_UPDATED_AT + "IS NOT NULL " + TRASH_ORDER)
+    List<TaskSummary> findDeletedSummariesFirstPage(Pageable pageable);
 
-    List<Task> findByIsDeletedTrueOrderByUpdatedAtDesc();
+    @Query(SUMMARY_SELECT + "WHERE " + TRASH_UPDATED_AT + "< :updatedAt OR (" +
+        TRASH_UPDATED_AT + "= :updatedAt AND " + TRASH_ID + "< :id) " + TRASH_ORDER)
+    List<TaskSummary> findDeletedSummariesAfter(@Param("updatedAt") Date updatedAt, @Param("id") Long id,
+                                                Pageable pageable);
 
-    @Query("SELECT t FROM Task t WHERE t.isDeleted = false AND " +
-        "(LOWER(t.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-        "LOWER(t.description) LIKE LOWER(CONCAT('%', :keyword, '%')))")
-    List<Task> searchTasks(@Param("keyword") String keyword);
+    @Query(SUMMARY_SELECT + "WHERE t.isDeleted = false AND " + KEYWORD_MATCH +
+        "ORDER BY t.createdAt DESC, t.id DESC")
+    List<TaskSummary> searchSummariesFirstPage(@Param("keyword") String keyword, Pageable pageable);
 
-    @Query("SELECT t FROM Task t WHERE t.isDeleted = false AND t.dueDate BETWEEN :startDate AND :endDate")
-    List<Task> findTasksByDateRange(@Param("startDate") Date startDate, @Param("endDate") Date endDate);
-}
\ No newline at end of file
+    @Query(SUMMARY_SELECT + "WHERE t.isDeleted = false AND " + KEYWORD_MATCH + "AND " +
+        "(t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id)) " +
+        "ORDER BY t.createdAt DESC, t.id DESC")
+    List<TaskSummary> searchSummariesAfter(@Param("keyword") String keyword, @Param("createdAt") Date createdAt,
+                                           @Param("id") Long id, Pageable pageable);
+}
@@ -0,0 +1,118 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.model.PageCursor;
+import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskQuery;
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+
+import java.util.Date;
+
+/**
+ * Predicates for {@link TaskQueryRepository#findSummaries}. Each one is
+ * the Criteria form of a filter the fixed TaskRepository queries already
+ * use, so a combined query still starts from one of the V3/V7 indexes.
+ */
+public final class TaskSpecifications {
+
+    private TaskSpecifications() {}
+
+    public static Specification<Task> matching(TaskQuery query) {
+        Specification<Task> spec = isLive();
+        if (query.getStatus() != null) {
+            spec = spec.and(hasStatus(query.getStatus()));
+        }
+        if (query.getCategory() != null) {
+            spec = spec.and(hasCategory(query.getCategory()));
+        }
+        if (query.getPriority() != null) {
+            spec = spec.and(hasPriority(query.getPriority()));
+        }
+        if (query.getDueFrom() != null || query.getDueTo() != null) {
+            spec = spec.and(isDueBetween(query.getDueFrom(), query.getDueTo()));
+        }
+        if (query.getParentTaskId() != null) {
+            spec = spec.and(hasParent(query.getParentTaskId()));
+        } else if (query.isTopLevel()) {
+            spec = spec.and(isTopLevel());
+        }
+        if (query.getKeyword() != null && !query.getKeyword().isBlank()) {
+            spec = spec.and(containsKeyword(query.getKeyword()));
+        }
+        return spec;
+    }
+
+    public static Specification<Task> isLive() {
+        // Rendered as a literal, since a bound Boolean does not compare with NUMBER(1) on H2
+        return (root, query, cb) -> cb.isFalse(root.get("isDeleted"));
+    }
+
+    public static Specification<Task> hasStatus(Task.Status status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Task> hasCategory(Task.Category category) {
+        return (root, query, cb) -> cb.equal(root.get("category"), category);
+    }
+
+    public static Specification<Task> hasPriority(Task.Priority priority) {
+        return (root, query, cb) -> cb.equal(root.get("priority"), priority);
+    }
+
+    // Same inclusive range as findSummariesByDateRange; either end may be open
+    public static Specification<Task> isDueBetween(Date from, Date to) {
+        return (root, query, cb) -> {
+            Path<Date> dueDate = root.get("dueDate");
+            if (from == null) {
+                return cb.lessThanOrEqualTo(dueDate, to);
+            }
+            if (to == null) {
+                return cb.greaterThanOrEqualTo(dueDate, from);
+            }
+            return cb.between(dueDate, from, to);
+        };
+    }
+
+    public static Specification<Task> hasParent(Long parentTaskId) {
+        return (root, query, cb) -> cb.equal(root.get("parentTaskId"), parentTaskId);
+    }
+
+    public static Specification<Task> isTopLevel() {
+        return (root, query, cb) -> cb.isNull(root.get("parentTaskId"));
+    }
+
+    // Same match as TaskRepository.KEYWORD_MATCH
+    public static Specification<Task> containsKeyword(String keyword) {
+        String pattern = "%" + keyword.toLowerCase() + "%";
+        return (root, query, cb) -> cb.or(
+            cb.like(cb.lower(root.get("title")), pattern),
+            cb.like(cb.lower(root.get("description")), pattern));
+    }
+
+    /**
+     * Seeks past the last row of the previous page in {@code sort} order.
+     * TaskQueryRepositoryImpl sorts NULL after every value ascending and
+     * before every value descending, so tasks without a due date come last
+     * in DUE_DATE_ASC and first in DUE_DATE_DESC.
+     */
+    public static Specification<Task> after(TaskQuery.Sort sort, PageCursor cursor) {
+        return (root, query, cb) -> {
+            Path<Date> key = root.get(sort.getAttribute());
+            Path<Long> id = root.get("id");
+            Date value = cursor.getTimestamp();
+            if (value == null) {
+                Predicate sameKey = cb.and(cb.isNull(key),
+                    sort.isAscending() ? cb.gt(id, cursor.getId()) : cb.lt(id, cursor.getId()));
+                return sort.isAscending() ? sameKey : cb.or(sameKey, cb.isNotNull(key));
+            }
+            if (sort.isAscending()) {
+                Predicate next = cb.or(cb.greaterThan(key, value),
+                    cb.and(cb.equal(key, value), cb.gt(id, cursor.getId())));
+                return sort.isNullable() ? cb.or(next, cb.isNull(key)) : next;
+            }
+            return cb.or(cb.lessThan(key, value), cb.and(cb.equal(key, value), cb.lt(id, cursor.getId())));
+        };
+    }
+}
@@ -0,0 +1,41 @@
+package com.taskmanager.service;
+
+import com.taskmanager.model.CursorPage;
+import com.taskmanager.model.PageCursor;
+import com.taskmanager.model.TaskSummary;
+import com.taskmanager.repository.TaskRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Fallback search engine: {@code LIKE '%keyword%'} on title and description
+ * straight against the database, paged by (created_at, id). It keeps no
+ * index, so it always sees the latest committed writes.
+ */
+@Component
+public class JpqlTaskSearchEngine implements TaskSearchEngine {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Override
+    public List<TaskSummary> search(String keyword) {
+        return taskRepository.searchSummaries(keyword);
+    }
+
+    @Override
+    public CursorPage<TaskSummary> search(String keyword, String cursor, Integer limit) {
+        int size = KeysetPages.pageSize(limit);
+        Pageable pageable = PageRequest.of(0, size + 1);
+        PageCursor after = KeysetPages.decodeCursor(cursor);
+        List<TaskSummary> rows = after == null
+            ? taskRepository.searchSummariesFirstPage(keyword, pageable)
+            : taskRepository.searchSummariesAfter(keyword, after.getTimestamp(), after.getId(), pageable);
+        return KeysetPages.toPage(rows, size, TaskSummary::getCreatedAt);
+    }
+
+}
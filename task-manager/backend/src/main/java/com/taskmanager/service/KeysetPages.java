@@ -0,0 +1,45 @@
+package com.taskmanager.service;
+
+import com.taskmanager.model.CursorPage;
+import com.taskmanager.model.PageCursor;
+import com.taskmanager.model.TaskSummary;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Shared plumbing for keyset-paginated reads: callers fetch
+ * {@code size + 1} rows after the decoded cursor and hand them to
+ * {@link #toPage}.
+ */
+final class KeysetPages {
+
+    private KeysetPages() {}
+
+    static int pageSize(Integer limit) {
+        if (limit == null) {
+            return TaskService.DEFAULT_PAGE_SIZE;
+        }
+        return Math.max(1, Math.min(limit, TaskService.MAX_PAGE_SIZE));
+    }
+
+    static PageCursor decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        return PageCursor.decode(cursor);
+    }
+
+    // One extra row is fetched to learn whether another page exists
+    static CursorPage<TaskSummary> toPage(List<TaskSummary> rows, int size, Function<TaskSummary, Date> sortKey) {
+        if (rows.size() <= size) {
+            return new CursorPage<>(rows, null);
+        }
+        List<TaskSummary> items = new ArrayList<>(rows.subList(0, size));
+        TaskSummary last = items.get(size - 1);
+        String next = new PageCursor(sortKey.apply(last), last.getId()).encode();
+        return new CursorPage<>(items, next);
+    }
+}
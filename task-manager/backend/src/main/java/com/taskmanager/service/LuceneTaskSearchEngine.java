@@ -0,0 +1,376 @@
+package com.taskmanager.service;
+
+import com.taskmanager.model.CursorPage;
+import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskEvent;
+import com.taskmanager.model.TaskSummary;
+import com.taskmanager.repository.TaskRepository;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherFactory;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * In-JVM inverted index over task titles and descriptions, so searches no
+ * longer scan the table or read every CLOB.
+ *
+ * <p>Only non-deleted tasks are indexed. Each query term must match a title
+ * or description word, either exactly or as a prefix. Exact title matches
+ * rank highest (BM25). The index holds just the task id; result rows come
+ * from one id-IN summary query.
+ *
+ * <p>The index is rebuilt from the database in the background on startup.
+ * Until that finishes, searches use {@link JpqlTaskSearchEngine}. After
+ * that it follows writes as a {@link TaskEventListener}, on the event
+ * dispatcher rather than the request thread, so a search can trail a
+ * write by the event lag. With events disabled the bus hands it each
+ * write's events right after the commit instead. Ranked pages use an offset cursor, so a page may
+ * shift if tasks are indexed between requests.
+ */
+@Primary
+@Component
+@ConditionalOnProperty(name = "taskmanager.search.engine", havingValue = "lucene", matchIfMissing = true)
+public class LuceneTaskSearchEngine implements TaskSearchEngine, TaskEventListener {
+
+    private static final Logger log = LoggerFactory.getLogger(LuceneTaskSearchEngine.class);
+
+    private static final String ID = "id";
+    private static final String TITLE = "title";
+    private static final String DESCRIPTION = "description";
+    private static final String CURSOR_PREFIX = "r1:";
+    private static final int REBUILD_BATCH_SIZE = 500;
+    private static final int IN_CLAUSE_LIMIT = 1000;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JpqlTaskSearchEngine fallback;
+
+    private final Analyzer analyzer = new StandardAnalyzer();
+    // Ids written while a rebuild walks the table; it must not overwrite them with an older read
+    private final Set<Long> touchedDuringRebuild = new HashSet<>();
+    // Guards touchedDuringRebuild and rebuilding, and is held across each
+    // check-then-write so a live write cannot land between the rebuild's
+    // check and its write of an older row
+    private final Object indexLock = new Object();
+    private boolean rebuilding;
+    private volatile boolean ready;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+
+    @PostConstruct
+    void open() throws IOException {
+        writer = new IndexWriter(new ByteBuffersDirectory(), new IndexWriterConfig(analyzer));
+        searcherManager = new SearcherManager(writer, new SearcherFactory());
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        Thread rebuild = new Thread(this::rebuild, "task-search-rebuild");
+        rebuild.setDaemon(true);
+        rebuild.start();
+    }
+
+    /** Walks the tasks table by id and indexes every non-deleted task. */
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        ready = false;
+        try {
+            synchronized (indexLock) {
+                // A write indexed before deleteAll is lost, but committed before the walk below reads it
+                writer.deleteAll();
+                touchedDuringRebuild.clear();
+                rebuilding = true;
+            }
+            long lastId = 0L;
+            int indexed = 0;
+            List<Task> batch;
+            do {
+                batch = taskRepository.findByIsDeletedFalseAndIdGreaterThanOrderByIdAsc(
+                    lastId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+                Map<Long, Document> documents = new LinkedHashMap<>();
+                for (Task task : batch) {
+                    documents.put(task.getId(), toDocument(task));
+                    lastId = task.getId();
+                }
+                synchronized (indexLock) {
+                    for (Map.Entry<Long, Document> entry : documents.entrySet()) {
+                        // A live write already indexed a newer version of this task
+                        if (!touchedDuringRebuild.contains(entry.getKey())) {
+                            writer.updateDocument(idTerm(entry.getKey()), entry.getValue());
+                        }
+                    }
+                }
+                indexed += batch.size();
+            } while (batch.size() == REBUILD_BATCH_SIZE);
+            searcherManager.maybeRefresh();
+            ready = true;
+            log.info("Search index rebuilt with {} tasks in {} ms", indexed, System.currentTimeMillis() - start);
+        } catch (IOException | RuntimeException e) {
+            log.error("Search index rebuild failed; falling back to database search", e);
+        } finally {
+            synchronized (indexLock) {
+                rebuilding = false;
+                touchedDuringRebuild.clear();
+            }
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public List<TaskSummary> search(String keyword) {
+        if (!ready) {
+            return fallback.search(keyword);
+        }
+        Query query = buildQuery(keyword);
+        if (query == null) {
+            return Collections.emptyList();
+        }
+        return withSearcher(searcher -> {
+            int total = searcher.count(query);
+            if (total == 0) {
+                return Collections.emptyList();
+            }
+            return loadSummaries(rankedIds(searcher, searcher.search(query, total), 0, total));
+        });
+    }
+
+    @Override
+    public CursorPage<TaskSummary> search(String keyword, String cursor, Integer limit) {
+        if (!ready) {
+            return fallback.search(keyword, cursor, limit);
+        }
+        int size = KeysetPages.pageSize(limit);
+        int offset = decodeOffset(cursor);
+        Query query = buildQuery(keyword);
+        if (query == null) {
+            return new CursorPage<>(Collections.emptyList(), null);
+        }
+        return withSearcher(searcher -> {
+            TopDocs topDocs = searcher.search(query, offset + size + 1);
+            List<Long> ids = rankedIds(searcher, topDocs, offset, size);
+            boolean hasMore = topDocs.scoreDocs.length > offset + size;
+            String next = hasMore ? encodeOffset(offset + size) : null;
+            return new CursorPage<>(loadSummaries(ids), next);
+        });
+    }
+
+    /**
+     * Re-reads the tasks behind a batch of events and indexes them as they
+     * are now, so redelivered or out-of-order events leave the same index.
+     * Deleted and vanished tasks are dropped. A failure is rethrown so the
+     * bus delivers the batch again.
+     */
+    @Override
+    public void onEvents(List<TaskEvent> events) {
+        List<Long> ids = events.stream().map(TaskEvent::getTaskId).distinct().collect(Collectors.toList());
+        Map<Long, Document> documents = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += IN_CLAUSE_LIMIT) {
+            List<Long> chunk = ids.subList(from, Math.min(from + IN_CLAUSE_LIMIT, ids.size()));
+            for (Task task : taskRepository.findAllById(chunk)) {
+                if (!Boolean.TRUE.equals(task.getIsDeleted())) {
+                    documents.put(task.getId(), toDocument(task));
+                }
+            }
+        }
+        List<Long> removed = ids.stream().filter(id -> !documents.containsKey(id)).collect(Collectors.toList());
+        try {
+            applyChanges(documents, removed);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void applyChanges(Map<Long, Document> documents, Collection<Long> removed) throws IOException {
+        synchronized (indexLock) {
+            if (rebuilding) {
+                touchedDuringRebuild.addAll(documents.keySet());
+                touchedDuringRebuild.addAll(removed);
+            }
+            for (Map.Entry<Long, Document> entry : documents.entrySet()) {
+                writer.updateDocument(idTerm(entry.getKey()), entry.getValue());
+            }
+            for (Long id : removed) {
+                writer.deleteDocuments(idTerm(id));
+            }
+        }
+        searcherManager.maybeRefresh();
+    }
+
+    private Document toDocument(Task task) {
+        Document document = new Document();
+        document.add(new StringField(ID, String.valueOf(task.getId()), Field.Store.YES));
+        if (task.getTitle() != null) {
+            document.add(new TextField(TITLE, task.getTitle(), Field.Store.NO));
+        }
+        if (task.getDescription() != null) {
+            document.add(new TextField(DESCRIPTION, task.getDescription(), Field.Store.NO));
+        }
+        return document;
+    }
+
+    // Every term must match title or description, exactly or as a prefix
+    private Query buildQuery(String keyword) {
+        List<String> terms = analyze(keyword);
+        if (terms.isEmpty()) {
+            return null;
+        }
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        for (String term : terms) {
+            BooleanQuery.Builder anyField = new BooleanQuery.Builder();
+            anyField.add(new BoostQuery(new TermQuery(new Term(TITLE, term)), 3f), BooleanClause.Occur.SHOULD);
+            anyField.add(new TermQuery(new Term(DESCRIPTION, term)), BooleanClause.Occur.SHOULD);
+            anyField.add(new BoostQuery(new PrefixQuery(new Term(TITLE, term)), 1.5f), BooleanClause.Occur.SHOULD);
+            anyField.add(new PrefixQuery(new Term(DESCRIPTION, term)), BooleanClause.Occur.SHOULD);
+            query.add(anyField.build(), BooleanClause.Occur.MUST);
+        }
+        return query.build();
+    }
+
+    private List<String> analyze(String keyword) {
+        List<String> terms = new ArrayList<>();
+        if (keyword == null) {
+            return terms;
+        }
+        try (TokenStream tokens = analyzer.tokenStream(TITLE, keyword)) {
+            CharTermAttribute term = tokens.addAttribute(CharTermAttribute.class);
+            tokens.reset();
+            while (tokens.incrementToken()) {
+                terms.add(term.toString());
+            }
+            tokens.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return terms;
+    }
+
+    private List<Long> rankedIds(IndexSearcher searcher, TopDocs topDocs, int offset, int size) throws IOException {
+        List<Long> ids = new ArrayList<>();
+        ScoreDoc[] hits = topDocs.scoreDocs;
+        for (int i = offset; i < Math.min(hits.length, offset + size); i++) {
+            ids.add(Long.valueOf(searcher.doc(hits[i].doc).get(ID)));
+        }
+        return ids;
+    }
+
+    // One IN query per 1000 hits, then restore the ranking order
+    private List<TaskSummary> loadSummaries(List<Long> rankedIds) {
+        Map<Long, TaskSummary> byId = new HashMap<>();
+        for (int from = 0; from < rankedIds.size(); from += IN_CLAUSE_LIMIT) {
+            List<Long> chunk = rankedIds.subList(from, Math.min(from + IN_CLAUSE_LIMIT, rankedIds.size()));
+            for (TaskSummary summary : taskRepository.findSummariesByIds(chunk)) {
+                byId.put(summary.getId(), summary);
+            }
+        }
+        List<TaskSummary> summaries = new ArrayList<>(rankedIds.size());
+        for (Long id : rankedIds) {
+            TaskSummary summary = byId.get(id);
+            if (summary != null) {
+                summaries.add(summary);
+            }
+        }
+        return summaries;
+    }
+
+    private <T> T withSearcher(SearcherCallback<T> callback) {
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                return callback.apply(searcher);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Term idTerm(Long id) {
+        return new Term(ID, String.valueOf(id));
+    }
+
+    private static String encodeOffset(int offset) {
+        String raw = CURSOR_PREFIX + offset;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static int decodeOffset(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!raw.startsWith(CURSOR_PREFIX)) {
+                throw new IllegalArgumentException("Invalid page cursor");
+            }
+            int offset = Integer.parseInt(raw.substring(CURSOR_PREFIX.length()));
+            if (offset < 0) {
+                throw new IllegalArgumentException("Invalid page cursor");
+            }
+            return offset;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid page cursor", e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface SearcherCallback<T> {
+        T apply(IndexSearcher searcher) throws IOException;
+    }
+}
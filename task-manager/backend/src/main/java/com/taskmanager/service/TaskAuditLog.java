@@ -0,0 +1,32 @@
+package com.taskmanager.service;
+
+import com.taskmanager.model.TaskEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Writes every task event to the {@code taskmanager.audit} logger at
+ * DEBUG. Off unless that logger is enabled
+ * ({@code logging.level.taskmanager.audit=DEBUG}); since it runs on the
+ * event dispatcher, turning it on costs requests nothing unless events
+ * are disabled.
+ */
+@Component
+public class TaskAuditLog implements TaskEventListener {
+
+    private static final Logger audit = LoggerFactory.getLogger("taskmanager.audit");
+
+    @Override
+    public void onEvents(List<TaskEvent> events) {
+        if (!audit.isDebugEnabled()) {
+            return;
+        }
+        for (TaskEvent event : events) {
+            audit.debug("{} task={} event={} at={}", event.getType(), event.getTaskId(), event.getId(),
+                event.getCreatedAt().toInstant());
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.taskmanager.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Bounded in-process read-through cache for single tasks and the
+ * status/category/top-level lists served by {@link TaskService}.
+ *
+ * <p>Only active when {@code taskmanager.cache.mode=local}. With
+ * {@code hibernate} the Hibernate second-level cache is used instead, and
+ * with {@code none} every call goes straight to the database.
+ *
+ * <p>Evictions happen immediately and again after the surrounding
+ * transaction commits. That closes the window in which a concurrent
+ * reader could re-cache the pre-commit state.
+ *
+ * <p>Single tasks are held as detached copies and every hit returns a new
+ * copy. A managed entity would stay attached to the session that loaded
+ * it, so a caller mutating it could change what other requests see and
+ * have that session flush the change.
+ */
+@Component
+public class TaskCache implements MeterBinder {
+
+    private static final String TOP_LEVEL_KEY = "top-level";
+
+    @Value("${taskmanager.cache.mode:local}")
+    private String mode;
+
+    @Value("${taskmanager.cache.maximum-size:10000}")
+    private long maximumSize;
+
+    @Value("${taskmanager.cache.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    private Cache<Long, Task> tasksById;
+    private Cache<String, List<TaskSummary>> taskLists;
+
+    @PostConstruct
+    void init() {
+        if (!isEnabled()) {
+            return;
+        }
+        tasksById = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+            .recordStats()
+            .build();
+        // Weighted by list length so a few huge lists cannot pin the heap
+        taskLists = Caffeine.newBuilder()
+            .maximumWeight(maximumSize)
+            .weigher((String key, List<TaskSummary> tasks) -> Math.max(1, tasks.size()))
+            .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+            .recordStats()
+            .build();
+    }
+
+    public boolean isEnabled() {
+        return "local".equalsIgnoreCase(mode);
+    }
+
+    public Optional<Task> getTask(Long id, Function<Long, Optional<Task>> loader) {
+        if (!isEnabled()) {
+            return loader.apply(id);
+        }
+        Task cached = tasksById.get(id, key -> loader.apply(key).map(TaskCache::copyOf).orElse(null));
+        return Optional.ofNullable(cached).map(TaskCache::copyOf);
+    }
+
+    public List<TaskSummary> getTopLevelTasks(Supplier<List<TaskSummary>> loader) {
+        return getList(TOP_LEVEL_KEY, loader);
+    }
+
+    public List<TaskSummary> getTasksByStatus(Task.Status status, Supplier<List<TaskSummary>> loader) {
+        return getList(statusKey(status), loader);
+    }
+
+    public List<TaskSummary> getTasksByCategory(Task.Category category, Supplier<List<TaskSummary>> loader) {
+        return getList(categoryKey(category), loader);
+    }
+
+    private List<TaskSummary> getList(String key, Supplier<List<TaskSummary>> loader) {
+        if (!isEnabled()) {
+            return loader.get();
+        }
+        return taskLists.get(key, ignored -> Collections.unmodifiableList(loader.get()));
+    }
+
+    /** Evicts one task and every list it could appear in, given its state. */
+    public void evict(Long id, Task.Status status, Task.Category category, Long parentTaskId) {
+        runNowAndAfterCommit(() -> {
+            if (id != null) {
+                tasksById.invalidate(id);
+            }
+            if (status != null) {
+                taskLists.invalidate(statusKey(status));
+            }
+            if (category != null) {
+                taskLists.invalidate(categoryKey(category));
+            }
+            if (parentTaskId == null) {
+                taskLists.invalidate(TOP_LEVEL_KEY);
+            }
+        });
+    }
+
+    /** Evicts the given tasks and all cached lists, for writes whose list membership is unknown. */
+    public void evictTasksAndLists(Iterable<Long> ids) {
+        runNowAndAfterCommit(() -> {
+            tasksById.invalidateAll(ids);
+            taskLists.invalidateAll();
+        });
+    }
+
+    public void evictAll() {
+        runNowAndAfterCommit(() -> {
+            tasksById.invalidateAll();
+            taskLists.invalidateAll();
+        });
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (isEnabled()) {
+            CaffeineCacheMetrics.monitor(registry, tasksById, "tasksById");
+            CaffeineCacheMetrics.monitor(registry, taskLists, "taskLists");
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("mode", mode);
+        if (isEnabled()) {
+            stats.put("tasksById", describe(tasksById.stats(), tasksById.estimatedSize()));
+            stats.put("taskLists", describe(taskLists.stats(), taskLists.estimatedSize()));
+        }
+        return stats;
+    }
+
+    private Map<String, Object> describe(CacheStats cacheStats, long size) {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", size);
+        stats.put("hits", cacheStats.hitCount());
+        stats.put("misses", cacheStats.missCount());
+        stats.put("hitRate", cacheStats.hitRate());
+        stats.put("evictions", cacheStats.evictionCount());
+        stats.put("loadFailures", cacheStats.loadFailureCount());
+        return stats;
+    }
+
+    private void runNowAndAfterCommit(Runnable eviction) {
+        if (!isEnabled()) {
+            return;
+        }
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            AfterCommit.run(eviction);
+        }
+    }
+
+    // Every column Task exposes; subTasks is a lazy association and stays unset
+    private static Task copyOf(Task task) {
+        Task copy = new Task(task.getTitle(), task.getDescription());
+        copy.setId(task.getId());
+        copy.setDueDate(copyOf(task.getDueDate()));
+        copy.setPriority(task.getPriority());
+        copy.setCategory(task.getCategory());
+        copy.setStatus(task.getStatus());
+        copy.setParentTaskId(task.getParentTaskId());
+        copy.setIsDeleted(task.getIsDeleted());
+        copy.setCreatedAt(copyOf(task.getCreatedAt()));
+        copy.setUpdatedAt(copyOf(task.getUpdatedAt()));
+        copy.setChangeVersion(task.getChangeVersion());
+        copy.setVersion(task.getVersion());
+        return copy;
+    }
+
+    private static Date copyOf(Date date) {
+        return date == null ? null : new Date(date.getTime());
+    }
+
+    private static String statusKey(Task.Status status) {
+        return "status:" + status;
+    }
+
+    private static String categoryKey(Task.Category category) {
+        return "category:" + category;
+    }
+}
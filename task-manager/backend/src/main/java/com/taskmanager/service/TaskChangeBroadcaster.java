@@ -0,0 +1,157 @@
+package com.taskmanager.service;
+
+import com.taskmanager.model.ChangeToken;
+import com.taskmanager.model.TaskChange;
+import com.taskmanager.model.TaskChangeFeed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pushes the change feed to server-sent-event subscribers, so idle clients
+ * do not poll. While anyone is subscribed, a single thread reads the feed
+ * every {@code taskmanager.changes.push-interval-ms} and sends each delta
+ * to every subscriber: one indexed query per interval, however many
+ * clients listen. Writes from any path or instance show up, since the
+ * feed reads the database rather than hooking TaskService.
+ */
+@Service
+public class TaskChangeBroadcaster {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskChangeBroadcaster.class);
+
+    private static final String EVENT_NAME = "changes";
+
+    @Autowired
+    private TaskService taskService;
+
+    @Value("${taskmanager.changes.push-interval-ms:1000}")
+    private long pushIntervalMs;
+
+    @Value("${taskmanager.changes.sse-timeout-ms:1800000}")
+    private long sseTimeoutMs;
+
+    private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+    // Last change pushed per task, so rows the feed re-reads are not pushed twice
+    private final Map<Long, TaskChange> pushed = new HashMap<>();
+    private ScheduledExecutorService scheduler;
+    private String token;
+
+    @PostConstruct
+    void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-change-push");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::pushSafely, pushIntervalMs, pushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        scheduler.shutdownNow();
+        emitters.forEach(SseEmitter::complete);
+    }
+
+    /**
+     * Registers a subscriber. The first event carries the changes since
+     * {@code since} (or none, without a token) and a token to resume from;
+     * pushes follow. A subscriber may see a change twice, never miss one.
+     */
+    public SseEmitter subscribe(String since) {
+        SseEmitter emitter = new SseEmitter(sseTimeoutMs);
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> emitters.remove(emitter));
+
+        // Decoded up front so a bad token fails the request, not the stream
+        boolean catchUp = since != null && !since.isBlank();
+        if (catchUp) {
+            ChangeToken.decode(since);
+        }
+        // Joining before the catch-up read leaves no gap between the two
+        emitters.add(emitter);
+        String latest;
+        synchronized (this) {
+            if (token == null) {
+                token = taskService.getLatestChangeToken();
+            }
+            latest = token;
+        }
+        TaskChangeFeed first = catchUp
+            ? taskService.getChanges(since, TaskService.MAX_PAGE_SIZE)
+            : new TaskChangeFeed(Collections.emptyList(), latest, false);
+        send(emitter, first);
+        return emitter;
+    }
+
+    private void pushSafely() {
+        try {
+            push();
+        } catch (RuntimeException e) {
+            log.warn("Change push failed, retrying in {} ms", pushIntervalMs, e);
+        }
+    }
+
+    synchronized void push() {
+        if (emitters.isEmpty()) {
+            token = null;
+            pushed.clear();
+            return;
+        }
+        if (token == null) {
+            token = taskService.getLatestChangeToken();
+        }
+        TaskChangeFeed feed;
+        do {
+            feed = taskService.getChanges(token, TaskService.MAX_PAGE_SIZE);
+            token = feed.getNextToken();
+            List<TaskChange> fresh = new ArrayList<>();
+            for (TaskChange change : feed.getChanges()) {
+                TaskChange previous = pushed.get(change.getId());
+                if (previous == null || previous.getChangeVersion() < change.getChangeVersion()) {
+                    pushed.put(change.getId(), change);
+                    fresh.add(change);
+                }
+            }
+            if (!fresh.isEmpty()) {
+                TaskChangeFeed delta = new TaskChangeFeed(fresh, token, feed.isHasMore());
+                emitters.forEach(emitter -> send(emitter, delta));
+            }
+        } while (feed.isHasMore());
+
+        // Rows older than the re-read window cannot come back
+        Date rescanFrom = ChangeToken.decode(token).getRescanFrom();
+        pushed.values().removeIf(change -> change.getUpdatedAt() == null || change.getUpdatedAt().before(rescanFrom));
+    }
+
+    private void send(SseEmitter emitter, TaskChangeFeed feed) {
+        try {
+            emitter.send(SseEmitter.event()
+                .name(EVENT_NAME)
+                .id(feed.getNextToken())
+                .data(feed, MediaType.APPLICATION_JSON));
+        } catch (IOException | IllegalStateException e) {
+            // Client went away; the container completes the emitter
+            emitters.remove(emitter);
+        }
+    }
+}
@@ -0,0 +1,336 @@
+package com.taskmanager.service;
+
+import com.taskmanager.model.TaskEvent;
+import com.taskmanager.repository.TaskEventRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Delivers {@link TaskEvent}s to every {@link TaskEventListener} off the
+ * request thread. A write records its events in the {@code task_events}
+ * outbox inside its own transaction, so an event exists exactly when the
+ * write committed; after the commit the events go onto a bounded queue
+ * that one dispatcher thread drains in batches of up to
+ * {@code taskmanager.events.batch-size}. Once every listener has handled
+ * a batch its outbox rows are deleted.
+ *
+ * <p>Backpressure: when the queue is full, a writer waits at most
+ * {@code taskmanager.events.offer-timeout-ms} and then leaves its events to
+ * the outbox relay. Every {@code taskmanager.events.relay-interval-ms} the
+ * relay queues outbox rows older than
+ * {@code taskmanager.events.redelivery-delay-ms} that are not already
+ * queued, as far as the queue has room. That covers overflow, failed
+ * listeners and events left over from a crash or restart, at the price of
+ * delivering some events twice and out of order. Meant for one instance
+ * per outbox: several instances would deliver each other's leftovers too.
+ *
+ * <p>A batch that a listener rejects is tried again one event at a time,
+ * so only an event that fails on its own uses up one of its
+ * {@code taskmanager.events.max-attempts}. After the last one it is logged
+ * to {@code taskmanager.events.dead-letter} and deleted, rather than
+ * holding a place in every relay run from then on.
+ *
+ * <p>With {@code taskmanager.events.enabled=false} nothing is written to
+ * the outbox and there are no background threads: the listeners get each
+ * write's events on the writing thread right after its commit, once, so
+ * the search index still follows writes.
+ */
+@Service
+public class TaskEventBus {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskEventBus.class);
+
+    private static final Logger deadLetters = LoggerFactory.getLogger("taskmanager.events.dead-letter");
+
+    // Oracle rejects IN lists longer than 1000 expressions
+    private static final int IN_CLAUSE_LIMIT = 1000;
+
+    @Autowired
+    private TaskEventRepository eventRepository;
+
+    // Looked up per batch, so listeners may depend on TaskService
+    @Autowired
+    private ObjectProvider<TaskEventListener> listeners;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${taskmanager.events.enabled:true}")
+    private boolean enabled;
+
+    @Value("${taskmanager.events.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${taskmanager.events.batch-size:100}")
+    private int batchSize;
+
+    @Value("${taskmanager.events.offer-timeout-ms:50}")
+    private long offerTimeoutMs;
+
+    @Value("${taskmanager.events.relay-interval-ms:5000}")
+    private long relayIntervalMs;
+
+    @Value("${taskmanager.events.redelivery-delay-ms:30000}")
+    private long redeliveryDelayMs;
+
+    @Value("${taskmanager.events.max-attempts:10}")
+    private int maxAttempts;
+
+    private BlockingQueue<TaskEvent> queue;
+    // Outbox ids that are queued or being dispatched, so the relay skips them
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+    private final LongAdder published = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder overflowed = new LongAdder();
+    private final LongAdder deadLettered = new LongAdder();
+    private volatile long outboxAgeMillis;
+    private Timer lag;
+    private ExecutorService dispatcher;
+    private ScheduledExecutorService relay;
+    private TransactionTemplate directDelivery;
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            // The writer's transaction has committed by then, and its
+            // persistence context may predate the bulk UPDATEs it ran
+            directDelivery = new TransactionTemplate(transactionManager);
+            directDelivery.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        batchSize = Math.min(batchSize, IN_CLAUSE_LIMIT);
+        maxAttempts = Math.max(maxAttempts, 1);
+        registerMeters();
+        dispatcher = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-events-dispatch");
+            thread.setDaemon(true);
+            return thread;
+        });
+        dispatcher.execute(this::dispatchLoop);
+        relay = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-events-relay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        relay.scheduleWithFixedDelay(this::relaySafely, 0, relayIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    // Whatever is still queued stays in the outbox for the next start
+    @PreDestroy
+    void stop() {
+        if (enabled) {
+            relay.shutdownNow();
+            dispatcher.shutdownNow();
+        }
+    }
+
+    void publish(TaskEvent.Type type, Long taskId) {
+        publish(type, Collections.singletonList(taskId));
+    }
+
+    /**
+     * Writes one event per task to the outbox in the caller's transaction
+     * and queues them once it commits; a rollback discards them with the
+     * write. With the bus disabled they go to the listeners directly once
+     * the transaction commits.
+     */
+    void publish(TaskEvent.Type type, Collection<Long> taskIds) {
+        if (taskIds.isEmpty()) {
+            return;
+        }
+        Date now = new Date();
+        List<TaskEvent> events = new ArrayList<>(taskIds.size());
+        for (Long taskId : taskIds) {
+            events.add(new TaskEvent(type, taskId, now));
+        }
+        if (!enabled) {
+            AfterCommit.run(() -> deliverDirectly(events));
+            return;
+        }
+        eventRepository.saveAll(events);
+        published.add(events.size());
+        AfterCommit.run(() -> enqueue(events));
+    }
+
+    private void enqueue(List<TaskEvent> events) {
+        for (int i = 0; i < events.size(); i++) {
+            TaskEvent event = events.get(i);
+            if (!inFlight.add(event.getId())) {
+                // The relay got to it first
+                continue;
+            }
+            boolean queued;
+            try {
+                queued = queue.offer(event, offerTimeoutMs, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                queued = false;
+            }
+            if (!queued) {
+                // Waiting once is enough; the rest is left to the relay too
+                inFlight.remove(event.getId());
+                events.subList(i + 1, events.size()).forEach(rest -> inFlight.remove(rest.getId()));
+                overflowed.add(events.size() - i);
+                return;
+            }
+        }
+    }
+
+    private void dispatchLoop() {
+        List<TaskEvent> batch = new ArrayList<>(batchSize);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(queue.take());
+                queue.drainTo(batch, batchSize - 1);
+                dispatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                log.warn("Dispatching {} task events failed; they stay in the outbox", batch.size(), e);
+            } finally {
+                batch.forEach(event -> inFlight.remove(event.getId()));
+                batch.clear();
+            }
+        }
+    }
+
+    // No outbox to fall back on: a listener that fails here misses the events
+    private void deliverDirectly(List<TaskEvent> events) {
+        try {
+            directDelivery.executeWithoutResult(status -> deliver(Collections.unmodifiableList(events)));
+        } catch (RuntimeException e) {
+            log.warn("Delivering {} task events failed; they are not delivered again", events.size(), e);
+        }
+    }
+
+    private void dispatch(List<TaskEvent> batch) {
+        List<TaskEvent> events = Collections.unmodifiableList(batch);
+        if (!deliver(events)) {
+            if (events.size() == 1) {
+                retryOrDeadLetter(events.get(0));
+            } else {
+                events.forEach(event -> dispatch(Collections.singletonList(event)));
+            }
+            return;
+        }
+        eventRepository.deleteByIds(events.stream().map(TaskEvent::getId).collect(Collectors.toList()));
+        long now = System.currentTimeMillis();
+        for (TaskEvent event : events) {
+            lag.record(now - event.getCreatedAt().getTime(), TimeUnit.MILLISECONDS);
+        }
+        delivered.add(events.size());
+    }
+
+    private boolean deliver(List<TaskEvent> events) {
+        boolean handled = true;
+        for (TaskEventListener listener : listeners.orderedStream().collect(Collectors.toList())) {
+            try {
+                listener.onEvents(events);
+            } catch (RuntimeException e) {
+                handled = false;
+                log.warn("Task event listener {} failed on {} events",
+                    listener.getClass().getSimpleName(), events.size(), e);
+            }
+        }
+        return handled;
+    }
+
+    // The relay delivers the event again unless this was its last attempt
+    private void retryOrDeadLetter(TaskEvent event) {
+        failed.increment();
+        if (event.getAttempts() + 1 < maxAttempts) {
+            eventRepository.incrementAttempts(event.getId());
+            return;
+        }
+        deadLetters.error("{} task={} event={} at={} dropped after {} failed deliveries", event.getType(),
+            event.getTaskId(), event.getId(), event.getCreatedAt().toInstant(), maxAttempts);
+        eventRepository.deleteByIds(Collections.singletonList(event.getId()));
+        deadLettered.increment();
+    }
+
+    private void relaySafely() {
+        try {
+            relay();
+        } catch (RuntimeException e) {
+            log.warn("Task event relay failed, retrying in {} ms", relayIntervalMs, e);
+        }
+    }
+
+    /** Queues undelivered outbox rows, as many as the queue has room for. */
+    synchronized void relay() {
+        long now = System.currentTimeMillis();
+        Date oldest = eventRepository.findOldestCreatedAt();
+        outboxAgeMillis = oldest == null ? 0 : Math.max(0, now - oldest.getTime());
+        int room = Math.min(queue.remainingCapacity(), IN_CLAUSE_LIMIT);
+        if (oldest == null || room == 0) {
+            return;
+        }
+        for (TaskEvent event : eventRepository.findUndelivered(new Date(now - redeliveryDelayMs),
+                PageRequest.of(0, room))) {
+            if (inFlight.add(event.getId()) && !queue.offer(event)) {
+                inFlight.remove(event.getId());
+                return;
+            }
+        }
+    }
+
+    private void registerMeters() {
+        Gauge.builder("taskmanager.events.queue.depth", queue, BlockingQueue::size)
+            .description("Task events waiting for the dispatcher")
+            .register(meterRegistry);
+        TimeGauge.builder("taskmanager.events.outbox.age", this, TimeUnit.MILLISECONDS, bus -> bus.outboxAgeMillis)
+            .description("Age of the oldest undelivered outbox row, as of the last relay run")
+            .register(meterRegistry);
+        lag = Timer.builder("taskmanager.events.lag")
+            .description("Time from a write to the delivery of its event")
+            .publishPercentiles(0.5, 0.99)
+            .register(meterRegistry);
+        eventCounter("published", published);
+        eventCounter("delivered", delivered);
+        eventCounter("failed", failed);
+        eventCounter("overflowed", overflowed);
+        eventCounter("dead_lettered", deadLettered);
+    }
+
+    private void eventCounter(String outcome, LongAdder count) {
+        FunctionCounter.builder("taskmanager.events", count, LongAdder::sum)
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,25 @@
+package com.taskmanager.service;
+
+import com.taskmanager.model.TaskEvent;
+
+import java.util.List;
+
+/**
+ * Receives task events from {@link TaskEventBus}. Every bean implementing
+ * this is called on the bus's dispatcher thread, not the request thread,
+ * with batches of events in the order they were written.
+ *
+ * <p>Delivery is at least once: if any listener throws, the batch stays
+ * in the outbox and is delivered again to every listener, one event at a
+ * time, until each event succeeds or runs out of attempts. A crash can
+ * also repeat the last batch. Listeners should therefore be idempotent,
+ * and should not block for long since they hold up the batches behind
+ * them.
+ *
+ * <p>With the bus disabled, listeners are called on the writing thread
+ * after its commit instead, once and without redelivery.
+ */
+public interface TaskEventListener {
+
+    void onEvents(List<TaskEvent> events);
+}
@@ -0,0 +1,23 @@
+package com.taskmanager.service;
+
+/**
+ * File formats for {@code GET /tasks/export} and {@code POST /tasks/import}:
+ * one JSON object per line, or CSV with a header row.
+ */
+public enum TaskExportFormat {
+
+    JSONL("application/x-ndjson", "jsonl"),
+    CSV("text/csv", "csv");
+
+    private final String mediaType;
+    private final String extension;
+
+    TaskExportFormat(String mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public String getMediaType() { return mediaType; }
+
+    public String getExtension() { return extension; }
+}
@@ -0,0 +1,94 @@
+package com.taskmanager.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.taskmanager.model.Task;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.util.Date;
+
+/**
+ * Writes exported tasks one at a time to a response stream. Only the
+ * buffered writer's chunk is held in memory, whatever the table size.
+ */
+class TaskExportWriter {
+
+    private static final String CSV_HEADER = "id,title,description,due_date,priority,category,status," +
+        "parent_task_id,is_deleted,created_at,updated_at";
+
+    private final TaskExportFormat format;
+    private final Writer writer;
+    private final ObjectWriter jsonWriter;
+    private final SimpleDateFormat dueDateFormat = new SimpleDateFormat("yyyy-MM-dd");
+
+    TaskExportWriter(TaskExportFormat format, OutputStream out, ObjectMapper objectMapper) {
+        this.format = format;
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        // The writer is shared across rows, so Jackson must not close it
+        this.jsonWriter = objectMapper.writerFor(Task.class).without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    void writeHeader() throws IOException {
+        if (format == TaskExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+    }
+
+    void write(Task task) throws IOException {
+        if (format == TaskExportFormat.JSONL) {
+            jsonWriter.writeValue(writer, task);
+        } else {
+            writer.write(String.valueOf(task.getId()));
+            writer.write(',');
+            writer.write(csv(task.getTitle()));
+            writer.write(',');
+            writer.write(csv(task.getDescription()));
+            writer.write(',');
+            writer.write(task.getDueDate() != null ? dueDateFormat.format(task.getDueDate()) : "");
+            writer.write(',');
+            writer.write(task.getPriority() != null ? task.getPriority().name() : "");
+            writer.write(',');
+            writer.write(task.getCategory() != null ? task.getCategory().name() : "");
+            writer.write(',');
+            writer.write(task.getStatus() != null ? task.getStatus().name() : "");
+            writer.write(',');
+            writer.write(task.getParentTaskId() != null ? String.valueOf(task.getParentTaskId()) : "");
+            writer.write(',');
+            writer.write(String.valueOf(Boolean.TRUE.equals(task.getIsDeleted())));
+            writer.write(',');
+            writer.write(timestamp(task.getCreatedAt()));
+            writer.write(',');
+            writer.write(timestamp(task.getUpdatedAt()));
+        }
+        writer.write('\n');
+    }
+
+    void flush() throws IOException {
+        writer.flush();
+    }
+
+    // RFC 4180: quote fields holding a delimiter, quote or line break
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    // Via epoch millis: java.sql.Date throws from toInstant()
+    private static String timestamp(Date date) {
+        return date != null ? Instant.ofEpochMilli(date.getTime()).toString() : "";
+    }
+}
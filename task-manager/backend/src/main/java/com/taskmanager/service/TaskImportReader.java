@@ -0,0 +1,193 @@
+package com.taskmanager.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanager.model.Task;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads an import file one record at a time, in the layouts that
+ * {@link TaskExportWriter} produces. Only the current record is held in
+ * memory. The {@code id} and {@code parentTaskId} values are ids from the
+ * source system; {@link TaskImportService} maps them to new ones.
+ */
+class TaskImportReader implements Closeable {
+
+    private final TaskExportFormat format;
+    private final BufferedReader reader;
+    private final ObjectMapper objectMapper;
+    private Map<String, Integer> columns;
+    private long row;
+
+    TaskImportReader(TaskExportFormat format, InputStream in, ObjectMapper objectMapper) {
+        this.format = format;
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 65536);
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Returns the next record, or null at the end of the input. A malformed
+     * record comes back with an error instead of failing the whole read.
+     */
+    ImportRecord next() throws IOException {
+        return format == TaskExportFormat.JSONL ? nextJson() : nextCsv();
+    }
+
+    private ImportRecord nextJson() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+        } while (line.trim().isEmpty());
+        row++;
+        try {
+            return new ImportRecord(row, objectMapper.readValue(line, Task.class), null);
+        } catch (JsonProcessingException e) {
+            return new ImportRecord(row, null, "Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private ImportRecord nextCsv() throws IOException {
+        if (columns == null) {
+            List<String> header = readCsvRecord();
+            if (header == null) {
+                return null;
+            }
+            columns = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                columns.put(header.get(i).trim().toLowerCase(), i);
+            }
+        }
+        List<String> fields;
+        do {
+            fields = readCsvRecord();
+            if (fields == null) {
+                return null;
+            }
+        } while (fields.size() == 1 && fields.get(0).isEmpty());
+        row++;
+        try {
+            return new ImportRecord(row, toTask(fields), null);
+        } catch (IllegalArgumentException | DateTimeException e) {
+            return new ImportRecord(row, null, "Malformed CSV field: " + e.getMessage());
+        }
+    }
+
+    private Task toTask(List<String> fields) {
+        Task task = new Task();
+        String id = field(fields, "id");
+        task.setId(id != null ? Long.valueOf(id) : null);
+        task.setTitle(field(fields, "title"));
+        task.setDescription(field(fields, "description"));
+        String dueDate = field(fields, "due_date");
+        task.setDueDate(dueDate != null ? java.sql.Date.valueOf(LocalDate.parse(dueDate)) : null);
+        String priority = field(fields, "priority");
+        if (priority != null) {
+            task.setPriority(Task.Priority.valueOf(priority.toUpperCase()));
+        }
+        String category = field(fields, "category");
+        if (category != null) {
+            task.setCategory(Task.Category.valueOf(category.toUpperCase()));
+        }
+        String status = field(fields, "status");
+        if (status != null) {
+            task.setStatus(Task.Status.valueOf(status.toUpperCase()));
+        }
+        String parentTaskId = field(fields, "parent_task_id");
+        task.setParentTaskId(parentTaskId != null ? Long.valueOf(parentTaskId) : null);
+        String deleted = field(fields, "is_deleted");
+        task.setIsDeleted("true".equalsIgnoreCase(deleted) || "1".equals(deleted));
+        String createdAt = field(fields, "created_at");
+        task.setCreatedAt(createdAt != null ? Date.from(Instant.parse(createdAt)) : null);
+        String updatedAt = field(fields, "updated_at");
+        task.setUpdatedAt(updatedAt != null ? Date.from(Instant.parse(updatedAt)) : null);
+        return task;
+    }
+
+    // Missing columns and empty fields both read as null
+    private String field(List<String> fields, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= fields.size() || fields.get(index).isEmpty()) {
+            return null;
+        }
+        return fields.get(index);
+    }
+
+    // RFC 4180: quoted fields may contain delimiters, "" escapes and line breaks
+    private List<String> readCsvRecord() throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    fields.add(field.toString());
+                    return fields;
+                }
+                if (c == '"') {
+                    c = reader.read();
+                    if (c != '"') {
+                        quoted = false;
+                        continue;
+                    }
+                }
+                field.append((char) c);
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == -1) {
+                fields.add(field.toString());
+                return fields;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    static final class ImportRecord {
+
+        private final long row;
+        private final Task task;
+        private final String error;
+
+        ImportRecord(long row, Task task, String error) {
+            this.row = row;
+            this.task = task;
+            this.error = error;
+        }
+
+        long getRow() { return row; }
+
+        Task getTask() { return task; }
+
+        String getError() { return error; }
+    }
+}
@@ -0,0 +1,81 @@
+package com.taskmanager.service;
+
+import com.taskmanager.model.TaskImportResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Command-line import mode:
+ * {@code java -jar backend.jar --spring.main.web-application-type=none --taskmanager.import.file=tasks.csv}.
+ * The format follows the file extension ({@code .csv}, otherwise JSON
+ * lines, optionally {@code .gz}) unless {@code taskmanager.import.format}
+ * is set. The import id defaults to the file name, so re-running the same
+ * command resumes an interrupted import. Exits with status 1 if any row
+ * failed.
+ */
+@Component
+@ConditionalOnProperty(name = "taskmanager.import.file")
+public class TaskImportRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskImportRunner.class);
+
+    @Value("${taskmanager.import.file}")
+    private String file;
+
+    @Value("${taskmanager.import.format:}")
+    private String format;
+
+    @Value("${taskmanager.import.id:}")
+    private String importId;
+
+    @Autowired
+    private TaskImportService taskImportService;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        Path path = Paths.get(file);
+        String name = path.getFileName().toString();
+        boolean gzip = name.endsWith(".gz");
+        String baseName = gzip ? name.substring(0, name.length() - 3) : name;
+        TaskExportFormat fileFormat = !format.isEmpty()
+            ? TaskExportFormat.valueOf(format.toUpperCase())
+            : baseName.endsWith(".csv") ? TaskExportFormat.CSV : TaskExportFormat.JSONL;
+        String id = !importId.isEmpty() ? importId : defaultImportId(name);
+
+        TaskImportResult result;
+        try (InputStream raw = Files.newInputStream(path);
+             InputStream in = gzip ? new GZIPInputStream(raw, 65536) : raw) {
+            result = taskImportService.importTasks(id, fileFormat, in);
+        }
+        log.info("Import {} {}: {} rows read, {} imported, {} failed", result.getImportId(), result.getStatus(),
+            result.getRowsRead(), result.getRowsImported(), result.getRowsFailed());
+        for (TaskImportResult.RowError error : result.getErrors()) {
+            log.warn("Row {}: {}", error.getRow(), error.getMessage());
+        }
+        int exitCode = result.getRowsFailed() > 0 ? 1 : 0;
+        System.exit(SpringApplication.exit(applicationContext, () -> exitCode));
+    }
+
+    private static String defaultImportId(String fileName) {
+        String id = fileName.replaceAll("[^A-Za-z0-9._-]", "_");
+        return id.length() <= 64 ? id : id.substring(id.length() - 64);
+    }
+}
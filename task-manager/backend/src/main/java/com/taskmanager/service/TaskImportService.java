@@ -0,0 +1,409 @@
+package com.taskmanager.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskEvent;
+import com.taskmanager.model.TaskImportResult;
+import com.taskmanager.service.TaskImportReader.ImportRecord;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceContext;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk import of CSV or JSON-lines files, at JDBC batch speed rather than
+ * one {@code POST /tasks} per row.
+ *
+ * <p>A parser thread reads and validates records and hands batches to the
+ * calling thread through a bounded queue, so a slow database throttles
+ * parsing instead of letting parsed rows pile up. Each batch goes out as
+ * one JDBC batch and commits together with the import's progress row in
+ * {@code task_imports}. Running an import again with the same id skips the
+ * records already committed.
+ *
+ * <p>Ids come from Hibernate's own {@code task_seq} generator, so they
+ * never collide with ids assigned by JPA writes. A {@code parentTaskId}
+ * refers first to a row's {@code id} within the file, then to an existing
+ * task. References to rows further down the file are fixed up once the
+ * whole file is in.
+ */
+@Service
+public class TaskImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskImportService.class);
+
+    // Only this many errors are returned with a result; all are kept in task_import_errors
+    private static final int MAX_REPORTED_ERRORS = 100;
+    private static final int MAX_ERROR_LENGTH = 1000;
+    private static final Pattern IMPORT_ID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+    // Queued by the parser after its last batch; compared by identity
+    private static final List<ImportRecord> END_OF_INPUT = new ArrayList<>();
+
+    private static final String INSERT_TASK = "INSERT INTO tasks (id, title, description, due_date, priority, " +
+        "category, status, parent_task_id, is_deleted, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int[] INSERT_TASK_TYPES = {Types.BIGINT, Types.VARCHAR, Types.CLOB, Types.DATE,
+        Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.BIGINT, Types.INTEGER, Types.TIMESTAMP, Types.TIMESTAMP};
+
+    private static final String INSERT_ID = "INSERT INTO task_import_ids (import_id, task_id, source_row, " +
+        "source_id, parent_source_id) VALUES (?, ?, ?, ?, ?)";
+    private static final int[] INSERT_ID_TYPES = {Types.VARCHAR, Types.BIGINT, Types.BIGINT, Types.BIGINT,
+        Types.BIGINT};
+
+    private static final String INSERT_ERROR = "INSERT INTO task_import_errors (import_id, source_row, message) " +
+        "VALUES (?, ?, ?)";
+    private static final int[] INSERT_ERROR_TYPES = {Types.VARCHAR, Types.BIGINT, Types.VARCHAR};
+
+    // Pending rows whose parent_source_id is the id of another row in the same file
+    private static final String PARENT_IN_FILE = "SELECT p.task_id FROM task_import_ids p " +
+        "WHERE p.import_id = c.import_id AND p.source_id = c.parent_source_id";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TaskCache taskCache;
+
+    @Autowired
+    private TaskStatistics taskStatistics;
+
+    @Autowired
+    private TaskEventBus taskEvents;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private AsyncTaskExecutor taskExecutor;
+
+    @Value("${taskmanager.import.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${taskmanager.import.queue-capacity:4}")
+    private int queueCapacity;
+
+    private final Set<String> running = ConcurrentHashMap.newKeySet();
+
+    private volatile IdentifierGenerator idGenerator;
+
+    /**
+     * Imports {@code in} under {@code importId}, or under a new id when it is
+     * null. A completed import is returned as is; an interrupted one resumes
+     * after its last committed record.
+     *
+     * @throws IllegalArgumentException if the import id is malformed
+     * @throws IllegalStateException if an import with this id is already running
+     */
+    public TaskImportResult importTasks(String importId, TaskExportFormat format, InputStream in) throws IOException {
+        String id = importId != null ? importId : UUID.randomUUID().toString();
+        if (!IMPORT_ID.matcher(id).matches()) {
+            throw new IllegalArgumentException("Import id must be 1-64 letters, digits, '.', '_' or '-'");
+        }
+        if (!running.add(id)) {
+            throw new IllegalStateException("Import " + id + " is already running");
+        }
+        try (TaskImportReader reader = new TaskImportReader(format, in, objectMapper)) {
+            TaskImportResult previous = getImport(id);
+            if (previous != null && previous.getStatus() == TaskImportResult.Status.COMPLETED) {
+                return previous;
+            }
+            long resumeAfter = previous != null ? previous.getRowsRead() : 0;
+            if (previous == null) {
+                jdbcTemplate.update("INSERT INTO task_imports (import_id, status, created_at, updated_at) " +
+                    "VALUES (?, ?, ?, ?)", id, TaskImportResult.Status.IN_PROGRESS.name(), now(), now());
+            } else {
+                setStatus(id, TaskImportResult.Status.IN_PROGRESS);
+                log.info("Resuming import {} after row {}", id, resumeAfter);
+            }
+
+            long start = System.nanoTime();
+            try {
+                run(id, reader, resumeAfter, loadTaskIds(id));
+                resolveParents(id);
+                setStatus(id, TaskImportResult.Status.COMPLETED);
+            } catch (IOException | RuntimeException e) {
+                setStatus(id, TaskImportResult.Status.FAILED);
+                throw e;
+            } finally {
+                taskCache.evictTasksAndLists(Collections.emptyList());
+                taskStatistics.reconcileSoon();
+            }
+
+            TaskImportResult result = getImport(id);
+            long millis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            log.info("Import {} completed: {} rows read, {} imported, {} failed in {} ms ({} rows/s)", id,
+                result.getRowsRead(), result.getRowsImported(), result.getRowsFailed(), millis,
+                (result.getRowsRead() - resumeAfter) * 1000 / millis);
+            return result;
+        } finally {
+            running.remove(id);
+        }
+    }
+
+    public TaskImportResult getImport(String importId) {
+        List<TaskImportResult> results = jdbcTemplate.query("SELECT status, rows_read, rows_imported, rows_failed " +
+                "FROM task_imports WHERE import_id = ?",
+            (rs, rowNum) -> new TaskImportResult(importId, TaskImportResult.Status.valueOf(rs.getString(1)),
+                rs.getLong(2), rs.getLong(3), rs.getLong(4)),
+            importId);
+        if (results.isEmpty()) {
+            return null;
+        }
+        TaskImportResult result = results.get(0);
+        jdbcTemplate.query("SELECT source_row, message FROM task_import_errors WHERE import_id = ? " +
+                "ORDER BY source_row FETCH FIRST " + MAX_REPORTED_ERRORS + " ROWS ONLY",
+            rs -> {
+                result.addError(rs.getLong(1), rs.getString(2));
+            },
+            importId);
+        return result;
+    }
+
+    private void run(String importId, TaskImportReader reader, long resumeAfter, Map<Long, Long> taskIds)
+            throws IOException {
+        BlockingQueue<List<ImportRecord>> queue = new ArrayBlockingQueue<>(queueCapacity);
+        Future<?> parser = taskExecutor.submit(() -> {
+            parse(reader, resumeAfter, queue);
+            return null;
+        });
+        try {
+            List<ImportRecord> batch;
+            while ((batch = queue.take()) != END_OF_INPUT) {
+                write(importId, batch, taskIds);
+            }
+            parser.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Import " + importId + " was interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IllegalStateException("Import " + importId + " failed while parsing", e.getCause());
+        } finally {
+            // Unblocks a parser still waiting for queue space after a write failed
+            parser.cancel(true);
+        }
+    }
+
+    private void parse(TaskImportReader reader, long resumeAfter, BlockingQueue<List<ImportRecord>> queue)
+            throws IOException, InterruptedException {
+        try {
+            List<ImportRecord> batch = new ArrayList<>(batchSize);
+            ImportRecord record;
+            while ((record = reader.next()) != null) {
+                if (record.getRow() <= resumeAfter) {
+                    continue;
+                }
+                batch.add(validate(record));
+                if (batch.size() == batchSize) {
+                    queue.put(batch);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                queue.put(batch);
+            }
+        } finally {
+            queue.put(END_OF_INPUT);
+        }
+    }
+
+    private ImportRecord validate(ImportRecord record) {
+        if (record.getError() != null) {
+            return record;
+        }
+        Set<ConstraintViolation<Task>> violations = validator.validate(record.getTask());
+        if (violations.isEmpty()) {
+            return record;
+        }
+        String message = violations.stream()
+            .map(ConstraintViolation::getMessage)
+            .sorted()
+            .collect(Collectors.joining("; "));
+        return new ImportRecord(record.getRow(), null, message);
+    }
+
+    private void write(String importId, List<ImportRecord> batch, Map<Long, Long> taskIds) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+            List<Object[]> tasks = new ArrayList<>(batch.size());
+            List<Object[]> ids = new ArrayList<>();
+            List<Object[]> errors = new ArrayList<>();
+            List<Task> imported = new ArrayList<>(batch.size());
+            Timestamp now = now();
+            for (ImportRecord record : batch) {
+                if (record.getError() != null) {
+                    errors.add(new Object[] {importId, record.getRow(), truncate(record.getError())});
+                    continue;
+                }
+                Task task = record.getTask();
+                Long sourceId = task.getId();
+                Long parentSourceId = task.getParentTaskId();
+                if (sourceId != null && taskIds.containsKey(sourceId)) {
+                    errors.add(new Object[] {importId, record.getRow(), "Duplicate id " + sourceId + " in import"});
+                    continue;
+                }
+                task.setId((Long) idGenerator().generate(session, task));
+                task.setParentTaskId(parentSourceId != null ? taskIds.get(parentSourceId) : null);
+                boolean parentPending = parentSourceId != null && task.getParentTaskId() == null;
+                if (sourceId != null) {
+                    taskIds.put(sourceId, task.getId());
+                }
+                if (sourceId != null || parentPending) {
+                    ids.add(new Object[] {importId, task.getId(), record.getRow(), sourceId,
+                        parentPending ? parentSourceId : null});
+                }
+                tasks.add(toRow(task, now));
+                imported.add(task);
+            }
+            if (!tasks.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_TASK, tasks, INSERT_TASK_TYPES);
+            }
+            if (!ids.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_ID, ids, INSERT_ID_TYPES);
+            }
+            if (!errors.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_ERROR, errors, INSERT_ERROR_TYPES);
+            }
+            jdbcTemplate.update("UPDATE task_imports SET rows_read = ?, rows_imported = rows_imported + ?, " +
+                    "rows_failed = rows_failed + ?, updated_at = ? WHERE import_id = ?",
+                batch.get(batch.size() - 1).getRow(), imported.size(), errors.size(), now, importId);
+            taskEvents.publish(TaskEvent.Type.TASK_CREATED,
+                imported.stream().map(Task::getId).collect(Collectors.toList()));
+        });
+        log.debug("Import {}: committed through row {}", importId, batch.get(batch.size() - 1).getRow());
+    }
+
+    // Fills in the fields a JDBC insert would otherwise leave NULL instead of defaulting
+    private static Object[] toRow(Task task, Timestamp now) {
+        Date createdAt = task.getCreatedAt() != null ? task.getCreatedAt() : now;
+        Date updatedAt = task.getUpdatedAt() != null ? task.getUpdatedAt() : createdAt;
+        return new Object[] {
+            task.getId(),
+            task.getTitle(),
+            task.getDescription(),
+            task.getDueDate() != null ? new java.sql.Date(task.getDueDate().getTime()) : null,
+            (task.getPriority() != null ? task.getPriority() : Task.Priority.MEDIUM).name(),
+            (task.getCategory() != null ? task.getCategory() : Task.Category.PERSONAL).name(),
+            (task.getStatus() != null ? task.getStatus() : Task.Status.PENDING).name(),
+            task.getParentTaskId(),
+            Boolean.TRUE.equals(task.getIsDeleted()) ? 1 : 0,
+            new Timestamp(createdAt.getTime()),
+            new Timestamp(updatedAt.getTime())
+        };
+    }
+
+    /**
+     * Links rows whose parent came later in the file, then rows whose parent
+     * is an existing task. Anything still unresolved stays top-level and is
+     * reported as an error.
+     */
+    private void resolveParents(String importId) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            String pending = "FROM task_import_ids c WHERE c.import_id = ? AND c.parent_source_id IS NOT NULL ";
+            jdbcTemplate.update("UPDATE tasks t SET parent_task_id = (SELECT (" + PARENT_IN_FILE + ") " + pending +
+                "AND c.task_id = t.id), version = version + 1 WHERE t.id IN (SELECT c.task_id " + pending +
+                "AND EXISTS (" + PARENT_IN_FILE + "))", importId, importId);
+            jdbcTemplate.update("UPDATE task_import_ids c SET parent_source_id = NULL WHERE c.import_id = ? AND " +
+                "c.parent_source_id IS NOT NULL AND EXISTS (" + PARENT_IN_FILE + ")", importId);
+
+            String existingParent = "AND EXISTS (SELECT 1 FROM tasks e WHERE e.id = c.parent_source_id)";
+            jdbcTemplate.update("UPDATE tasks t SET parent_task_id = (SELECT c.parent_source_id " + pending +
+                "AND c.task_id = t.id), version = version + 1 WHERE t.id IN (SELECT c.task_id " + pending +
+                existingParent + ")", importId, importId);
+            jdbcTemplate.update("UPDATE task_import_ids c SET parent_source_id = NULL WHERE c.import_id = ? AND " +
+                "c.parent_source_id IS NOT NULL " + existingParent, importId);
+
+            int unresolved = jdbcTemplate.update("INSERT INTO task_import_errors (import_id, source_row, message) " +
+                "SELECT c.import_id, c.source_row, 'Parent task ' || c.parent_source_id || " +
+                "' not found, imported as a top-level task' " + pending, importId);
+            if (unresolved > 0) {
+                jdbcTemplate.update("UPDATE task_import_ids SET parent_source_id = NULL WHERE import_id = ?",
+                    importId);
+                log.warn("Import {}: {} rows reference a parent that does not exist", importId, unresolved);
+            }
+        });
+    }
+
+    // Source ids committed by earlier runs of a resumed import
+    private Map<Long, Long> loadTaskIds(String importId) {
+        Map<Long, Long> taskIds = new HashMap<>();
+        jdbcTemplate.query("SELECT source_id, task_id FROM task_import_ids WHERE import_id = ? AND " +
+                "source_id IS NOT NULL",
+            rs -> {
+                taskIds.put(rs.getLong(1), rs.getLong(2));
+            },
+            importId);
+        return taskIds;
+    }
+
+    private void setStatus(String importId, TaskImportResult.Status status) {
+        jdbcTemplate.update("UPDATE task_imports SET status = ?, updated_at = ? WHERE import_id = ?",
+            status.name(), now(), importId);
+    }
+
+    private IdentifierGenerator idGenerator() {
+        if (idGenerator == null) {
+            idGenerator = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getIdentifierGenerator(Task.class.getName());
+        }
+        return idGenerator;
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    private static Timestamp now() {
+        return new Timestamp(System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,22 @@
+package com.taskmanager.service;
+
+import com.taskmanager.model.CursorPage;
+import com.taskmanager.model.TaskSummary;
+
+import java.util.List;
+
+/**
+ * Keyword search over task titles and descriptions. Implementations that
+ * keep their own index follow writes through {@link TaskEventBus}.
+ *
+ * <p>Selected with {@code taskmanager.search.engine}: {@code lucene}
+ * (default) or {@code jpql}.
+ */
+public interface TaskSearchEngine {
+
+    List<TaskSummary> search(String keyword);
+
+    /** The cursor is opaque and only valid for the engine that issued it. */
+    CursorPage<TaskSummary> search(String keyword, String cursor, Integer limit);
+
+}
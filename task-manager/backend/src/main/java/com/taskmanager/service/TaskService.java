@@ -1,89 +1,785 @@
 package com.taskmanager.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.taskmanager.model.BatchResult;
+import com.taskmanager.model.ChangeToken;
+import com.taskmanager.model.CursorPage;
+import com.taskmanager.model.PageCursor;
 import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskChange;
+import com.taskmanager.model.TaskChangeFeed;
+import com.taskmanager.model.TaskEvent;
+import com.taskmanager.model.TaskQuery;
+import com.taskmanager.model.TaskStats;
+import com.taskmanager.model.TaskSummary;
+import com.taskmanager.model.TaskTreeNode;
+import com.taskmanager.model.TaskValidator;
 import com.taskmanager.repository.TaskRepository;
+import com.taskmanager.repository.TaskSpecifications;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class TaskService {
 
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+    public static final int MAX_TREE_DEPTH = 10;
+    public static final int MAX_BATCH_ITEMS = 10000;
+
+    // Oracle rejects IN lists longer than 1000 expressions
+    private static final int IN_CLAUSE_LIMIT = 1000;
+    private static final long COMMIT_ALLOWANCE_MS = 5000;
+
+    // Reads and compare-and-set UPDATEs a write tries before reporting a conflict
+    private static final int UPDATE_ATTEMPTS = 3;
+
+    // Fields PATCH /tasks/{id} may change; the rest are managed by the server
+    private static final Set<String> PATCHABLE_FIELDS =
+        Set.of("title", "description", "dueDate", "priority", "category", "status");
+
     @Autowired
     private TaskRepository taskRepository;
 
-    public List<Task> getAllTasks() {
-        return taskRepository.findByParentTaskIdIsNullAndIsDeletedFalseOrderByCreatedAtDesc();
+    @Autowired
+    private TaskCache taskCache;
+
+    @Autowired
+    private TaskSearchEngine searchEngine;
+
+    @Autowired
+    private TaskStatistics taskStatistics;
+
+    @Autowired
+    private TaskStatusWriteBehind statusWriteBehind;
+
+    @Autowired
+    private TaskEventBus taskEvents;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${taskmanager.jpa.batch-size:50}")
+    private int batchSize;
+
+    // Longest a write can stay uncommitted (DatabaseConfig); the change feed's rescan window
+    @Value("${taskmanager.jpa.write-timeout-seconds:30}")
+    private int writeTimeoutSeconds;
+
+    // List reads return TaskSummary projections: no CLOB, no managed entities
+
+    @Transactional(readOnly = true)
+    public List<TaskSummary> getAllTasks() {
+        return taskCache.getTopLevelTasks(taskRepository::findTopLevelSummaries);
     }
 
     public Optional<Task> getTaskById(Long id) {
-        return taskRepository.findById(id);
+        return taskCache.getTask(id, taskRepository::findById);
     }
 
+    @Transactional
     public Task createTask(Task task) {
-        return taskRepository.save(task);
+        // Task has a @Version, so save() would merge rather than insert a task that arrives with an id
+        task.setId(null);
+        Task created = taskRepository.save(task);
+        taskCache.evict(null, created.getStatus(), created.getCategory(), created.getParentTaskId());
+        taskStatistics.record(null, TaskSummary.from(created));
+        taskEvents.publish(TaskEvent.Type.TASK_CREATED, created.getId());
+        return created;
     }
 
+    @Transactional
     public Task updateTask(Long id, Task taskDetails) {
-        Optional<Task> optionalTask = taskRepository.findById(id);
-        if (optionalTask.isPresent()) {
+        return updateTask(id, taskDetails, null);
+    }
+
+    /**
+     * Replaces the task's editable fields with one UPDATE guarded by the
+     * version that was read. If another write commits in between, the
+     * UPDATE matches no row and the task is read and written again, up to
+     * {@value #UPDATE_ATTEMPTS} times, after which
+     * {@link ObjectOptimisticLockingFailureException} is thrown. With an
+     * {@code expectedVersion} (null skips the check) a changed version is a
+     * conflict straight away: the client asked for exactly that version.
+     */
+    @Transactional
+    public Task updateTask(Long id, Task taskDetails, Long expectedVersion) {
+        String violation = validate(taskDetails);
+        if (violation != null) {
+            throw new IllegalArgumentException(violation);
+        }
+        for (int attempt = 0; attempt < UPDATE_ATTEMPTS; attempt++) {
+            Optional<Task> optionalTask = taskRepository.findById(id);
+            if (optionalTask.isEmpty()) {
+                return null;
+            }
             Task task = optionalTask.get();
-            task.setTitle(taskDetails.getTitle());
-            task.setDescription(taskDetails.getDescription());
-            task.setDueDate(taskDetails.getDueDate());
-            task.setPriority(taskDetails.getPriority());
-            task.setCategory(taskDetails.getCategory());
-            task.setStatus(taskDetails.getStatus());
-            return taskRepository.save(task);
+            if (expectedVersion != null && !expectedVersion.equals(task.getVersion())) {
+                throw new ObjectOptimisticLockingFailureException(Task.class, id);
+            }
+            Date now = new Date();
+            if (taskRepository.updateDetails(id, task.getVersion(), taskDetails.getTitle(),
+                    taskDetails.getDescription(), taskDetails.getDueDate(), taskDetails.getPriority(),
+                    taskDetails.getCategory(), taskDetails.getStatus(), now) > 0) {
+                // The UPDATE cleared the persistence context, so task is detached and can mirror the row
+                TaskSummary before = TaskSummary.from(task);
+                applyDetails(task, taskDetails);
+                task.setUpdatedAt(now);
+                task.setVersion(task.getVersion() + 1);
+                // The task leaves its old status/category lists and joins the new ones
+                taskCache.evict(id, before.getStatus(), before.getCategory(), before.getParentTaskId());
+                taskCache.evict(id, task.getStatus(), task.getCategory(), task.getParentTaskId());
+                taskStatistics.record(before, TaskSummary.from(task));
+                taskEvents.publish(TaskEvent.Type.TASK_UPDATED, id);
+                return task;
+            }
         }
-        return null;
+        throw new ObjectOptimisticLockingFailureException(Task.class, id);
     }
 
-    public boolean deleteTask(Long id) {
+    /**
+     * Applies only the fields present in {@code changes}; a JSON null clears
+     * the field. Task has {@code @DynamicUpdate}, so the UPDATE lists just the
+     * columns whose values actually changed. {@code expectedVersion} works
+     * as in {@link #updateTask(Long, Task, Long)}.
+     */
+    @Transactional
+    public Task patchTask(Long id, ObjectNode changes, Long expectedVersion) {
+        Iterator<String> fields = changes.fieldNames();
+        while (fields.hasNext()) {
+            String field = fields.next();
+            if (!PATCHABLE_FIELDS.contains(field)) {
+                throw new IllegalArgumentException("Field " + field + " cannot be changed");
+            }
+        }
         Optional<Task> optionalTask = taskRepository.findById(id);
-        if (optionalTask.isPresent()) {
-            Task task = optionalTask.get();
-            task.setIsDeleted(true);
-            taskRepository.save(task);
-            return true;
+        if (optionalTask.isEmpty()) {
+            return null;
+        }
+        Task task = optionalTask.get();
+        if (expectedVersion != null && !expectedVersion.equals(task.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Task.class, id);
+        }
+        TaskSummary before = TaskSummary.from(task);
+        try {
+            objectMapper.readerForUpdating(task).readValue(changes);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Invalid task fields", e);
+        }
+        String violation = validate(task);
+        if (violation != null) {
+            throw new IllegalArgumentException(violation);
+        }
+        taskCache.evict(id, before.getStatus(), before.getCategory(), before.getParentTaskId());
+        Task patched = taskRepository.saveAndFlush(task);
+        taskCache.evict(id, patched.getStatus(), patched.getCategory(), patched.getParentTaskId());
+        taskStatistics.record(before, TaskSummary.from(patched));
+        taskEvents.publish(TaskEvent.Type.TASK_UPDATED, id);
+        return patched;
+    }
+
+    /**
+     * Changes only the status: a summary read (no description CLOB) and one
+     * UPDATE of status, updated_at and version, guarded by the status that
+     * was read. A concurrent change in between makes it re-read and try
+     * again. Returns null for a missing or deleted task.
+     */
+    @Transactional
+    public TaskSummary updateStatus(Long id, Task.Status status) {
+        for (int attempt = 0; attempt < UPDATE_ATTEMPTS; attempt++) {
+            TaskSummary before = taskRepository.findSummaryById(id)
+                .filter(task -> !Boolean.TRUE.equals(task.getIsDeleted()))
+                .orElse(null);
+            if (before == null) {
+                return null;
+            }
+            if (before.getStatus() == status) {
+                return before;
+            }
+            if (before.getStatus() == null) {
+                // Nothing to compare against; take the entity path
+                return TaskSummary.from(patchTask(id, objectMapper.createObjectNode().put("status", status.name()),
+                    null));
+            }
+            Date now = new Date();
+            if (taskRepository.updateStatus(id, before.getStatus(), status, now) > 0) {
+                TaskSummary after = before.withStatus(status, now);
+                taskCache.evict(id, before.getStatus(), before.getCategory(), before.getParentTaskId());
+                taskCache.evict(id, status, null, before.getParentTaskId());
+                taskStatistics.record(before, after);
+                taskEvents.publish(TaskEvent.Type.TASK_UPDATED, id);
+                return after;
+            }
+        }
+        throw new ObjectOptimisticLockingFailureException(Task.class, id);
+    }
+
+    public boolean isStatusWriteBehind() {
+        return statusWriteBehind.isEnabled();
+    }
+
+    // Answered before the write; see TaskStatusWriteBehind for what that risks
+    public void queueStatusUpdate(Long id, Task.Status status) {
+        statusWriteBehind.enqueue(id, status);
+    }
+
+    private void applyDetails(Task task, Task taskDetails) {
+        task.setTitle(taskDetails.getTitle());
+        task.setDescription(taskDetails.getDescription());
+        task.setDueDate(taskDetails.getDueDate());
+        task.setPriority(taskDetails.getPriority());
+        task.setCategory(taskDetails.getCategory());
+        task.setStatus(taskDetails.getStatus());
+    }
+
+    // The set-based UPDATE does not tell us the task's status/category, so
+    // all cached lists go. Deleting a task that is already deleted succeeds
+    // without touching it.
+    @Transactional
+    public boolean deleteTask(Long id) {
+        if (taskRepository.softDeleteById(id, new Date()) == 0) {
+            return taskRepository.existsById(id);
+        }
+        taskRepository.findSummaryById(id).ifPresent(taskStatistics::recordDeleted);
+        taskCache.evictTasksAndLists(Collections.singletonList(id));
+        taskEvents.publish(TaskEvent.Type.TASK_DELETED, id);
+        return true;
+    }
+
+    // Also soft-deletes every descendant, so subtasks do not outlive their
+    // parent. Like deleteTask, an already deleted subtree succeeds untouched.
+    @Transactional
+    public boolean deleteTaskTree(Long id) {
+        List<Long> subtree = lockSubtree(id);
+        if (subtree.isEmpty()) {
+            return false;
         }
-        return false;
+        setDeletedFlag(subtree, true).forEach(taskStatistics::recordDeleted);
+        return true;
     }
 
+    // Restoring a task that is not deleted returns it unchanged
+    @Transactional
     public Task restoreTask(Long id) {
-        Optional<Task> optionalTask = taskRepository.findById(id);
-        if (optionalTask.isPresent()) {
-            Task task = optionalTask.get();
-            task.setIsDeleted(false);
-            return taskRepository.save(task);
+        if (taskRepository.restoreById(id, new Date()) == 0) {
+            return taskRepository.findById(id).orElse(null);
+        }
+        Task restored = taskRepository.findById(id).orElse(null);
+        if (restored != null) {
+            taskCache.evict(id, restored.getStatus(), restored.getCategory(), restored.getParentTaskId());
+            taskStatistics.recordRestored(TaskSummary.from(restored));
+            taskEvents.publish(TaskEvent.Type.TASK_RESTORED, id);
+        }
+        return restored;
+    }
+
+    // Restoring a subtree with nothing deleted returns its root unchanged
+    @Transactional
+    public Task restoreTaskTree(Long id) {
+        List<Long> subtree = lockSubtree(id);
+        if (subtree.isEmpty()) {
+            return null;
+        }
+        setDeletedFlag(subtree, false).forEach(taskStatistics::recordRestored);
+        return taskRepository.findById(id).orElse(null);
+    }
+
+    // Walks the subtree one level per query, locking each level's rows
+    // before reading its children. Empty when the root does not exist.
+    // The visited set stops at cycles in parent_task_id.
+    private List<Long> lockSubtree(Long id) {
+        List<Long> subtree = new ArrayList<>();
+        Set<Long> visited = new HashSet<>(Collections.singleton(id));
+        List<Long> frontier = Collections.singletonList(id);
+        while (!frontier.isEmpty()) {
+            List<Long> locked = new ArrayList<>();
+            List<Long> next = new ArrayList<>();
+            for (int from = 0; from < frontier.size(); from += IN_CLAUSE_LIMIT) {
+                List<Long> chunk = frontier.subList(from, Math.min(from + IN_CLAUSE_LIMIT, frontier.size()));
+                taskRepository.lockByIds(chunk).forEach(lockedId -> locked.add(lockedId.longValue()));
+            }
+            for (int from = 0; from < locked.size(); from += IN_CLAUSE_LIMIT) {
+                List<Long> chunk = locked.subList(from, Math.min(from + IN_CLAUSE_LIMIT, locked.size()));
+                taskRepository.findChildIds(chunk).stream().filter(visited::add).forEach(next::add);
+            }
+            subtree.addAll(locked);
+            frontier = next;
+        }
+        return subtree;
+    }
+
+    // With the subtree locked no other write can flip a flag in between, so
+    // the rows read here are exactly the ones the UPDATE changes
+    private List<TaskSummary> setDeletedFlag(List<Long> subtree, boolean deleted) {
+        Date now = new Date();
+        List<TaskSummary> changed = new ArrayList<>();
+        for (int from = 0; from < subtree.size(); from += IN_CLAUSE_LIMIT) {
+            List<Long> chunk = subtree.subList(from, Math.min(from + IN_CLAUSE_LIMIT, subtree.size()));
+            List<TaskSummary> flipped = taskRepository.findSummariesByIdsIncludingDeleted(chunk).stream()
+                .filter(task -> Boolean.TRUE.equals(task.getIsDeleted()) != deleted)
+                .collect(Collectors.toList());
+            if (flipped.isEmpty()) {
+                continue;
+            }
+            List<Long> ids = flipped.stream().map(TaskSummary::getId).collect(Collectors.toList());
+            if (deleted) {
+                taskRepository.softDeleteByIds(ids, now);
+            } else {
+                taskRepository.restoreByIds(ids, now);
+            }
+            taskCache.evictTasksAndLists(ids);
+            taskEvents.publish(deleted ? TaskEvent.Type.TASK_DELETED : TaskEvent.Type.TASK_RESTORED, ids);
+            changed.addAll(flipped);
+        }
+        return changed;
+    }
+
+    @Transactional(readOnly = true)
+    public List<TaskSummary> getTasksByStatus(Task.Status status) {
+        return taskCache.getTasksByStatus(status, () -> taskRepository.findSummariesByStatus(status));
+    }
+
+    @Transactional(readOnly = true)
+    public List<TaskSummary> getTasksByCategory(Task.Category category) {
+        return taskCache.getTasksByCategory(category, () -> taskRepository.findSummariesByCategory(category));
+    }
+
+    @Transactional(readOnly = true)
+    public List<TaskSummary> searchTasks(String keyword) {
+        return searchEngine.search(keyword);
+    }
+
+    @Transactional(readOnly = true)
+    public List<TaskSummary> getSubTasks(Long parentTaskId) {
+        return taskRepository.findSubTaskSummaries(parentTaskId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<TaskSummary> getDeletedTasks() {
+        return taskRepository.findDeletedSummaries();
+    }
+
+    @Transactional(readOnly = true)
+    public List<TaskSummary> getTasksByDateRange(Date startDate, Date endDate) {
+        return taskRepository.findSummariesByDateRange(startDate, endDate);
+    }
+
+    public TaskStats getStats() {
+        return taskStatistics.getStats();
+    }
+
+    // Validators for conditional GETs: one version lookup or COUNT/MAX
+    // aggregate, so an unchanged resource costs no row reads or JSON
+
+    @Transactional(readOnly = true)
+    public Optional<TaskValidator> getTaskValidator(Long id) {
+        return taskRepository.findValidatorById(id);
+    }
+
+    @Transactional(readOnly = true)
+    public TaskValidator getAllTasksValidator() {
+        return taskRepository.findTopLevelValidator();
+    }
+
+    @Transactional(readOnly = true)
+    public TaskValidator getTasksByStatusValidator(Task.Status status) {
+        return taskRepository.findValidatorByStatus(status);
+    }
+
+    @Transactional(readOnly = true)
+    public TaskValidator getTasksByCategoryValidator(Task.Category category) {
+        return taskRepository.findValidatorByCategory(category);
+    }
+
+    @Transactional(readOnly = true)
+    public TaskValidator getSubTasksValidator(Long parentTaskId) {
+        return taskRepository.findSubTaskValidator(parentTaskId);
+    }
+
+    @Transactional(readOnly = true)
+    public TaskValidator getDeletedTasksValidator() {
+        return taskRepository.findDeletedValidator();
+    }
+
+    // Bulk operations. Each runs in one transaction and flushes every
+    // batchSize rows, so Hibernate sends JDBC batches rather than one
+    // round trip per row. Invalid or unknown items are reported per item
+    // and skipped; a database error rolls back the whole batch.
+
+    @Transactional
+    public BatchResult createTasks(List<Task> tasks) {
+        checkBatchSize(tasks);
+        BatchResult result = new BatchResult();
+        List<Task> created = new ArrayList<>();
+        int pending = 0;
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            String violation = validate(task);
+            if (violation != null) {
+                result.addFailure(i, null, violation);
+                continue;
+            }
+            task.setId(null);
+            entityManager.persist(task);
+            created.add(task);
+            result.addSuccess(i, task.getId(), BatchResult.Outcome.CREATED);
+            if (++pending % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        taskCache.evictTasksAndLists(Collections.emptyList());
+        taskStatistics.record(Collections.emptyList(), summaries(created));
+        taskEvents.publish(TaskEvent.Type.TASK_CREATED, ids(created));
+        return result;
+    }
+
+    @Transactional
+    public BatchResult updateTasks(List<Task> updates) {
+        checkBatchSize(updates);
+        BatchResult result = new BatchResult();
+        List<Task> updated = new ArrayList<>();
+        List<TaskSummary> before = new ArrayList<>();
+        for (int from = 0; from < updates.size(); from += batchSize) {
+            List<Task> chunk = updates.subList(from, Math.min(from + batchSize, updates.size()));
+            Map<Long, Task> existing = findAllByIdAsMap(chunk.stream()
+                .map(Task::getId)
+                .collect(Collectors.toList()));
+
+            for (int offset = 0; offset < chunk.size(); offset++) {
+                int index = from + offset;
+                Task details = chunk.get(offset);
+                if (details.getId() == null) {
+                    result.addFailure(index, null, "Id is required");
+                    continue;
+                }
+                String violation = validate(details);
+                if (violation != null) {
+                    result.addFailure(index, details.getId(), violation);
+                    continue;
+                }
+                Task task = existing.get(details.getId());
+                if (task == null) {
+                    result.addFailure(index, details.getId(), "Task not found");
+                    continue;
+                }
+                before.add(TaskSummary.from(task));
+                applyDetails(task, details);
+                updated.add(task);
+                result.addSuccess(index, task.getId(), BatchResult.Outcome.UPDATED);
+            }
+            entityManager.flush();
+            entityManager.clear();
+            taskCache.evictTasksAndLists(existing.keySet());
+        }
+        taskStatistics.record(before, summaries(updated));
+        taskEvents.publish(TaskEvent.Type.TASK_UPDATED, ids(updated));
+        return result;
+    }
+
+    @Transactional
+    public BatchResult deleteTasks(List<Long> ids) {
+        checkBatchSize(ids);
+        BatchResult result = new BatchResult();
+        Date now = new Date();
+        for (int from = 0; from < ids.size(); from += IN_CLAUSE_LIMIT) {
+            List<Long> chunk = ids.subList(from, Math.min(from + IN_CLAUSE_LIMIT, ids.size()));
+            List<Long> lookup = chunk.stream().filter(Objects::nonNull).distinct().collect(Collectors.toList());
+            List<TaskSummary> found = lookup.isEmpty()
+                ? Collections.emptyList()
+                : taskRepository.findSummariesByIdsIncludingDeleted(lookup);
+            Set<Long> existing = found.stream().map(TaskSummary::getId).collect(Collectors.toSet());
+            List<TaskSummary> live = found.stream()
+                .filter(task -> !Boolean.TRUE.equals(task.getIsDeleted()))
+                .collect(Collectors.toList());
+            if (!live.isEmpty()) {
+                Set<Long> liveIds = live.stream().map(TaskSummary::getId).collect(Collectors.toSet());
+                // Fewer rows than read means a concurrent delete got some of them first
+                if (taskRepository.softDeleteByIds(liveIds, now) == live.size()) {
+                    taskStatistics.record(live, Collections.emptyList());
+                } else {
+                    taskStatistics.reconcileSoon();
+                }
+                taskCache.evictTasksAndLists(liveIds);
+                // After a short count some were the other write's; an extra event is harmless
+                taskEvents.publish(TaskEvent.Type.TASK_DELETED, liveIds);
+            }
+
+            for (int offset = 0; offset < chunk.size(); offset++) {
+                Long id = chunk.get(offset);
+                if (id == null || !existing.contains(id)) {
+                    result.addFailure(from + offset, id, "Task not found");
+                    continue;
+                }
+                result.addSuccess(from + offset, id, BatchResult.Outcome.DELETED);
+            }
+        }
+        return result;
+    }
+
+    private static List<TaskSummary> summaries(List<Task> tasks) {
+        return tasks.stream().map(TaskSummary::from).collect(Collectors.toList());
+    }
+
+    private static List<Long> ids(List<Task> tasks) {
+        return tasks.stream().map(Task::getId).collect(Collectors.toList());
+    }
+
+    private void checkBatchSize(List<?> items) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("Batch must not be empty");
+        }
+        if (items.size() > MAX_BATCH_ITEMS) {
+            throw new IllegalArgumentException("Batch must not exceed " + MAX_BATCH_ITEMS + " items");
+        }
+    }
+
+    private String validate(Task task) {
+        if (task == null) {
+            return "Task is required";
+        }
+        Set<ConstraintViolation<Task>> violations = validator.validate(task);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+            .map(ConstraintViolation::getMessage)
+            .sorted()
+            .collect(Collectors.joining("; "));
+    }
+
+    private Map<Long, Task> findAllByIdAsMap(List<Long> ids) {
+        Map<Long, Task> tasks = new HashMap<>();
+        List<Long> lookup = ids.stream().filter(Objects::nonNull).distinct().collect(Collectors.toList());
+        if (lookup.isEmpty()) {
+            return tasks;
+        }
+        for (Task task : taskRepository.findAllById(lookup)) {
+            tasks.put(task.getId(), task);
         }
-        return null;
+        return tasks;
     }
 
-    public List<Task> getTasksByStatus(Task.Status status) {
-        return taskRepository.findByStatusAndIsDeletedFalse(status);
+    /**
+     * Writes every task, soft-deleted ones included, to {@code out} in the
+     * given format and returns the row count. Rows come from a forward-only
+     * cursor. Each one is detached once written, so neither the persistence
+     * context nor the heap grows with the table.
+     */
+    @Transactional(readOnly = true)
+    public long exportTasks(TaskExportFormat format, OutputStream out) throws IOException {
+        TaskExportWriter writer = new TaskExportWriter(format, out, objectMapper);
+        writer.writeHeader();
+        long count = 0;
+        try (Stream<Task> tasks = taskRepository.streamAll()) {
+            Iterator<Task> iterator = tasks.iterator();
+            while (iterator.hasNext()) {
+                Task task = iterator.next();
+                writer.write(task);
+                entityManager.detach(task);
+                count++;
+            }
+        }
+        writer.flush();
+        return count;
     }
 
-    public List<Task> getTasksByCategory(Task.Category category) {
-        return taskRepository.findByCategoryAndIsDeletedFalse(category);
+    /**
+     * Returns the tasks created, updated, soft-deleted or restored since
+     * {@code since}, oldest change first; no token starts from the
+     * beginning. Rows written by transactions that were still open during
+     * the previous read are caught by re-reading every row the database
+     * stamped within {@code taskmanager.jpa.write-timeout-seconds} (plus a
+     * commit allowance) before it, so the same change can be returned
+     * twice. Writes that bypass the application's transactions (manual SQL)
+     * are only covered while they stay within that timeout.
+     */
+    @Transactional(readOnly = true)
+    public TaskChangeFeed getChanges(String since, Integer limit) {
+        ChangeToken from = since == null || since.isBlank() ? ChangeToken.INITIAL : ChangeToken.decode(since);
+        Date startedAt = from.getReadStartedAt() != null ? from.getReadStartedAt() : taskRepository.findChangeClock();
+        int size = KeysetPages.pageSize(limit);
+        Pageable pageable = PageRequest.of(0, size + 1);
+        List<TaskChange> rows = from.getRescanFrom() == null
+            ? taskRepository.findChangesAfter(from.getPosition(), pageable)
+            : taskRepository.findChangesAfter(from.getPosition(), from.getVersion(), from.getRescanFrom(), pageable);
+
+        if (rows.size() > size) {
+            List<TaskChange> changes = new ArrayList<>(rows.subList(0, size));
+            long position = changes.get(size - 1).getChangeVersion();
+            ChangeToken next = new ChangeToken(from.getVersion(), from.getRescanFrom(), position, startedAt);
+            return new TaskChangeFeed(changes, next.encode(), true);
+        }
+        // Rows come in version order, so the last one holds the highest version read
+        long version = rows.isEmpty() ? from.getVersion()
+            : Math.max(from.getVersion(), rows.get(rows.size() - 1).getChangeVersion());
+        ChangeToken next = new ChangeToken(version, new Date(startedAt.getTime() - rescanWindowMs()), 0, null);
+        return new TaskChangeFeed(rows, next.encode(), false);
     }
 
-    public List<Task> searchTasks(String keyword) {
-        return taskRepository.searchTasks(keyword);
+    /** A token that skips the existing rows: the feed resumes with the next change. */
+    @Transactional(readOnly = true)
+    public String getLatestChangeToken() {
+        Long version = taskRepository.findMaxChangeVersion();
+        Date rescanFrom = new Date(taskRepository.findChangeClock().getTime() - rescanWindowMs());
+        return new ChangeToken(version != null ? version : 0, rescanFrom, 0, null).encode();
     }
 
-    public List<Task> getSubTasks(Long parentTaskId) {
-        return taskRepository.findByParentTaskIdAndIsDeletedFalse(parentTaskId);
+    // The write timeout plus time for the commit itself
+    private long rescanWindowMs() {
+        return writeTimeoutSeconds * 1000L + COMMIT_ALLOWANCE_MS;
     }
 
-    public List<Task> getDeletedTasks() {
-        return taskRepository.findByIsDeletedTrueOrderByUpdatedAtDesc();
+    // Keyset-paginated variants of the list methods above
+
+    @Transactional(readOnly = true)
+    public CursorPage<TaskSummary> getAllTasksPage(String cursor, Integer limit) {
+        int size = KeysetPages.pageSize(limit);
+        Pageable pageable = PageRequest.of(0, size + 1);
+        PageCursor after = KeysetPages.decodeCursor(cursor);
+        List<TaskSummary> rows = after == null
+            ? taskRepository.findTopLevelSummariesFirstPage(pageable)
+            : taskRepository.findTopLevelSummariesAfter(after.getTimestamp(), after.getId(), pageable);
+        return KeysetPages.toPage(rows, size, TaskSummary::getCreatedAt);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<TaskSummary> getTasksByStatusPage(Task.Status status, String cursor, Integer limit) {
+        int size = KeysetPages.pageSize(limit);
+        Pageable pageable = PageRequest.of(0, size + 1);
+        PageCursor after = KeysetPages.decodeCursor(cursor);
+        List<TaskSummary> rows = after == null
+            ? taskRepository.findSummariesByStatusFirstPage(status, pageable)
+            : taskRepository.findSummariesByStatusAfter(status, after.getTimestamp(), after.getId(), pageable);
+        return KeysetPages.toPage(rows, size, TaskSummary::getCreatedAt);
     }
 
-    public List<Task> getTasksByDateRange(Date startDate, Date endDate) {
-        return taskRepository.findTasksByDateRange(startDate, endDate);
+    @Transactional(readOnly = true)
+    public CursorPage<TaskSummary> getTasksByCategoryPage(Task.Category category, String cursor, Integer limit) {
+        int size = KeysetPages.pageSize(limit);
+        Pageable pageable = PageRequest.of(0, size + 1);
+        PageCursor after = KeysetPages.decodeCursor(cursor);
+        List<TaskSummary> rows = after == null
+            ? taskRepository.findSummariesByCategoryFirstPage(category, pageable)
+            : taskRepository.findSummariesByCategoryAfter(category, after.getTimestamp(), after.getId(), pageable);
+        return KeysetPages.toPage(rows, size, TaskSummary::getCreatedAt);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<TaskSummary> searchTasksPage(String keyword, String cursor, Integer limit) {
+        return searchEngine.search(keyword, cursor, limit);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<TaskSummary> getDeletedTasksPage(String cursor, Integer limit) {
+        int size = KeysetPages.pageSize(limit);
+        Pageable pageable = PageRequest.of(0, size + 1);
+        PageCursor after = KeysetPages.decodeCursor(cursor);
+        List<TaskSummary> rows = after == null
+            ? taskRepository.findDeletedSummariesFirstPage(pageable)
+            : taskRepository.findDeletedSummariesAfter(after.getTimestamp(), after.getId(), pageable);
+        return KeysetPages.toPage(rows, size, TaskSummary::getUpdatedAt);
+    }
+
+    /**
+     * Returns one keyset page of non-deleted tasks matching every filter set
+     * on {@code query}, in its sort order. The filters and the seek past
+     * {@code cursor} are combined into a single SELECT; see
+     * {@link TaskSpecifications}.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<TaskSummary> queryTasks(TaskQuery query, String cursor, Integer limit) {
+        int size = KeysetPages.pageSize(limit);
+        PageCursor after = KeysetPages.decodeCursor(cursor);
+        TaskQuery.Sort sort = query.getSort();
+        Specification<Task> spec = TaskSpecifications.matching(query);
+        if (after != null) {
+            spec = spec.and(TaskSpecifications.after(sort, after));
+        }
+        List<TaskSummary> rows = taskRepository.findSummaries(spec, sort, size + 1);
+        return KeysetPages.toPage(rows, size, sort::keyOf);
+    }
+
+    /**
+     * Returns a page of top-level tasks with up to {@code depth} levels of
+     * non-deleted descendants. Each level is fetched with a single
+     * {@code parent_task_id IN (...)} query, so a page costs depth + 1
+     * queries no matter how many tasks it holds.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<TaskTreeNode> getTaskTreePage(String cursor, Integer limit, Integer depth) {
+        CursorPage<TaskSummary> roots = getAllTasksPage(cursor, limit);
+        int levels = depth == null ? 1 : Math.max(1, Math.min(depth, MAX_TREE_DEPTH));
+
+        Map<Long, List<TaskSummary>> childrenByParent = new HashMap<>();
+        List<Long> frontier = roots.getItems().stream().map(TaskSummary::getId).collect(Collectors.toList());
+        for (int level = 0; level < levels && !frontier.isEmpty(); level++) {
+            List<Long> next = new ArrayList<>();
+            for (TaskSummary child : findChildren(frontier)) {
+                childrenByParent.computeIfAbsent(child.getParentTaskId(), key -> new ArrayList<>()).add(child);
+                next.add(child.getId());
+            }
+            frontier = next;
+        }
+
+        List<TaskTreeNode> nodes = roots.getItems().stream()
+            .map(root -> toTreeNode(root, childrenByParent, levels))
+            .collect(Collectors.toList());
+        return new CursorPage<>(nodes, roots.getNextCursor());
+    }
+
+    private List<TaskSummary> findChildren(List<Long> parentIds) {
+        List<TaskSummary> children = new ArrayList<>();
+        for (int from = 0; from < parentIds.size(); from += IN_CLAUSE_LIMIT) {
+            List<Long> chunk = parentIds.subList(from, Math.min(from + IN_CLAUSE_LIMIT, parentIds.size()));
+            children.addAll(taskRepository.findSubTaskSummariesByParentIds(chunk));
+        }
+        return children;
+    }
+
+    // remainingDepth also guards against cycles in parent_task_id
+    private TaskTreeNode toTreeNode(TaskSummary task, Map<Long, List<TaskSummary>> childrenByParent,
+                                    int remainingDepth) {
+        if (remainingDepth == 0) {
+            return new TaskTreeNode(task, Collections.emptyList());
+        }
+        List<TaskTreeNode> subTasks = childrenByParent.getOrDefault(task.getId(), Collections.emptyList()).stream()
+            .map(child -> toTreeNode(child, childrenByParent, remainingDepth - 1))
+            .collect(Collectors.toList());
+        return new TaskTreeNode(task, subTasks);
     }
-}
\ No newline at end of file
+}
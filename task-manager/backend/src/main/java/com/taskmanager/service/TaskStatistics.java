@@ -0,0 +1,214 @@
+package com.taskmanager.service;
+
+import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskStats;
+import com.taskmanager.model.TaskSummary;
+import com.taskmanager.repository.TaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory counts behind {@code GET /tasks/stats}. TaskService reports
+ * the before and after state of every row it writes once the write has
+ * committed, so a read only sums a few dozen {@link LongAdder}s and never
+ * touches the database.
+ *
+ * <p>Every {@code taskmanager.stats.reconcile-interval-ms} the counts are
+ * rebuilt from two GROUP BY queries. That corrects writes this instance
+ * did not see (other instances, subtree deletes and restores, imports,
+ * manual SQL), which also request an early rebuild where they can. A write
+ * that commits while a rebuild is reading may be off by one until the
+ * next rebuild.
+ */
+@Service
+public class TaskStatistics {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskStatistics.class);
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Value("${taskmanager.stats.reconcile-interval-ms:300000}")
+    private long reconcileIntervalMs;
+
+    private volatile Counters counters = new Counters();
+    private volatile Date reconciledAt;
+    private final AtomicBoolean reconcileQueued = new AtomicBoolean();
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-stats-reconcile");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::reconcileSafely, 0, reconcileIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        scheduler.shutdownNow();
+    }
+
+    public TaskStats getStats() {
+        Counters current = counters;
+        LocalDate today = LocalDate.now();
+        long overdue = 0;
+        for (LongAdder count : current.openByDueDate.headMap(today).values()) {
+            overdue += count.sum();
+        }
+        return new TaskStats(current.total.sum(), sums(current.byStatus), sums(current.byCategory),
+            sums(current.byPriority), overdue, reconciledAt);
+    }
+
+    /**
+     * Moves one task from its {@code before} to its {@code after} state once
+     * the surrounding transaction commits. Either side may be null (created
+     * or not found); deleted tasks are not counted.
+     */
+    void record(TaskSummary before, TaskSummary after) {
+        if (isLive(before) || isLive(after)) {
+            AfterCommit.run(() -> {
+                Counters current = counters;
+                addIfLive(current, before, -1);
+                addIfLive(current, after, 1);
+            });
+        }
+    }
+
+    void record(List<TaskSummary> before, List<TaskSummary> after) {
+        AfterCommit.run(() -> {
+            Counters current = counters;
+            before.forEach(task -> addIfLive(current, task, -1));
+            after.forEach(task -> addIfLive(current, task, 1));
+        });
+    }
+
+    // For rows whose is_deleted flag this transaction has just flipped
+    void recordDeleted(TaskSummary task) {
+        AfterCommit.run(() -> counters.add(task, -1));
+    }
+
+    void recordRestored(TaskSummary task) {
+        AfterCommit.run(() -> counters.add(task, 1));
+    }
+
+    // For set-based writes whose rows are not known here; runs after commit
+    void reconcileSoon() {
+        AfterCommit.run(() -> {
+            if (reconcileQueued.compareAndSet(false, true)) {
+                scheduler.execute(() -> {
+                    reconcileQueued.set(false);
+                    reconcileSafely();
+                });
+            }
+        });
+    }
+
+    /** Rebuilds every count from the database and swaps it in. */
+    public void reconcile() {
+        Date started = new Date();
+        Counters rebuilt = new Counters();
+        for (Object[] row : taskRepository.countLiveByStatusCategoryPriority()) {
+            long count = ((Number) row[3]).longValue();
+            rebuilt.total.add(count);
+            addTo(rebuilt.byStatus, (Task.Status) row[0], count);
+            addTo(rebuilt.byCategory, (Task.Category) row[1], count);
+            addTo(rebuilt.byPriority, (Task.Priority) row[2], count);
+        }
+        for (Object[] row : taskRepository.countOpenByDueDate(Task.Status.COMPLETED)) {
+            rebuilt.openByDueDate.computeIfAbsent(toLocalDate((Date) row[0]), date -> new LongAdder())
+                .add(((Number) row[1]).longValue());
+        }
+        counters = rebuilt;
+        reconciledAt = started;
+    }
+
+    private void reconcileSafely() {
+        try {
+            reconcile();
+        } catch (RuntimeException e) {
+            log.warn("Task statistics reconciliation failed, retrying in {} ms", reconcileIntervalMs, e);
+        }
+    }
+
+    private static boolean isLive(TaskSummary task) {
+        return task != null && !Boolean.TRUE.equals(task.getIsDeleted());
+    }
+
+    private static void addIfLive(Counters counters, TaskSummary task, int delta) {
+        if (isLive(task)) {
+            counters.add(task, delta);
+        }
+    }
+
+    private static <K extends Enum<K>> void addTo(Map<K, LongAdder> counts, K key, long delta) {
+        if (key != null) {
+            counts.get(key).add(delta);
+        }
+    }
+
+    private static <K extends Enum<K>> Map<K, Long> sums(Map<K, LongAdder> counts) {
+        Map<K, Long> sums = new EnumMap<>(counts.keySet().iterator().next().getDeclaringClass());
+        counts.forEach((key, count) -> sums.put(key, count.sum()));
+        return sums;
+    }
+
+    // java.sql.Date does not support toInstant()
+    private static LocalDate toLocalDate(Date date) {
+        return Instant.ofEpochMilli(date.getTime()).atZone(ZoneId.systemDefault()).toLocalDate();
+    }
+
+    /**
+     * One generation of counts. The enum maps are filled up front and never
+     * change shape, so concurrent writers only ever touch LongAdders.
+     */
+    private static final class Counters {
+
+        private final LongAdder total = new LongAdder();
+        private final Map<Task.Status, LongAdder> byStatus = adders(Task.Status.class);
+        private final Map<Task.Category, LongAdder> byCategory = adders(Task.Category.class);
+        private final Map<Task.Priority, LongAdder> byPriority = adders(Task.Priority.class);
+        // Tasks that are not completed, by due date; overdue is the head before today
+        private final ConcurrentNavigableMap<LocalDate, LongAdder> openByDueDate = new ConcurrentSkipListMap<>();
+
+        void add(TaskSummary task, int delta) {
+            total.add(delta);
+            addTo(byStatus, task.getStatus(), delta);
+            addTo(byCategory, task.getCategory(), delta);
+            addTo(byPriority, task.getPriority(), delta);
+            if (task.getDueDate() != null && task.getStatus() != Task.Status.COMPLETED) {
+                openByDueDate.computeIfAbsent(toLocalDate(task.getDueDate()), date -> new LongAdder()).add(delta);
+            }
+        }
+
+        private static <K extends Enum<K>> Map<K, LongAdder> adders(Class<K> type) {
+            Map<K, LongAdder> adders = new EnumMap<>(type);
+            for (K key : type.getEnumConstants()) {
+                adders.put(key, new LongAdder());
+            }
+            return adders;
+        }
+    }
+}
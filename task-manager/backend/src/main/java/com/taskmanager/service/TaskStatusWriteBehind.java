@@ -0,0 +1,196 @@
+package com.taskmanager.service;
+
+import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskEvent;
+import com.taskmanager.model.TaskSummary;
+import com.taskmanager.repository.TaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityManagerFactory;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Optional write-behind for {@code PATCH /tasks/{id}/status}
+ * ({@code taskmanager.write-behind.enabled}). Requests only record the
+ * latest status per task and answer 202; every
+ * {@code taskmanager.write-behind.window-ms} the queued changes are written
+ * as one JDBC batch, so a task toggled ten times in a window costs one
+ * UPDATE.
+ *
+ * <p>Durability: a queued change is acknowledged before it is written.
+ * If the process dies, changes from the last window are lost; a clean
+ * shutdown flushes them, and a failed flush puts them back for the next
+ * try. Reads do not see a queued change until it is flushed. At most
+ * {@code taskmanager.write-behind.max-pending} tasks are queued; a
+ * request that finds the queue full flushes it before returning.
+ */
+@Service
+public class TaskStatusWriteBehind {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskStatusWriteBehind.class);
+
+    // Same compare-and-set as TaskRepository.updateStatus
+    private static final String UPDATE_STATUS = "UPDATE tasks SET status = ?, updated_at = ?, version = version + 1 " +
+        "WHERE id = ? AND status = ? AND is_deleted = 0";
+
+    // Oracle rejects IN lists longer than 1000 expressions
+    private static final int IN_CLAUSE_LIMIT = 1000;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TaskCache taskCache;
+
+    @Autowired
+    private TaskStatistics taskStatistics;
+
+    @Autowired
+    private TaskEventBus taskEvents;
+
+    @Value("${taskmanager.write-behind.enabled:false}")
+    private boolean enabled;
+
+    @Value("${taskmanager.write-behind.window-ms:250}")
+    private long windowMs;
+
+    @Value("${taskmanager.write-behind.max-pending:10000}")
+    private int maxPending;
+
+    private final Map<Long, Task.Status> pending = new ConcurrentHashMap<>();
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-status-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::flushSafely, windowMs, windowMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            flushSafely();
+        }
+    }
+
+    public boolean isEnabled() { return enabled; }
+
+    /** Queues {@code status} for the task, replacing any status still queued for it. */
+    public void enqueue(Long id, Task.Status status) {
+        pending.put(id, status);
+        if (pending.size() >= maxPending) {
+            flush();
+        }
+    }
+
+    /**
+     * Writes everything queued so far. Tasks that are missing or deleted
+     * by then are skipped, as are tasks whose status another write changed
+     * after it was read here: that write is the newer one.
+     */
+    public synchronized void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        Map<Long, Task.Status> batch = new HashMap<>();
+        for (Long id : pending.keySet()) {
+            Task.Status status = pending.remove(id);
+            if (status != null) {
+                batch.put(id, status);
+            }
+        }
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(tx -> write(batch));
+        } catch (RuntimeException e) {
+            // Newer changes queued meanwhile win over the ones being put back
+            batch.forEach(pending::putIfAbsent);
+            throw e;
+        }
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Status write-behind flush failed; {} changes stay queued", pending.size(), e);
+        }
+    }
+
+    private void write(Map<Long, Task.Status> batch) {
+        List<Long> ids = new ArrayList<>(batch.keySet());
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        for (int from = 0; from < ids.size(); from += IN_CLAUSE_LIMIT) {
+            List<TaskSummary> changed = new ArrayList<>();
+            List<Object[]> args = new ArrayList<>();
+            for (TaskSummary task : taskRepository.findSummariesByIds(ids.subList(from,
+                    Math.min(from + IN_CLAUSE_LIMIT, ids.size())))) {
+                Task.Status status = batch.get(task.getId());
+                if (task.getStatus() != null && task.getStatus() != status) {
+                    changed.add(task);
+                    args.add(new Object[] {status.name(), now, task.getId(), task.getStatus().name()});
+                }
+            }
+            if (!args.isEmpty()) {
+                applied(changed, jdbcTemplate.batchUpdate(UPDATE_STATUS, args), batch, now);
+            }
+        }
+    }
+
+    private void applied(List<TaskSummary> changed, int[] counts, Map<Long, Task.Status> batch, Date now) {
+        List<Long> updated = new ArrayList<>();
+        for (int i = 0; i < changed.size(); i++) {
+            TaskSummary before = changed.get(i);
+            // Hibernate's second-level cache does not see JDBC writes
+            entityManagerFactory.getCache().evict(Task.class, before.getId());
+            taskCache.evict(before.getId(), before.getStatus(), before.getCategory(), before.getParentTaskId());
+            if (counts[i] == Statement.SUCCESS_NO_INFO) {
+                // The driver did not say which rows changed; recount from the table
+                taskCache.evict(null, batch.get(before.getId()), null, before.getParentTaskId());
+                taskStatistics.reconcileSoon();
+                updated.add(before.getId());
+            } else if (counts[i] > 0) {
+                Task.Status status = batch.get(before.getId());
+                taskCache.evict(null, status, null, before.getParentTaskId());
+                taskStatistics.record(before, before.withStatus(status, now));
+                updated.add(before.getId());
+            }
+        }
+        taskEvents.publish(TaskEvent.Type.TASK_UPDATED, updated);
+    }
+}
@@ -0,0 +1,3 @@
+-- Same as db/migration/oracle/V10.
+
+ALTER TABLE task_events ADD attempts NUMBER(10) DEFAULT 0 NOT NULL;
@@ -0,0 +1,14 @@
+-- Same composite indexes as db/migration/oracle/V3. H2 has no
+-- function-based indexes, so idx_tasks_trash is Oracle-only.
+
+UPDATE tasks SET is_deleted = 0 WHERE is_deleted IS NULL;
+ALTER TABLE tasks ALTER COLUMN is_deleted SET NOT NULL;
+
+CREATE INDEX idx_tasks_live_parent ON tasks (is_deleted, parent_task_id, created_at DESC, id DESC);
+CREATE INDEX idx_tasks_live_status ON tasks (is_deleted, status, created_at DESC, id DESC);
+CREATE INDEX idx_tasks_live_category ON tasks (is_deleted, category, created_at DESC, id DESC);
+CREATE INDEX idx_tasks_live_due_date ON tasks (is_deleted, due_date);
+
+DROP INDEX idx_tasks_status;
+DROP INDEX idx_tasks_category;
+DROP INDEX idx_tasks_due_date;
@@ -0,0 +1,35 @@
+-- Same as db/migration/oracle/V4.
+
+-- Checkpoints for resumable bulk imports (TaskImportService). Each batch of
+-- imported tasks commits together with its progress, id mappings and
+-- errors, so a restarted import resumes right after the last commit.
+
+CREATE TABLE task_imports (
+    import_id VARCHAR2(64) PRIMARY KEY,
+    status VARCHAR2(20) NOT NULL,
+    rows_read NUMBER(19) DEFAULT 0 NOT NULL,
+    rows_imported NUMBER(19) DEFAULT 0 NOT NULL,
+    rows_failed NUMBER(19) DEFAULT 0 NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- The id a row had in the import file, mapped to the task it created.
+-- parent_source_id is set while the row's parent is still unresolved.
+CREATE TABLE task_import_ids (
+    import_id VARCHAR2(64) NOT NULL,
+    task_id NUMBER(10) NOT NULL,
+    source_row NUMBER(19) NOT NULL,
+    source_id NUMBER(19),
+    parent_source_id NUMBER(19),
+    CONSTRAINT pk_task_import_ids PRIMARY KEY (import_id, task_id)
+);
+
+CREATE INDEX idx_task_import_ids_source ON task_import_ids (import_id, source_id);
+
+CREATE TABLE task_import_errors (
+    import_id VARCHAR2(64) NOT NULL,
+    source_row NUMBER(19) NOT NULL,
+    message VARCHAR2(1000),
+    CONSTRAINT pk_task_import_errors PRIMARY KEY (import_id, source_row)
+);
@@ -0,0 +1,11 @@
+-- Same as db/migration/oracle/V5, with the trigger replaced by a column
+-- default and H2's ON UPDATE clause.
+
+CREATE SEQUENCE task_change_seq START WITH 1 INCREMENT BY 1;
+
+ALTER TABLE tasks ADD change_version NUMBER(19)
+    DEFAULT NEXT VALUE FOR task_change_seq
+    ON UPDATE NEXT VALUE FOR task_change_seq NOT NULL;
+
+CREATE INDEX idx_tasks_change_version ON tasks (change_version);
+CREATE INDEX idx_tasks_updated_at ON tasks (updated_at);
@@ -0,0 +1,3 @@
+-- Same as db/migration/oracle/V6.
+
+ALTER TABLE tasks ADD version NUMBER(19) DEFAULT 0 NOT NULL;
@@ -0,0 +1,3 @@
+-- Same as db/migration/oracle/V7.
+
+CREATE INDEX idx_tasks_live_priority ON tasks (is_deleted, priority, created_at DESC, id DESC);
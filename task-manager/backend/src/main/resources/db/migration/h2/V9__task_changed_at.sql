@@ -0,0 +1,9 @@
+-- Same as db/migration/oracle/V9, with the trigger replaced by a column
+-- default and H2's ON UPDATE clause.
+
+ALTER TABLE tasks ADD changed_at TIMESTAMP
+    DEFAULT CAST(SYSTIMESTAMP AT TIME ZONE 'UTC' AS TIMESTAMP)
+    ON UPDATE CAST(SYSTIMESTAMP AT TIME ZONE 'UTC' AS TIMESTAMP) NOT NULL;
+
+DROP INDEX idx_tasks_updated_at;
+CREATE INDEX idx_tasks_changed_at ON tasks (changed_at);
@@ -0,0 +1,5 @@
+-- Counts failed deliveries of an outbox row (TaskEventBus). Once a row
+-- has failed taskmanager.events.max-attempts times it is logged as a dead
+-- letter and deleted instead of being delivered again.
+
+ALTER TABLE task_events ADD attempts NUMBER(10) DEFAULT 0 NOT NULL;
@@ -0,0 +1,32 @@
+-- Original tasks schema. Databases created from database/schema.sql before
+-- Flyway was introduced are baselined at this version.
+
+CREATE TABLE tasks (
+    id NUMBER(10) PRIMARY KEY,
+    title VARCHAR2(200) NOT NULL,
+    description CLOB,
+    due_date DATE,
+    priority VARCHAR2(20) DEFAULT 'MEDIUM',
+    category VARCHAR2(50) DEFAULT 'PERSONAL',
+    status VARCHAR2(20) DEFAULT 'PENDING',
+    parent_task_id NUMBER(10),
+    is_deleted NUMBER(1) DEFAULT 0,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_parent_task FOREIGN KEY (parent_task_id) REFERENCES tasks(id)
+);
+
+CREATE SEQUENCE task_seq START WITH 1 INCREMENT BY 1;
+
+CREATE OR REPLACE TRIGGER task_id_trigger
+    BEFORE INSERT ON tasks
+    FOR EACH ROW
+BEGIN
+    :NEW.id := task_seq.NEXTVAL;
+END;
+/
+
+CREATE INDEX idx_tasks_status ON tasks(status);
+CREATE INDEX idx_tasks_category ON tasks(category);
+CREATE INDEX idx_tasks_due_date ON tasks(due_date);
+CREATE INDEX idx_tasks_parent ON tasks(parent_task_id);
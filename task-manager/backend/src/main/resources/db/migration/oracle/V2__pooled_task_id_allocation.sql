@@ -0,0 +1,21 @@
+-- Switch task ids to pooled allocation (Task.id allocationSize = 50).
+-- Applied by Flyway after V1; safe to re-run on databases that already had it applied by hand.
+
+-- Hibernate now reserves a block of 50 ids per NEXTVAL
+ALTER SEQUENCE task_seq INCREMENT BY 50;
+
+-- The old trigger overwrote every id, including the ones Hibernate had
+-- already assigned, which ruled out JDBC insert batching. Keep it only as
+-- a fallback for inserts that do not supply an id. Raw NEXTVAL callers
+-- never collide with Hibernate's blocks: each block is anchored on a
+-- sequence value Hibernate fetched itself.
+CREATE OR REPLACE TRIGGER task_id_trigger
+    BEFORE INSERT ON tasks
+    FOR EACH ROW
+    WHEN (NEW.id IS NULL)
+BEGIN
+    :NEW.id := task_seq.NEXTVAL;
+END;
+/
+
+COMMIT;
@@ -0,0 +1,38 @@
+-- Composite indexes matching the TaskRepository access paths. Every list
+-- query filters on is_deleted plus at most one other column and reads in
+-- (created_at DESC, id DESC) order, so these indexes serve both the filter
+-- and the ORDER BY. Keyset pages stop after limit + 1 index entries
+-- instead of sorting the whole match set.
+
+-- Every index below leads with is_deleted, which V1 left nullable. Make it
+-- NOT NULL so the filter is always = 0 / = 1 and no row drops out of them.
+UPDATE tasks SET is_deleted = 0 WHERE is_deleted IS NULL;
+ALTER TABLE tasks MODIFY (is_deleted NOT NULL);
+
+-- Top-level tasks (parent_task_id IS NULL) and subtasks by parent.
+-- Rows with a NULL parent are still stored because is_deleted is not NULL.
+CREATE INDEX idx_tasks_live_parent ON tasks (is_deleted, parent_task_id, created_at DESC, id DESC);
+
+CREATE INDEX idx_tasks_live_status ON tasks (is_deleted, status, created_at DESC, id DESC);
+
+CREATE INDEX idx_tasks_live_category ON tasks (is_deleted, category, created_at DESC, id DESC);
+
+-- findTasksByDateRange / findSummariesByDateRange
+CREATE INDEX idx_tasks_live_due_date ON tasks (is_deleted, due_date);
+
+-- Trash listing. The keys are NULL for live rows and Oracle does not store
+-- all-NULL keys, so the index holds only soft-deleted tasks. The keys must
+-- stay ascending: a DESC key is stored as SYS_OP_DESCEND(expr), which is
+-- never NULL, so every row would be indexed. The deleted queries in
+-- TaskRepository order by these same CASE expressions, DESC, which Oracle
+-- reads by scanning the index backwards; change both together.
+CREATE INDEX idx_tasks_trash ON tasks (
+    CASE WHEN is_deleted = 1 THEN updated_at END,
+    CASE WHEN is_deleted = 1 THEN id END
+);
+
+-- Superseded by the composite indexes above. idx_tasks_parent stays: it
+-- covers the fk_parent_task lookups made when a parent row is deleted.
+DROP INDEX idx_tasks_status;
+DROP INDEX idx_tasks_category;
+DROP INDEX idx_tasks_due_date;
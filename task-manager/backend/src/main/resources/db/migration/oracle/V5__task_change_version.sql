@@ -0,0 +1,28 @@
+-- Change feed support (GET /tasks/changes). Every insert or update of a
+-- task, whichever path it comes from (JPA, bulk JPQL, native subtree
+-- updates, imports, manual SQL), stamps the row with the next value of
+-- task_change_seq, so clients can ask for what changed since a version.
+
+-- ORDER keeps values monotonic across RAC instances
+CREATE SEQUENCE task_change_seq START WITH 1 INCREMENT BY 1 CACHE 100 ORDER;
+
+ALTER TABLE tasks ADD change_version NUMBER(19);
+
+UPDATE tasks SET change_version = task_change_seq.NEXTVAL;
+
+ALTER TABLE tasks MODIFY change_version NOT NULL;
+
+CREATE OR REPLACE TRIGGER task_change_version_trigger
+    BEFORE INSERT OR UPDATE ON tasks
+    FOR EACH ROW
+BEGIN
+    :NEW.change_version := task_change_seq.NEXTVAL;
+END;
+/
+
+-- Delta reads seek on change_version; the re-read of recently committed
+-- rows seeks on updated_at
+CREATE INDEX idx_tasks_change_version ON tasks (change_version);
+CREATE INDEX idx_tasks_updated_at ON tasks (updated_at);
+
+COMMIT;
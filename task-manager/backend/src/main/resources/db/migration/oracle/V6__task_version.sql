@@ -0,0 +1,7 @@
+-- Optimistic locking for Task (JPA @Version). The version is also the
+-- ETag of GET /tasks/{id}, so every write path bumps it, set-based
+-- UPDATEs included. Existing rows start at 0.
+
+ALTER TABLE tasks ADD version NUMBER(19) DEFAULT 0 NOT NULL;
+
+COMMIT;
@@ -0,0 +1,7 @@
+-- GET /tasks/query combines the filters of the list endpoints. Status,
+-- category, parent and due-date filters already lead an index from V3;
+-- this adds the same shape for priority, so a query with any one
+-- equality filter reads its first page in (created_at DESC, id DESC)
+-- order straight from an index.
+
+CREATE INDEX idx_tasks_live_priority ON tasks (is_deleted, priority, created_at DESC, id DESC);
@@ -0,0 +1,14 @@
+-- Transactional outbox for task events (TaskEventBus). Each create,
+-- update, delete and restore inserts its event in the same transaction as
+-- the write; the row is deleted once every listener has handled it, so
+-- what is left here after a crash is delivered on the next start.
+
+-- INCREMENT BY must match the allocationSize of TaskEvent.id
+CREATE SEQUENCE task_event_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE task_events (
+    id NUMBER(19) PRIMARY KEY,
+    event_type VARCHAR2(20) NOT NULL,
+    task_id NUMBER(10) NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
@@ -0,0 +1,24 @@
+-- Change feed rescans (TaskService.getChanges) select recent rows on a
+-- timestamp the database stamps from its own clock, in UTC, rather than
+-- on updated_at, which comes from whichever application instance wrote
+-- the row. Clock skew between instances can no longer push a late commit
+-- out of the window.
+
+-- The default fills existing rows without firing the change version trigger
+ALTER TABLE tasks ADD changed_at TIMESTAMP
+    DEFAULT CAST(SYSTIMESTAMP AT TIME ZONE 'UTC' AS TIMESTAMP) NOT NULL;
+
+CREATE OR REPLACE TRIGGER task_change_version_trigger
+    BEFORE INSERT OR UPDATE ON tasks
+    FOR EACH ROW
+BEGIN
+    :NEW.change_version := task_change_seq.NEXTVAL;
+    :NEW.changed_at := CAST(SYSTIMESTAMP AT TIME ZONE 'UTC' AS TIMESTAMP);
+END;
+/
+
+-- idx_tasks_updated_at (V5) only served the rescan
+DROP INDEX idx_tasks_updated_at;
+CREATE INDEX idx_tasks_changed_at ON tasks (changed_at);
+
+COMMIT;
@@ -0,0 +1,112 @@
+package com.taskmanager.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Streams from the R2DBC read API against an Oracle-mode H2, seeded over
+ * JDBC into the same in-memory database the R2DBC pool reads.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:reactive;MODE=Oracle;DB_CLOSE_DELAY=-1",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.Oracle12cDialect",
+    "taskmanager.jpa.sequence-mismatch-strategy=none",
+    "spring.jpa.hibernate.ddl-auto=none",
+    "taskmanager.search.engine=jpql",
+    "taskmanager.reactive.enabled=true",
+    "taskmanager.reactive.url=r2dbc:h2:mem:///reactive?options=MODE=Oracle;DB_CLOSE_DELAY=-1"
+})
+@AutoConfigureMockMvc
+class ReactiveTaskControllerTest {
+
+    private static final int TOP_LEVEL = 20;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM tasks WHERE parent_task_id IS NOT NULL");
+        jdbcTemplate.update("DELETE FROM tasks");
+        long now = System.currentTimeMillis();
+        List<Object[]> rows = new ArrayList<>();
+        for (int id = 1; id <= TOP_LEVEL * 2; id++) {
+            Timestamp createdAt = new Timestamp(now - id * 1000L);
+            rows.add(new Object[] {id, "Task " + id, id > TOP_LEVEL ? (long) (id - TOP_LEVEL) : null,
+                id % 2 == 0 ? "COMPLETED" : "PENDING", id == TOP_LEVEL * 2 ? 1 : 0, createdAt, createdAt});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO tasks (id, title, parent_task_id, status, is_deleted, created_at, " +
+            "updated_at) VALUES (?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    @Test
+    void getAllTasks_ShouldStreamTopLevelTasksAsNdjson() throws Exception {
+        // Act
+        String body = stream("/reactive/tasks", MediaType.APPLICATION_NDJSON);
+
+        // Assert
+        String[] lines = body.trim().split("\n");
+        assertEquals(TOP_LEVEL, lines.length);
+        assertTrue(lines[0].contains("\"id\":1,"));
+        assertTrue(lines[TOP_LEVEL - 1].contains("\"id\":" + TOP_LEVEL + ","));
+    }
+
+    @Test
+    void getTasksByStatus_ShouldStreamServerSentEvents() throws Exception {
+        // Act
+        String body = stream("/reactive/tasks/status/completed", MediaType.TEXT_EVENT_STREAM);
+
+        // Assert: even ids are COMPLETED, and the last one is soft-deleted
+        assertEquals(TOP_LEVEL - 1, body.split("data:", -1).length - 1);
+        assertTrue(body.contains("\"status\":\"COMPLETED\""));
+        assertFalse(body.contains("\"status\":\"PENDING\""));
+    }
+
+    @Test
+    void getSubTasks_ShouldStreamLiveChildren() throws Exception {
+        // Act
+        String body = stream("/reactive/tasks/3/subtasks", MediaType.APPLICATION_NDJSON);
+
+        // Assert
+        assertEquals(1, body.trim().split("\n").length);
+        assertTrue(body.contains("\"id\":23,"));
+    }
+
+    @Test
+    void getTasksByStatus_WithInvalidStatus_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/reactive/tasks/status/unknown")
+                .accept(MediaType.APPLICATION_NDJSON))
+            .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    private String stream(String path, MediaType mediaType) throws Exception {
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get(path).accept(mediaType))
+            .andExpect(MockMvcResultMatchers.request().asyncStarted())
+            .andReturn();
+        result.getAsyncResult(5000);
+        return result.getResponse().getContentAsString();
+    }
+}
@@ -0,0 +1,326 @@
+package com.taskmanager.controller;
+
+import com.taskmanager.model.Task;
+import com.taskmanager.service.LuceneTaskSearchEngine;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drives the real /api/tasks endpoints over HTTP with read-heavy,
+ * write-heavy and search-heavy traffic mixes. Latency for each endpoint
+ * goes into an HdrHistogram. The test fails if any endpoint returns
+ * errors or exceeds its p95/p99 budget.
+ *
+ * <p>Run with {@code mvn test -Ploadtest}. Tuning system properties:
+ * <ul>
+ *   <li>loadtest.profiles: comma-separated subset of read,write,search</li>
+ *   <li>loadtest.concurrency, loadtest.warmup-seconds, loadtest.duration-seconds, loadtest.rows</li>
+ *   <li>loadtest.budget.&lt;endpoint&gt;.p95 / .p99: budget in ms, for example loadtest.budget.search.p99=300</li>
+ *   <li>taskmanager.threads.mode: platform or virtual request threads on the server side (virtual needs Java 21)</li>
+ * </ul>
+ * Percentile distributions are written to
+ * target/loadtest/&lt;threads mode&gt;-&lt;profile&gt;-&lt;endpoint&gt;.hgrm, so runs in the two
+ * thread modes can be compared side by side.
+ */
+@Tag("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.datasource.url=jdbc:h2:mem:loadtest;MODE=Oracle;DB_CLOSE_DELAY=-1",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.Oracle12cDialect",
+    "taskmanager.jpa.sequence-mismatch-strategy=none",
+    "spring.jpa.hibernate.ddl-auto=none",
+    "spring.jpa.show-sql=false",
+    "logging.level.root=WARN"
+})
+class TaskApiLoadTest {
+
+    private static final int CONCURRENCY = Integer.getInteger("loadtest.concurrency", 16);
+    private static final int WARMUP_SECONDS = Integer.getInteger("loadtest.warmup-seconds", 10);
+    private static final int DURATION_SECONDS = Integer.getInteger("loadtest.duration-seconds", 30);
+    private static final int ROWS = Integer.getInteger("loadtest.rows", 20000);
+    private static final String THREADS_MODE = System.getProperty("taskmanager.threads.mode", "platform");
+    private static final List<String> PROFILES =
+        Arrays.asList(System.getProperty("loadtest.profiles", "read,write,search").split(","));
+
+    // Default budgets in ms: {p95, p99}
+    private static final Map<String, long[]> DEFAULT_BUDGETS = new LinkedHashMap<>();
+
+    static {
+        DEFAULT_BUDGETS.put("list", new long[] {50, 150});
+        DEFAULT_BUDGETS.put("get", new long[] {20, 75});
+        DEFAULT_BUDGETS.put("subtasks", new long[] {50, 150});
+        DEFAULT_BUDGETS.put("tree", new long[] {100, 250});
+        DEFAULT_BUDGETS.put("search", new long[] {100, 300});
+        DEFAULT_BUDGETS.put("create", new long[] {50, 150});
+        DEFAULT_BUDGETS.put("update", new long[] {50, 150});
+        DEFAULT_BUDGETS.put("delete", new long[] {50, 150});
+        DEFAULT_BUDGETS.put("restore", new long[] {50, 150});
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired(required = false)
+    private LuceneTaskSearchEngine luceneSearchEngine;
+
+    private final HttpClient client = HttpClient.newBuilder()
+        .connectTimeout(Duration.ofSeconds(5))
+        .build();
+
+    @BeforeEach
+    void setUp() {
+        seed();
+        if (luceneSearchEngine != null) {
+            luceneSearchEngine.rebuild();
+        }
+    }
+
+    @Test
+    void endpoints_ShouldStayWithinLatencyBudgets() throws Exception {
+        List<String> violations = new ArrayList<>();
+        for (String profile : PROFILES) {
+            List<Operation> mix = mix(profile.trim());
+            run(mix, WARMUP_SECONDS, new LinkedHashMap<>(), new LinkedHashMap<>());
+
+            Map<String, Histogram> latencies = new LinkedHashMap<>();
+            Map<String, LongAdder> errors = new LinkedHashMap<>();
+            run(mix, DURATION_SECONDS, latencies, errors);
+            violations.addAll(report(profile.trim(), latencies, errors));
+        }
+        assertTrue(violations.isEmpty(), () -> "Latency budget exceeded:\n" + String.join("\n", violations));
+    }
+
+    private void run(List<Operation> mix, int seconds, Map<String, Histogram> latencies,
+                     Map<String, LongAdder> errors) throws Exception {
+        for (Operation operation : mix) {
+            latencies.put(operation.endpoint, new ConcurrentHistogram(TimeUnit.SECONDS.toMicros(60), 3));
+            errors.put(operation.endpoint, new LongAdder());
+        }
+        int totalWeight = mix.stream().mapToInt(operation -> operation.weight).sum();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        ExecutorService workers = Executors.newFixedThreadPool(CONCURRENCY);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int worker = 0; worker < CONCURRENCY; worker++) {
+            long workerSeed = worker;
+            futures.add(workers.submit(() -> {
+                Random random = new Random(workerSeed);
+                while (System.nanoTime() < deadline) {
+                    Operation operation = pick(mix, random.nextInt(totalWeight));
+                    HttpRequest request = operation.request.create(random).build();
+                    long start = System.nanoTime();
+                    int status;
+                    try {
+                        status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    } catch (IOException e) {
+                        status = -1;
+                    }
+                    long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+                    latencies.get(operation.endpoint).recordValue(Math.min(micros, TimeUnit.SECONDS.toMicros(60)));
+                    if (status < 200 || status >= 300) {
+                        errors.get(operation.endpoint).increment();
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        workers.shutdown();
+    }
+
+    private List<String> report(String profile, Map<String, Histogram> latencies, Map<String, LongAdder> errors)
+            throws IOException {
+        List<String> violations = new ArrayList<>();
+        File directory = new File("target/loadtest");
+        directory.mkdirs();
+        System.out.printf("%n== %s profile, %s request threads, %d clients, %d s ==%n", profile, THREADS_MODE,
+            CONCURRENCY, DURATION_SECONDS);
+        System.out.printf("%-10s %8s %9s %7s %9s %9s %9s %9s%n", "endpoint", "count", "req/s", "errors", "p50 ms",
+            "p95 ms", "p99 ms", "max ms");
+        long totalCount = 0;
+        for (Map.Entry<String, Histogram> entry : latencies.entrySet()) {
+            String endpoint = entry.getKey();
+            Histogram histogram = entry.getValue();
+            double p50 = histogram.getValueAtPercentile(50) / 1000.0;
+            double p95 = histogram.getValueAtPercentile(95) / 1000.0;
+            double p99 = histogram.getValueAtPercentile(99) / 1000.0;
+            double max = histogram.getMaxValue() / 1000.0;
+            long errorCount = errors.get(endpoint).sum();
+            totalCount += histogram.getTotalCount();
+            System.out.printf("%-10s %8d %9.1f %7d %9.2f %9.2f %9.2f %9.2f%n", endpoint, histogram.getTotalCount(),
+                (double) histogram.getTotalCount() / DURATION_SECONDS, errorCount, p50, p95, p99, max);
+            File file = new File(directory, THREADS_MODE + "-" + profile + "-" + endpoint + ".hgrm");
+            try (PrintStream out = new PrintStream(file)) {
+                histogram.outputPercentileDistribution(out, 1000.0);
+            }
+
+            long[] budget = DEFAULT_BUDGETS.get(endpoint);
+            long p95Budget = Long.getLong("loadtest.budget." + endpoint + ".p95", budget[0]);
+            long p99Budget = Long.getLong("loadtest.budget." + endpoint + ".p99", budget[1]);
+            if (errorCount > 0) {
+                violations.add(String.format("%s/%s: %d failed requests", profile, endpoint, errorCount));
+            }
+            if (p95 > p95Budget) {
+                violations.add(String.format("%s/%s: p95 %.2f ms > %d ms", profile, endpoint, p95, p95Budget));
+            }
+            if (p99 > p99Budget) {
+                violations.add(String.format("%s/%s: p99 %.2f ms > %d ms", profile, endpoint, p99, p99Budget));
+            }
+        }
+        System.out.printf("%-10s %8d %9.1f%n", "total", totalCount, (double) totalCount / DURATION_SECONDS);
+        return violations;
+    }
+
+    private List<Operation> mix(String profile) {
+        switch (profile) {
+            case "read":
+                return Arrays.asList(
+                    new Operation("list", 35, random -> get("/tasks/page?limit=50")),
+                    new Operation("get", 30, random -> get("/tasks/" + liveId(random))),
+                    new Operation("subtasks", 15, random -> get("/tasks/" + topLevelId(random) + "/subtasks")),
+                    new Operation("tree", 10, random -> get("/tasks/tree?limit=20&depth=2")),
+                    new Operation("search", 5, random -> get("/tasks/search/page?keyword=task+" + liveId(random))),
+                    new Operation("update", 5, random -> update(random)));
+            case "write":
+                return Arrays.asList(
+                    new Operation("create", 35, random -> create(random)),
+                    new Operation("update", 35, random -> update(random)),
+                    new Operation("delete", 5, random -> request("/tasks/" + liveId(random)).DELETE()),
+                    new Operation("restore", 5, random -> request("/tasks/" + deletedId(random) + "/restore")
+                        .PUT(HttpRequest.BodyPublishers.noBody())),
+                    new Operation("get", 20, random -> get("/tasks/" + liveId(random))));
+            case "search":
+                return Arrays.asList(
+                    new Operation("search", 70, random -> get("/tasks/search/page?keyword=task+" + liveId(random))),
+                    new Operation("list", 20, random -> get("/tasks/page?limit=50")),
+                    new Operation("create", 10, random -> create(random)));
+            default:
+                throw new IllegalArgumentException("Unknown load profile: " + profile);
+        }
+    }
+
+    private static Operation pick(List<Operation> mix, int roll) {
+        for (Operation operation : mix) {
+            roll -= operation.weight;
+            if (roll < 0) {
+                return operation;
+            }
+        }
+        return mix.get(mix.size() - 1);
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api" + path))
+            .timeout(Duration.ofSeconds(30));
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return request(path).GET();
+    }
+
+    private HttpRequest.Builder create(Random random) {
+        return request("/tasks")
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString("{\"title\":\"Load test " + random.nextInt() +
+                "\",\"description\":\"Created under load\",\"parentTaskId\":" + topLevelId(random) + "}"));
+    }
+
+    private HttpRequest.Builder update(Random random) {
+        return request("/tasks/" + liveId(random))
+            .header("Content-Type", "application/json")
+            .PUT(HttpRequest.BodyPublishers.ofString("{\"title\":\"Updated " + random.nextInt() +
+                "\",\"description\":\"Updated under load\",\"status\":\"IN_PROGRESS\"}"));
+    }
+
+    // Seeded ids: every tenth row is soft-deleted, the first ROWS / 10 are top-level
+    private static long liveId(Random random) {
+        long id = 1 + random.nextInt(ROWS);
+        return id % 10 == 0 ? id - 1 : id;
+    }
+
+    private static long topLevelId(Random random) {
+        long id = 1 + random.nextInt(ROWS / 10);
+        return id % 10 == 0 ? id - 1 : id;
+    }
+
+    private static long deletedId(Random random) {
+        return 10L * (1 + random.nextInt(ROWS / 10));
+    }
+
+    private void seed() {
+        jdbcTemplate.update("DELETE FROM tasks WHERE parent_task_id IS NOT NULL");
+        jdbcTemplate.update("DELETE FROM tasks");
+        int topLevel = ROWS / 10;
+        long now = System.currentTimeMillis();
+        List<Object[]> rows = new ArrayList<>(ROWS);
+        for (int id = 1; id <= ROWS; id++) {
+            Timestamp createdAt = new Timestamp(now - id * 1000L);
+            rows.add(new Object[] {
+                id, "Task " + id, "Load test task " + id,
+                Task.Status.values()[id % Task.Status.values().length].name(),
+                Task.Category.values()[id % Task.Category.values().length].name(),
+                id > topLevel ? (long) (id % topLevel) + 1 : null,
+                id % 10 == 0 ? 1 : 0, createdAt, createdAt
+            });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO tasks (id, title, description, status, category, parent_task_id, " +
+            "is_deleted, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+        // The pooled optimizer treats NEXTVAL as the top of a 50-id block
+        jdbcTemplate.execute("ALTER SEQUENCE task_seq RESTART WITH " + (ROWS + 51));
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @FunctionalInterface
+    private interface RequestFactory {
+        HttpRequest.Builder create(Random random);
+    }
+
+    private static final class Operation {
+
+        private final String endpoint;
+        private final int weight;
+        private final RequestFactory request;
+
+        private Operation(String endpoint, int weight, RequestFactory request) {
+            this.endpoint = endpoint;
+            this.weight = weight;
+            this.request = request;
+        }
+    }
+}
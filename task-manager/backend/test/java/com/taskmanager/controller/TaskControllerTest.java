@@ -2,10 +2,25 @@ package com.taskmanager.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.taskmanager.config.DatabaseConfig;
+import com.taskmanager.model.BatchResult;
+import com.taskmanager.model.CursorPage;
 import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskChange;
+import com.taskmanager.model.TaskChangeFeed;
+import com.taskmanager.model.TaskQuery;
+import com.taskmanager.model.TaskStats;
+import com.taskmanager.model.TaskSummary;
+import com.taskmanager.model.TaskTreeNode;
+import com.taskmanager.model.TaskValidator;
+import com.taskmanager.service.TaskChangeBroadcaster;
+import com.taskmanager.service.TaskExportFormat;
+import com.taskmanager.service.TaskImportService;
 import com.taskmanager.service.TaskService;
 import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentMatchers;
@@ -13,14 +28,24 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.zip.GZIPInputStream;
 
-@WebMvcTest(TaskController.class)
+// DatabaseConfig also registers the CORS mapping, which would pull its Oracle pool into the slice
+@WebMvcTest(controllers = TaskController.class, excludeFilters = @ComponentScan.Filter(
+    type = FilterType.ASSIGNABLE_TYPE, classes = DatabaseConfig.class))
 class TaskControllerTest {
 
     @Autowired
@@ -29,13 +54,19 @@ class TaskControllerTest {
     @MockBean
     private TaskService taskService;
 
+    @MockBean
+    private TaskImportService taskImportService;
+
+    @MockBean
+    private TaskChangeBroadcaster changeBroadcaster;
+
     @Autowired
     private ObjectMapper objectMapper;
 
     private Task testTask;
     private Task parentTask;
     private Task subTask;
-    private List<Task> testTasks;
+    private List<TaskSummary> testTasks;
 
     @BeforeEach
     void setUp() {
@@ -79,7 +110,7 @@ class TaskControllerTest {
         testTask.setCreatedAt(new Date());
         testTask.setUpdatedAt(new Date());
 
-        testTasks = Arrays.asList(parentTask, testTask);
+        testTasks = Arrays.asList(TaskSummary.from(parentTask), TaskSummary.from(testTask));
     }
 
     @Test
@@ -291,4 +322,452 @@ class TaskControllerTest {
 
         Mockito.verify(taskService, Mockito.times(1)).deleteTask(999L);
     }
-}
\ No newline at end of file
+
+    @Test
+    void getAllTasksPage_ShouldReturnItemsAndNextCursor() throws Exception {
+        // Arrange
+        CursorPage<TaskSummary> page = new CursorPage<>(testTasks, "next-token");
+        Mockito.when(taskService.getAllTasksPage(null, 2)).thenReturn(page);
+
+        // Act & Assert
+        mockMvc.perform(MockMvcRequestBuilders.get("/tasks/page").param("limit", "2"))
+            .andExpect(MockMvcResultMatchers.status().isOk())
+            .andExpect(MockMvcResultMatchers.jsonPath("$.items", Matchers.hasSize(2)))
+            .andExpect(MockMvcResultMatchers.jsonPath("$.items[0].id", Matchers.is(1)))
+            .andExpect(MockMvcResultMatchers.jsonPath("$.nextCursor", Matchers.is("next-token")))
+            .andExpect(MockMvcResultMatchers.jsonPath("$.hasMore", Matchers.is(true)));
+
+        Mockito.verify(taskService, Mockito.times(1)).getAllTasksPage(null, 2);
+    }
+
+    @Test
+    void getAllTasksPage_ShouldReturnBadRequest_WhenCursorIsInvalid() throws Exception {
+        // Arrange
+        Mockito.when(taskService.getAllTasksPage("garbage", null)).thenThrow(new IllegalArgumentException("Invalid page cursor"));
+
+        // Act & Assert
+        mockMvc.perform(MockMvcRequestBuilders.get("/tasks/page").param("cursor", "garbage"))
+            .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    @Test
+    void getTasksByStatusPage_ShouldReturnLastPage() throws Exception {
+        // Arrange
+        CursorPage<TaskSummary> page = new CursorPage<>(Collections.singletonList(TaskSummary.from(parentTask)), null);
+        Mockito.when(taskService.getTasksByStatusPage(Task.Status.PENDING, "abc", null)).thenReturn(page);
+
+        // Act & Assert
+        mockMvc.perform(MockMvcRequestBuilders.get("/tasks/status/pending/page").param("cursor", "abc"))
+            .andExpect(MockMvcResultMatchers.status().isOk())
+            .andExpect(MockMvcResultMatchers.jsonPath("$.items", Matchers.hasSize(1)))
+            .andExpect(MockMvcResultMatchers.jsonPath("$.hasMore", Matchers.is(false)));
+    }
+
+    @Test
+    void getTaskTree_ShouldNestSubtasksUnderTheirParent() throws Exception {
+        // Arrange
+        TaskTreeNode subNode = new TaskTreeNode(TaskSummary.from(subTask), Collections.emptyList());
+        TaskTreeNode parentNode = new TaskTreeNode(TaskSummary.from(parentTask), Collections.singletonList(subNode));
+        CursorPage<TaskTreeNode> page = new CursorPage<>(Collections.singletonList(parentNode), null);
+        Mockito.when(taskService.getTaskTreePage(null, null, 2)).thenReturn(page);
+
+        // Act & Assert
+        mockMvc.perform(MockMvcRequestBuilders.get("/tasks/tree").param("depth", "2"))
+            .andExpect(MockMvcResultMatchers.status().isOk())
+            .andExpect(MockMvcResultMatchers.jsonPath("$.items", Matchers.hasSize(1)))
+            .andExpect(MockMvcResultMatchers.jsonPath("$.items[0].task.id", Matchers.is(1)))
+            .andExpect(MockMvcResultMatchers.jsonPath("$.items[0].subTasks", Matchers.hasSize(1)))
+            .andExpect(MockMvcResultMatchers.jsonPath("$.items[0].subTasks[0].task.id", Matchers.is(2)))
+            .andExpect(MockMvcResultMatchers.jsonPath("$.hasMore", Matchers.is(false)));
+
+        Mockito.verify(taskService, Mockito.times(1)).getTaskTreePage(null, null, 2);
+    }
+
+    @Test
+    void createTasks_ShouldReportPerItemOutcome() throws Exception {
+        // Arrange
+        BatchResult result = new BatchResult();
+        result.addSuccess(0, 4L, BatchResult.Outcome.CREATED);
+        result.addFailure(1, null, "Title is required");
+        Mockito.when(taskService.createTasks(ArgumentMatchers.anyList())).thenReturn(result);
+
+        Task invalidTask = new Task();
+        invalidTask.setTitle("");
+
+        // Act & Assert
+        mockMvc.perform(MockMvcRequestBuilders.post("/tasks/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Arrays.asList(testTask, invalidTask))))
+            .andExpect(MockMvcResultMatchers.status().isOk())
+            .andExpect(MockMvcResultMatchers.jsonPath("$.succeeded", Matchers.is(1)))
+            .andExpect(MockMvcResultMatchers.jsonPath("$.failed", Matchers.is(1)))
+            .andExpect(MockMvcResultMatchers.jsonPath("$.items[0].outcome", Matchers.is("CREATED")))
+            .andExpect(MockMvcResultMatchers.jsonPath("$.items[1].error", Matchers.is("Title is required")));
+
+        Mockito.verify(taskService, Mockito.times(1)).createTasks(ArgumentMatchers.anyList());
+    }
+
+    @Test
+    void deleteTasks_ShouldReturnBadRequest_WhenBatchIsEmpty() throws Exception {
+        // Arrange
+        Mockito.when(taskService.deleteTasks(ArgumentMatchers.anyList()))
+            .thenThrow(new IllegalArgumentException("Batch must not be empty"));
+
+        // Act & Assert
+        mockMvc.perform(MockMvcRequestBuilders.delete("/tasks/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]"))
+            .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    @Test
+    void deleteTask_ShouldDeleteSubtree_WhenCascadeRequested() throws Exception {
+        // Arrange
+        Mockito.when(taskService.deleteTaskTree(1L)).thenReturn(true);
+
+        // Act & Assert
+        mockMvc.perform(MockMvcRequestBuilders.delete("/tasks/1").param("cascade", "true"))
+            .andExpect(MockMvcResultMatchers.status().isNoContent());
+
+        Mockito.verify(taskService, Mockito.times(1)).deleteTaskTree(1L);
+        Mockito.verify(taskService, Mockito.never()).deleteTask(ArgumentMatchers.anyLong());
+    }
+
+    @Test
+    void restoreTask_ShouldReturnNotFound_WhenTaskDoesNotExist() throws Exception {
+        // Arrange
+        Mockito.when(taskService.restoreTask(999L)).thenReturn(null);
+
+        // Act & Assert
+        mockMvc.perform(MockMvcRequestBuilders.put("/tasks/999/restore"))
+            .andExpect(MockMvcResultMatchers.status().isNotFound());
+
+        Mockito.verify(taskService, Mockito.times(1)).restoreTask(999L);
+    }
+
+    @Test
+    void getAllTasks_ShouldNotExposeDescriptionInListResponse() throws Exception {
+        // Arrange
+        Mockito.when(taskService.getAllTasks()).thenReturn(testTasks);
+
+        // Act & Assert
+        mockMvc.perform(MockMvcRequestBuilders.get("/tasks"))
+            .andExpect(MockMvcResultMatchers.status().isOk())
+            .andExpect(MockMvcResultMatchers.jsonPath("$[0].title", Matchers.is("Parent Task")))
+            .andExpect(MockMvcResultMatchers.jsonPath("$[0].description").doesNotExist())
+            .andExpect(MockMvcResultMatchers.jsonPath("$[0].subTasks").doesNotExist());
+    }
+
+    @Test
+    void exportTasks_ShouldStreamCsvAttachment() throws Exception {
+        // Arrange
+        Mockito.doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(1);
+            out.write("id,title\n1,Parent Task\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        }).when(taskService).exportTasks(ArgumentMatchers.eq(TaskExportFormat.CSV), ArgumentMatchers.any());
+
+        // Act
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/tasks/export").param("format", "csv"))
+            .andExpect(MockMvcResultMatchers.request().asyncStarted())
+            .andReturn();
+
+        // Assert
+        mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(result))
+            .andExpect(MockMvcResultMatchers.status().isOk())
+            .andExpect(MockMvcResultMatchers.header().string("Content-Type", "text/csv"))
+            .andExpect(MockMvcResultMatchers.header().string("Content-Disposition",
+                "attachment; filename=\"tasks.csv\""))
+            .andExpect(MockMvcResultMatchers.content().string("id,title\n1,Parent Task\n"));
+    }
+
+    @Test
+    void exportTasks_ShouldGzipBody_WhenRequested() throws Exception {
+        // Arrange
+        Mockito.doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(1);
+            out.write("{\"id\":1}\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        }).when(taskService).exportTasks(ArgumentMatchers.eq(TaskExportFormat.JSONL), ArgumentMatchers.any());
+
+        // Act
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/tasks/export").param("gzip", "true"))
+            .andExpect(MockMvcResultMatchers.request().asyncStarted())
+            .andReturn();
+        byte[] body = mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(result))
+            .andExpect(MockMvcResultMatchers.status().isOk())
+            .andExpect(MockMvcResultMatchers.header().string("Content-Type", "application/gzip"))
+            .andReturn().getResponse().getContentAsByteArray();
+
+        // Assert
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            Assertions.assertEquals("{\"id\":1}\n", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void exportTasks_ShouldReturnBadRequest_WhenFormatIsUnknown() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/tasks/export").param("format", "xml"))
+            .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    @Test
+    void queryTasks_ShouldPassCombinedFiltersToService() throws Exception {
+        // Arrange
+        Mockito.when(taskService.queryTasks(ArgumentMatchers.any(TaskQuery.class), ArgumentMatchers.eq("c1"),
+                ArgumentMatchers.eq(10)))
+            .thenReturn(new CursorPage<>(testTasks, "c2"));
+
+        // Act & Assert
+        mockMvc.perform(MockMvcRequestBuilders.get("/tasks/query")
+                .param("status", "pending")
+                .param("priority", "HIGH")
+                .param("dueFrom", "2025-03-01")
+                .param("dueTo", "2025-03-31")
+                .param("keyword", "report")
+                .param("sort", "due_date_asc")
+                .param("cursor", "c1")
+                .param("limit", "10"))
+            .andExpect(MockMvcResultMatchers.status().isOk())
+            .andExpect(MockMvcResultMatchers.jsonPath("$.items", Matchers.hasSize(2)))
+            .andExpect(MockMvcResultMatchers.jsonPath("$.nextCursor").value("c2"));
+
+        Mockito.verify(taskService).queryTasks(ArgumentMatchers.argThat(query ->
+            query.getStatus() == Task.Status.PENDING
+                && query.getPriority() == Task.Priority.HIGH
+                && query.getCategory() == null
+                && query.getDueFrom() != null && query.getDueTo() != null
+                && "report".equals(query.getKeyword())
+                && query.getSort() == TaskQuery.Sort.DUE_DATE_ASC), ArgumentMatchers.eq("c1"),
+            ArgumentMatchers.eq(10));
+    }
+
+    @Test
+    void queryTasks_ShouldReturnBadRequest_WhenDateIsInvalid() throws Exception {
+        // Act & Assert
+        mockMvc.perform(MockMvcRequestBuilders.get("/tasks/query").param("dueFrom", "2025-02-30"))
+            .andExpect(MockMvcResultMatchers.status().isBadRequest());
+
+        Mockito.verify(taskService, Mockito.never())
+            .queryTasks(ArgumentMatchers.any(TaskQuery.class), ArgumentMatchers.any(), ArgumentMatchers.any());
+    }
+
+    @Test
+    void getStats_ShouldReturnCountsFromService() throws Exception {
+        // Arrange
+        Map<Task.Status, Long> byStatus = new EnumMap<>(Task.Status.class);
+        byStatus.put(Task.Status.PENDING, 2L);
+        byStatus.put(Task.Status.COMPLETED, 1L);
+        Mockito.when(taskService.getStats()).thenReturn(new TaskStats(3, byStatus,
+            new EnumMap<>(Task.Category.class), new EnumMap<>(Task.Priority.class), 1, new Date()));
+
+        // Act & Assert
+        mockMvc.perform(MockMvcRequestBuilders.get("/tasks/stats"))
+            .andExpect(MockMvcResultMatchers.status().isOk())
+            .andExpect(MockMvcResultMatchers.jsonPath("$.total").value(3))
+            .andExpect(MockMvcResultMatchers.jsonPath("$.byStatus.PENDING").value(2))
+            .andExpect(MockMvcResultMatchers.jsonPath("$.overdue").value(1));
+
+        Mockito.verify(taskService, Mockito.never()).getAllTasks();
+    }
+
+    @Test
+    void getChanges_ShouldReturnChangesAndNextToken() throws Exception {
+        // Arrange
+        TaskChange change = new TaskChange(1L, "Parent Task", null, Task.Priority.HIGH, Task.Category.WORK,
+            Task.Status.PENDING, null, true, new Date(), new Date(), 42L);
+        Mockito.when(taskService.getChanges("token", null))
+            .thenReturn(new TaskChangeFeed(Collections.singletonList(change), "next", false));
+
+        // Act & Assert
+        mockMvc.perform(MockMvcRequestBuilders.get("/tasks/changes").param("since", "token"))
+            .andExpect(MockMvcResultMatchers.status().isOk())
+            .andExpect(MockMvcResultMatchers.jsonPath("$.changes[0].id").value(1))
+            .andExpect(MockMvcResultMatchers.jsonPath("$.changes[0].isDeleted").value(true))
+            .andExpect(MockMvcResultMatchers.jsonPath("$.changes[0].changeVersion").value(42))
+            .andExpect(MockMvcResultMatchers.jsonPath("$.nextToken").value("next"))
+            .andExpect(MockMvcResultMatchers.jsonPath("$.hasMore").value(false));
+    }
+
+    @Test
+    void getChanges_ShouldReturnBadRequest_WhenTokenIsInvalid() throws Exception {
+        // Arrange
+        Mockito.when(taskService.getChanges("garbage", null))
+            .thenThrow(new IllegalArgumentException("Invalid change token"));
+
+        // Act & Assert
+        mockMvc.perform(MockMvcRequestBuilders.get("/tasks/changes").param("since", "garbage"))
+            .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    @Test
+    void getLatestChanges_ShouldReturnEmptyFeedAtLatestToken() throws Exception {
+        // Arrange
+        Mockito.when(taskService.getLatestChangeToken()).thenReturn("latest");
+
+        // Act & Assert
+        mockMvc.perform(MockMvcRequestBuilders.get("/tasks/changes/latest"))
+            .andExpect(MockMvcResultMatchers.status().isOk())
+            .andExpect(MockMvcResultMatchers.jsonPath("$.changes").isEmpty())
+            .andExpect(MockMvcResultMatchers.jsonPath("$.nextToken").value("latest"))
+            .andExpect(MockMvcResultMatchers.jsonPath("$.hasMore").value(false));
+
+        Mockito.verify(taskService, Mockito.never()).getChanges(Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    void getTaskById_ShouldReturnVersionEtag() throws Exception {
+        // Arrange
+        parentTask.setVersion(3L);
+        Mockito.when(taskService.getTaskById(1L)).thenReturn(Optional.of(parentTask));
+
+        // Act & Assert
+        mockMvc.perform(MockMvcRequestBuilders.get("/tasks/1"))
+            .andExpect(MockMvcResultMatchers.status().isOk())
+            .andExpect(MockMvcResultMatchers.header().string("ETag", "\"1-3\""))
+            .andExpect(MockMvcResultMatchers.header().string("Cache-Control", "no-cache"));
+    }
+
+    @Test
+    void getTaskById_ShouldReturnNotModified_WithoutLoadingTask_WhenEtagMatches() throws Exception {
+        // Arrange
+        Mockito.when(taskService.getTaskValidator(1L))
+            .thenReturn(Optional.of(new TaskValidator(1L, 3L, new Date())));
+
+        // Act & Assert
+        mockMvc.perform(MockMvcRequestBuilders.get("/tasks/1").header("If-None-Match", "\"1-3\""))
+            .andExpect(MockMvcResultMatchers.status().isNotModified())
+            .andExpect(MockMvcResultMatchers.content().string(""));
+
+        Mockito.verify(taskService, Mockito.never()).getTaskById(ArgumentMatchers.anyLong());
+    }
+
+    @Test
+    void getAllTasks_ShouldReturnBody_WhenEtagIsStale() throws Exception {
+        // Arrange
+        Mockito.when(taskService.getAllTasksValidator()).thenReturn(new TaskValidator(2L, new Date()));
+        Mockito.when(taskService.getAllTasks()).thenReturn(testTasks);
+
+        // Act & Assert
+        mockMvc.perform(MockMvcRequestBuilders.get("/tasks").header("If-None-Match", "\"1-0\""))
+            .andExpect(MockMvcResultMatchers.status().isOk())
+            .andExpect(MockMvcResultMatchers.header().string("ETag", TaskValidator.of(testTasks).getEtag()))
+            .andExpect(MockMvcResultMatchers.jsonPath("$", Matchers.hasSize(testTasks.size())));
+    }
+
+    @Test
+    void updateTask_ShouldReturnPreconditionFailed_WhenIfMatchIsStale() throws Exception {
+        // Arrange
+        Task updatedTask = new Task("Updated Task", "Updated description");
+        Mockito.when(taskService.updateTask(ArgumentMatchers.eq(1L), ArgumentMatchers.any(Task.class),
+                ArgumentMatchers.eq(2L)))
+            .thenThrow(new ObjectOptimisticLockingFailureException(Task.class, 1L));
+
+        // Act & Assert
+        mockMvc.perform(MockMvcRequestBuilders.put("/tasks/1")
+                .header("If-Match", "\"1-2\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updatedTask)))
+            .andExpect(MockMvcResultMatchers.status().isPreconditionFailed());
+    }
+
+    @Test
+    void updateTask_ShouldReturnConflict_WhenRetriesKeepLosing() throws Exception {
+        // Arrange
+        Task updatedTask = new Task("Updated Task", "Updated description");
+        Mockito.when(taskService.updateTask(ArgumentMatchers.eq(1L), ArgumentMatchers.any(Task.class)))
+            .thenThrow(new ObjectOptimisticLockingFailureException(Task.class, 1L));
+
+        // Act & Assert
+        mockMvc.perform(MockMvcRequestBuilders.put("/tasks/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updatedTask)))
+            .andExpect(MockMvcResultMatchers.status().isConflict());
+    }
+
+    @Test
+    void patchTask_ShouldReturnPatchedTask() throws Exception {
+        // Arrange
+        testTask.setVersion(4L);
+        Mockito.when(taskService.patchTask(ArgumentMatchers.eq(3L), ArgumentMatchers.any(ObjectNode.class),
+                ArgumentMatchers.isNull()))
+            .thenReturn(testTask);
+
+        // Act & Assert
+        mockMvc.perform(MockMvcRequestBuilders.patch("/tasks/3")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"priority\":\"LOW\"}"))
+            .andExpect(MockMvcResultMatchers.status().isOk())
+            .andExpect(MockMvcResultMatchers.header().string("ETag", "\"3-4\""))
+            .andExpect(MockMvcResultMatchers.jsonPath("$.priority").value("LOW"));
+    }
+
+    @Test
+    void patchTask_ShouldReturnBadRequest_WhenFieldIsNotPatchable() throws Exception {
+        // Arrange
+        Mockito.when(taskService.patchTask(ArgumentMatchers.eq(3L), ArgumentMatchers.any(ObjectNode.class),
+                ArgumentMatchers.isNull()))
+            .thenThrow(new IllegalArgumentException("Field id cannot be changed"));
+
+        // Act & Assert
+        mockMvc.perform(MockMvcRequestBuilders.patch("/tasks/3")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"id\":7}"))
+            .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    @Test
+    void patchTask_ShouldReturnPreconditionFailed_WhenIfMatchIsStale() throws Exception {
+        // Arrange
+        Mockito.when(taskService.patchTask(ArgumentMatchers.eq(3L), ArgumentMatchers.any(ObjectNode.class),
+                ArgumentMatchers.eq(2L)))
+            .thenThrow(new ObjectOptimisticLockingFailureException(Task.class, 3L));
+
+        // Act & Assert
+        mockMvc.perform(MockMvcRequestBuilders.patch("/tasks/3")
+                .header("If-Match", "\"3-2\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"priority\":\"LOW\"}"))
+            .andExpect(MockMvcResultMatchers.status().isPreconditionFailed());
+    }
+
+    @Test
+    void updateTaskStatus_ShouldReturnSummary() throws Exception {
+        // Arrange
+        Mockito.when(taskService.updateStatus(3L, Task.Status.COMPLETED))
+            .thenReturn(TaskSummary.from(testTask).withStatus(Task.Status.COMPLETED, new Date()));
+
+        // Act & Assert
+        mockMvc.perform(MockMvcRequestBuilders.patch("/tasks/3/status")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"status\":\"completed\"}"))
+            .andExpect(MockMvcResultMatchers.status().isOk())
+            .andExpect(MockMvcResultMatchers.jsonPath("$.status").value("COMPLETED"));
+
+        Mockito.verify(taskService, Mockito.never()).getTaskById(ArgumentMatchers.anyLong());
+    }
+
+    @Test
+    void updateTaskStatus_ShouldReturnAccepted_WhenWriteBehindIsEnabled() throws Exception {
+        // Arrange
+        Mockito.when(taskService.isStatusWriteBehind()).thenReturn(true);
+
+        // Act & Assert
+        mockMvc.perform(MockMvcRequestBuilders.patch("/tasks/3/status")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"status\":\"COMPLETED\"}"))
+            .andExpect(MockMvcResultMatchers.status().isAccepted());
+
+        Mockito.verify(taskService).queueStatusUpdate(3L, Task.Status.COMPLETED);
+        Mockito.verify(taskService, Mockito.never()).updateStatus(ArgumentMatchers.anyLong(), ArgumentMatchers.any());
+    }
+
+    @Test
+    void updateTaskStatus_ShouldReturnBadRequest_WhenStatusIsInvalid() throws Exception {
+        // Act & Assert
+        mockMvc.perform(MockMvcRequestBuilders.patch("/tasks/3/status")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"status\":\"DONE\"}"))
+            .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+}
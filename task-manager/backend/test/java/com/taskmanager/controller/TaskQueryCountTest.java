@@ -0,0 +1,142 @@
+package com.taskmanager.controller;
+
+import com.taskmanager.config.SqlStatementStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Upper bounds on the SQL statements each endpoint issues, measured with
+ * {@link SqlStatementStats} against an Oracle-mode H2. A failure here usually
+ * means a lazy association or per-row lookup crept into a list path.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:querycount;MODE=Oracle;DB_CLOSE_DELAY=-1",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.Oracle12cDialect",
+    "taskmanager.jpa.sequence-mismatch-strategy=none",
+    "spring.jpa.hibernate.ddl-auto=none",
+    "taskmanager.cache.mode=none",
+    "taskmanager.search.engine=jpql"
+})
+@AutoConfigureMockMvc
+class TaskQueryCountTest {
+
+    private static final int TOP_LEVEL = 100;
+    private static final int SUBTASKS_PER_TASK = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM tasks WHERE parent_task_id IS NOT NULL");
+        jdbcTemplate.update("DELETE FROM tasks");
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        List<Object[]> rows = new ArrayList<>();
+        int id = 1;
+        for (; id <= TOP_LEVEL; id++) {
+            rows.add(new Object[] {id, "Task " + id, null, now, now});
+        }
+        for (long parent = 1; parent <= TOP_LEVEL; parent++) {
+            for (int i = 0; i < SUBTASKS_PER_TASK; i++, id++) {
+                rows.add(new Object[] {id, "Subtask " + id, parent, now, now});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO tasks (id, title, parent_task_id, is_deleted, created_at, updated_at) " +
+            "VALUES (?, ?, ?, 0, ?, ?)", rows);
+        jdbcTemplate.execute("ALTER SEQUENCE task_seq RESTART WITH " + (id + 50));
+    }
+
+    @Test
+    void getTaskById_ShouldIssueOneStatement() throws Exception {
+        assertMaxStatements(1, MockMvcRequestBuilders.get("/tasks/1"));
+    }
+
+    @Test
+    void getAllTasksPage_ShouldIssueOneStatement() throws Exception {
+        assertMaxStatements(1, MockMvcRequestBuilders.get("/tasks/page").param("limit", "50"));
+    }
+
+    @Test
+    void getTaskTree_ShouldIssueOneStatementPerLevel() throws Exception {
+        assertMaxStatements(3, MockMvcRequestBuilders.get("/tasks/tree")
+            .param("limit", "50")
+            .param("depth", "2"));
+    }
+
+    @Test
+    void getSubTasks_ShouldIssueOneStatement() throws Exception {
+        assertMaxStatements(1, MockMvcRequestBuilders.get("/tasks/1/subtasks"));
+    }
+
+    @Test
+    void getAllTasks_ShouldAnswerNotModifiedFromOneAggregate() throws Exception {
+        // Arrange
+        String etag = mockMvc.perform(MockMvcRequestBuilders.get("/tasks"))
+            .andExpect(MockMvcResultMatchers.status().isOk())
+            .andReturn().getResponse().getHeader("ETag");
+
+        // Act
+        SqlStatementStats stats = SqlStatementStats.begin();
+        try {
+            mockMvc.perform(MockMvcRequestBuilders.get("/tasks").header("If-None-Match", etag))
+                .andExpect(MockMvcResultMatchers.status().isNotModified());
+        } finally {
+            SqlStatementStats.end();
+        }
+
+        // Assert
+        assertEquals(1, stats.getStatementCount(), () -> "Expected only the validator query: " + stats.getStatements());
+    }
+
+    @Test
+    void createTasksBatch_ShouldBatchInserts() throws Exception {
+        StringJoiner body = new StringJoiner(",", "[", "]");
+        for (int i = 0; i < 100; i++) {
+            body.add("{\"title\":\"Batch " + i + "\"}");
+        }
+        // Two task_seq blocks of 50 plus one batched INSERT per flush, then the
+        // outbox: two task_event_seq blocks (three while the pooled optimizer
+        // initializes) and one batched INSERT of the 100 events
+        assertMaxStatements(9, MockMvcRequestBuilders.post("/tasks/batch")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(body.toString()));
+    }
+
+    private void assertMaxStatements(int max, RequestBuilder request) throws Exception {
+        // Act
+        SqlStatementStats stats = SqlStatementStats.begin();
+        try {
+            mockMvc.perform(request)
+                .andExpect(MockMvcResultMatchers.status().is2xxSuccessful());
+        } finally {
+            SqlStatementStats.end();
+        }
+
+        // Assert
+        assertTrue(stats.getStatementCount() <= max, () -> "Expected at most " + max + " statements but got " +
+            stats.getStatementCount() + ": " + stats.getStatements());
+    }
+}
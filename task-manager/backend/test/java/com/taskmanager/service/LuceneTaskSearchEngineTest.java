@@ -0,0 +1,119 @@
+package com.taskmanager.service;
+
+import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskEvent;
+import com.taskmanager.model.TaskSummary;
+import com.taskmanager.repository.TaskRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The index against a mocked repository, so a test controls which version
+ * of a task the rebuild walk reads and which one a live write reads.
+ */
+class LuceneTaskSearchEngineTest {
+
+    private static final int TASKS = 2000;
+    private static final int BATCH = 50;
+
+    private TaskRepository taskRepository;
+    private LuceneTaskSearchEngine engine;
+    private ExecutorService writers;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        taskRepository = Mockito.mock(TaskRepository.class);
+        engine = new LuceneTaskSearchEngine();
+        ReflectionTestUtils.setField(engine, "taskRepository", taskRepository);
+        engine.open();
+        writers = Executors.newSingleThreadExecutor();
+        Mockito.when(taskRepository.findSummariesByIds(ArgumentMatchers.anyCollection()))
+            .thenAnswer(invocation -> {
+                Collection<Long> ids = invocation.getArgument(0);
+                return ids.stream().map(id -> TaskSummary.from(task(id, "any"))).collect(Collectors.toList());
+            });
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        writers.shutdownNow();
+        engine.close();
+    }
+
+    @Test
+    void rebuild_ShouldNotOverwriteNewerLiveWrites() throws Exception {
+        // Arrange: the walk reads every task's old title, live writes the new one
+        CountDownLatch walking = new CountDownLatch(1);
+        Mockito.when(taskRepository.findByIsDeletedFalseAndIdGreaterThanOrderByIdAsc(
+                ArgumentMatchers.anyLong(), ArgumentMatchers.any(Pageable.class)))
+            .thenAnswer(invocation -> {
+                walking.countDown();
+                long after = invocation.getArgument(0);
+                List<Task> batch = new ArrayList<>();
+                for (long id = after + 1; id <= Math.min(after + 500, TASKS); id++) {
+                    batch.add(task(id, "stale"));
+                }
+                return batch;
+            });
+        Mockito.when(taskRepository.findAllById(ArgumentMatchers.<Iterable<Long>>any()))
+            .thenAnswer(invocation -> {
+                List<Task> tasks = new ArrayList<>();
+                invocation.<Iterable<Long>>getArgument(0).forEach(id -> tasks.add(task(id, "fresh")));
+                return tasks;
+            });
+        Future<?> liveWrites = writers.submit(() -> {
+            awaitQuietly(walking);
+            for (long from = 1; from <= TASKS; from += BATCH) {
+                List<TaskEvent> events = new ArrayList<>();
+                for (long id = from; id < from + BATCH; id++) {
+                    events.add(new TaskEvent(TaskEvent.Type.TASK_UPDATED, id, new Date()));
+                }
+                engine.onEvents(events);
+            }
+        });
+
+        // Act
+        engine.rebuild();
+        liveWrites.get(30, TimeUnit.SECONDS);
+
+        // Assert
+        assertTrue(engine.isReady());
+        assertEquals(TASKS, engine.search("fresh").size());
+        assertEquals(Collections.emptyList(), engine.search("stale"));
+    }
+
+    private static Task task(Long id, String title) {
+        Task task = new Task(title, null);
+        task.setId(id);
+        return task;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
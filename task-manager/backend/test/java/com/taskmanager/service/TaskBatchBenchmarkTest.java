@@ -0,0 +1,169 @@
+package com.taskmanager.service;
+
+import com.taskmanager.model.BatchResult;
+import com.taskmanager.model.Task;
+import com.taskmanager.repository.TaskRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the single-item create/update path with the bulk endpoints'
+ * service methods against an in-memory Oracle-mode H2. Run with
+ * {@code mvn test -Pbenchmark}. Bulk writes must prepare at least ten
+ * times fewer JDBC statements than single-item writes, which is where
+ * the order-of-magnitude gain against a remote Oracle comes from. H2 has
+ * no network round trip, so wall-clock throughput is logged and only
+ * checked against {@code benchmark.min-speed-up} (default 2).
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:batchbench;MODE=Oracle;DB_CLOSE_DELAY=-1",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.flyway.enabled=false"
+})
+class TaskBatchBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskBatchBenchmarkTest.class);
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 5000);
+    private static final double MIN_SPEED_UP = Double.parseDouble(System.getProperty("benchmark.min-speed-up", "2"));
+    private static final int MIN_ROUND_TRIP_REDUCTION = 10;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        taskRepository.deleteAllInBatch();
+        // Warm up JIT, the connection pool and Hibernate's statement cache
+        taskService.createTasks(newTasks(200, "warmup"));
+        for (int i = 0; i < 200; i++) {
+            taskService.createTask(newTask("warmup single " + i));
+        }
+    }
+
+    @Test
+    void createTasks_ShouldOutperformSingleItemCreates() {
+        List<Task> singles = newTasks(ROWS, "single");
+        Run single = measure(() -> singles.forEach(taskService::createTask));
+
+        List<Task> batch = newTasks(ROWS, "batch");
+        BatchResult[] result = new BatchResult[1];
+        Run bulk = measure(() -> result[0] = taskService.createTasks(batch));
+
+        assertEquals(ROWS, result[0].getSucceeded());
+        assertSpeedUp("create", single, bulk);
+    }
+
+    @Test
+    void updateTasks_ShouldOutperformSingleItemUpdates() {
+        BatchResult seededResult = taskService.createTasks(newTasks(ROWS, "seed"));
+        List<Task> seeded = taskRepository.findAllById(seededResult.getItems().stream()
+            .map(BatchResult.ItemResult::getId)
+            .collect(Collectors.toList()));
+
+        Run single = measure(() -> {
+            for (Task task : seeded) {
+                taskService.updateTask(task.getId(), withStatus(task, Task.Status.IN_PROGRESS));
+            }
+        });
+
+        List<Task> updates = new ArrayList<>();
+        for (Task task : seeded) {
+            updates.add(withStatus(task, Task.Status.COMPLETED));
+        }
+        BatchResult[] result = new BatchResult[1];
+        Run bulk = measure(() -> result[0] = taskService.updateTasks(updates));
+
+        assertEquals(seeded.size(), result[0].getSucceeded());
+        assertSpeedUp("update", single, bulk);
+    }
+
+    private List<Task> newTasks(int count, String prefix) {
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            tasks.add(newTask(prefix + " " + i));
+        }
+        return tasks;
+    }
+
+    private Task newTask(String title) {
+        Task task = new Task(title, "Benchmark task " + title);
+        task.setPriority(Task.Priority.MEDIUM);
+        task.setCategory(Task.Category.WORK);
+        task.setStatus(Task.Status.PENDING);
+        return task;
+    }
+
+    private Task withStatus(Task source, Task.Status status) {
+        Task details = new Task(source.getTitle(), source.getDescription());
+        details.setId(source.getId());
+        details.setPriority(source.getPriority());
+        details.setCategory(source.getCategory());
+        details.setStatus(status);
+        return details;
+    }
+
+    private Run measure(Runnable work) {
+        statistics.clear();
+        long start = System.nanoTime();
+        work.run();
+        return new Run(System.nanoTime() - start, statistics.getPrepareStatementCount());
+    }
+
+    private void assertSpeedUp(String operation, Run single, Run bulk) {
+        double singleRate = ROWS / (single.nanos / 1e9);
+        double bulkRate = ROWS / (bulk.nanos / 1e9);
+        double speedUp = bulkRate / singleRate;
+        double roundTripReduction = (double) single.statements / bulk.statements;
+        log.info("{} x{}: single {} rows/s in {} statements, bulk {} rows/s in {} statements, "
+                + "speed-up {}x, {}x fewer round trips", operation, ROWS, Math.round(singleRate), single.statements,
+            Math.round(bulkRate), bulk.statements, String.format("%.1f", speedUp),
+            String.format("%.1f", roundTripReduction));
+        assertTrue(roundTripReduction >= MIN_ROUND_TRIP_REDUCTION, () -> String.format("bulk %s should need at "
+            + "least %dx fewer statements than single-item %ss but needed %.1fx fewer", operation,
+            MIN_ROUND_TRIP_REDUCTION, operation, roundTripReduction));
+        assertTrue(speedUp >= MIN_SPEED_UP, () -> String.format("bulk %s should be at least %.1fx faster than "
+            + "single-item %ss but was %.1fx", operation, MIN_SPEED_UP, operation, speedUp));
+    }
+
+    private static final class Run {
+
+        final long nanos;
+        final long statements;
+
+        Run(long nanos, long statements) {
+            this.nanos = nanos;
+            this.statements = statements;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.taskmanager.service;
+
+import com.taskmanager.model.Task;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+/**
+ * The local cache against an Oracle-mode H2: what one caller does with a
+ * cached task must not reach other callers.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:taskcache;MODE=Oracle;DB_CLOSE_DELAY=-1",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.Oracle12cDialect",
+    "taskmanager.jpa.sequence-mismatch-strategy=none",
+    "spring.jpa.hibernate.ddl-auto=none",
+    "taskmanager.cache.mode=local",
+    "taskmanager.search.engine=jpql"
+})
+class TaskCacheTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskCache taskCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM tasks WHERE parent_task_id IS NOT NULL");
+        jdbcTemplate.update("DELETE FROM tasks");
+        taskCache.evictAll();
+    }
+
+    @Test
+    void getTaskById_ShouldNotShareMutationsBetweenCallers() {
+        // Arrange
+        Task task = taskService.createTask(new Task("Cached", "Description"));
+        Task first = taskService.getTaskById(task.getId()).orElseThrow();
+
+        // Act
+        first.setTitle("Changed by one caller");
+        first.getUpdatedAt().setTime(0);
+        Task second = taskService.getTaskById(task.getId()).orElseThrow();
+
+        // Assert
+        assertNotSame(first, second);
+        assertEquals("Cached", second.getTitle());
+        assertEquals(task.getUpdatedAt().getTime(), second.getUpdatedAt().getTime());
+        assertEquals("Description", second.getDescription());
+    }
+}
@@ -0,0 +1,144 @@
+package com.taskmanager.service;
+
+import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskChange;
+import com.taskmanager.model.TaskChangeFeed;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Reads the change feed against an Oracle-mode H2, where the V5 column
+ * default and ON UPDATE clause stand in for the Oracle trigger.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:taskchanges;MODE=Oracle;DB_CLOSE_DELAY=-1",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.Oracle12cDialect",
+    "taskmanager.jpa.sequence-mismatch-strategy=none",
+    "spring.jpa.hibernate.ddl-auto=none",
+    "taskmanager.cache.mode=none",
+    "taskmanager.search.engine=jpql"
+})
+class TaskChangeFeedTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM tasks WHERE parent_task_id IS NOT NULL");
+        jdbcTemplate.update("DELETE FROM tasks");
+    }
+
+    @Test
+    void getChanges_ShouldReturnOnlyWhatChangedSinceToken() {
+        // Arrange
+        Task first = taskService.createTask(new Task("First", null));
+        Task second = taskService.createTask(new Task("Second", null));
+        backdateAll();
+        String token = taskService.getChanges(null, null).getNextToken();
+        taskService.deleteTask(first.getId());
+        Task third = taskService.createTask(new Task("Third", null));
+
+        // Act
+        TaskChangeFeed feed = taskService.getChanges(token, null);
+
+        // Assert
+        assertEquals(List.of(first.getId(), third.getId()), ids(feed));
+        assertTrue(feed.getChanges().get(0).getIsDeleted());
+        assertFalse(feed.isHasMore());
+        assertTrue(ids(taskService.getChanges(feed.getNextToken(), null)).stream()
+            .noneMatch(id -> id.equals(second.getId())));
+    }
+
+    @Test
+    void getChanges_ShouldPageThroughOneRead() {
+        // Arrange
+        for (int i = 1; i <= 5; i++) {
+            taskService.createTask(new Task("Task " + i, null));
+        }
+
+        // Act
+        TaskChangeFeed firstPage = taskService.getChanges(null, 2);
+        TaskChangeFeed secondPage = taskService.getChanges(firstPage.getNextToken(), 2);
+        TaskChangeFeed lastPage = taskService.getChanges(secondPage.getNextToken(), 2);
+
+        // Assert
+        assertTrue(firstPage.isHasMore());
+        assertTrue(secondPage.isHasMore());
+        assertFalse(lastPage.isHasMore());
+        assertEquals(1, lastPage.getChanges().size());
+        assertTrue(firstPage.getChanges().get(1).getChangeVersion() < secondPage.getChanges().get(0).getChangeVersion());
+    }
+
+    @Test
+    void getChanges_ShouldPickUpLateCommitsWithinRescanWindow() {
+        // Arrange: a row committed after the read, but stamped with a version
+        // taken before it (here the one the token already covers), as an
+        // open transaction would leave it
+        taskService.createTask(new Task("Early", null));
+        backdateAll();
+        TaskChangeFeed read = taskService.getChanges(null, null);
+        long coveredVersion = read.getChanges().get(0).getChangeVersion();
+        jdbcTemplate.update("INSERT INTO tasks (id, title, is_deleted, created_at, updated_at, change_version) " +
+            "VALUES (999999, 'Late', 0, ?, ?, ?)",
+            new Timestamp(System.currentTimeMillis()), new Timestamp(System.currentTimeMillis()), coveredVersion);
+        String token = read.getNextToken();
+
+        // Act
+        TaskChangeFeed feed = taskService.getChanges(token, null);
+
+        // Assert
+        assertEquals(List.of(999999L), ids(feed));
+    }
+
+    @Test
+    void getChanges_ShouldPickUpLateCommits_FromAnInstanceWhoseClockLags() {
+        // Arrange: as above, but the writer's clock is an hour behind, so
+        // only the database-stamped changed_at is recent
+        taskService.createTask(new Task("Early", null));
+        backdateAll();
+        TaskChangeFeed read = taskService.getChanges(null, null);
+        long coveredVersion = read.getChanges().get(0).getChangeVersion();
+        Timestamp lagging = new Timestamp(System.currentTimeMillis() - 3600000);
+        jdbcTemplate.update("INSERT INTO tasks (id, title, is_deleted, created_at, updated_at, change_version) " +
+            "VALUES (999998, 'Lagging', 0, ?, ?, ?)", lagging, lagging, coveredVersion);
+
+        // Act
+        TaskChangeFeed feed = taskService.getChanges(read.getNextToken(), null);
+
+        // Assert
+        assertEquals(List.of(999998L), ids(feed));
+    }
+
+    @Test
+    void getChanges_ShouldRejectMalformedToken() {
+        assertThrows(IllegalArgumentException.class, () -> taskService.getChanges("not-a-token", null));
+    }
+
+    // Moves existing rows out of the rescan window, as if written long ago
+    private void backdateAll() {
+        jdbcTemplate.update("UPDATE tasks SET changed_at = DATEADD('HOUR', -1, changed_at)");
+    }
+
+    private static List<Long> ids(TaskChangeFeed feed) {
+        return feed.getChanges().stream().map(TaskChange::getId).collect(Collectors.toList());
+    }
+}
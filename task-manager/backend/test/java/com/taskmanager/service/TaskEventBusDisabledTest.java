@@ -0,0 +1,80 @@
+package com.taskmanager.service;
+
+import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskSummary;
+import com.taskmanager.repository.TaskEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The Lucene index with the event bus turned off, on an Oracle-mode H2:
+ * each write must reach the index as soon as it has committed, without an
+ * outbox row.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:taskeventsoff;MODE=Oracle;DB_CLOSE_DELAY=-1",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.Oracle12cDialect",
+    "taskmanager.jpa.sequence-mismatch-strategy=none",
+    "spring.jpa.hibernate.ddl-auto=none",
+    "taskmanager.cache.mode=none",
+    "taskmanager.search.engine=lucene",
+    "taskmanager.events.enabled=false"
+})
+class TaskEventBusDisabledTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private LuceneTaskSearchEngine searchEngine;
+
+    @Autowired
+    private TaskEventRepository eventRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM tasks WHERE parent_task_id IS NOT NULL");
+        jdbcTemplate.update("DELETE FROM tasks");
+        searchEngine.rebuild();
+        assertTrue(searchEngine.isReady());
+    }
+
+    @Test
+    void writes_ShouldReachTheIndexOnCommit() {
+        // Act & Assert
+        Task task = taskService.createTask(new Task("Quartz survey", "Description"));
+        assertEquals(Collections.singletonList(task.getId()), idsMatching("quartz"));
+
+        taskService.updateTask(task.getId(), new Task("Basalt survey", "Description"));
+        assertEquals(Collections.emptyList(), idsMatching("quartz"));
+        assertEquals(Collections.singletonList(task.getId()), idsMatching("basalt"));
+
+        taskService.deleteTask(task.getId());
+        assertEquals(Collections.emptyList(), idsMatching("basalt"));
+
+        taskService.restoreTask(task.getId());
+        assertEquals(Collections.singletonList(task.getId()), idsMatching("basalt"));
+
+        assertEquals(0, eventRepository.count());
+    }
+
+    private List<Long> idsMatching(String keyword) {
+        return searchEngine.search(keyword).stream().map(TaskSummary::getId).collect(Collectors.toList());
+    }
+}
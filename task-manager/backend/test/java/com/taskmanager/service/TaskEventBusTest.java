@@ -0,0 +1,223 @@
+package com.taskmanager.service;
+
+import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskEvent;
+import com.taskmanager.repository.TaskEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Events from TaskService through the outbox to a recording listener on an
+ * Oracle-mode H2. The relay only runs when a test calls it, and picks up
+ * every undelivered row when it does.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:taskevents;MODE=Oracle;DB_CLOSE_DELAY=-1",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.Oracle12cDialect",
+    "taskmanager.jpa.sequence-mismatch-strategy=none",
+    "spring.jpa.hibernate.ddl-auto=none",
+    "taskmanager.cache.mode=none",
+    "taskmanager.search.engine=jpql",
+    "taskmanager.events.relay-interval-ms=3600000",
+    "taskmanager.events.redelivery-delay-ms=0",
+    "taskmanager.events.max-attempts=2"
+})
+class TaskEventBusTest {
+
+    @TestConfiguration
+    static class RecordingListenerConfig {
+
+        @Bean
+        RecordingListener recordingListener() {
+            return new RecordingListener();
+        }
+    }
+
+    static class RecordingListener implements TaskEventListener {
+
+        final List<TaskEvent> received = new CopyOnWriteArrayList<>();
+        final AtomicBoolean failNext = new AtomicBoolean();
+        final Set<Long> poisonedTaskIds = ConcurrentHashMap.newKeySet();
+
+        @Override
+        public void onEvents(List<TaskEvent> events) {
+            if (failNext.getAndSet(false)) {
+                throw new IllegalStateException("Listener down");
+            }
+            if (events.stream().anyMatch(event -> poisonedTaskIds.contains(event.getTaskId()))) {
+                throw new IllegalStateException("Poisoned event");
+            }
+            received.addAll(events);
+        }
+    }
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskEventBus taskEventBus;
+
+    @Autowired
+    private TaskEventRepository eventRepository;
+
+    @Autowired
+    private RecordingListener listener;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM tasks WHERE parent_task_id IS NOT NULL");
+        jdbcTemplate.update("DELETE FROM tasks");
+        jdbcTemplate.update("DELETE FROM task_events");
+        listener.received.clear();
+        listener.failNext.set(false);
+        listener.poisonedTaskIds.clear();
+    }
+
+    @Test
+    void mutations_ShouldBeDeliveredInOrder_AndLeaveTheOutbox() {
+        // Arrange
+        Task task = taskService.createTask(new Task("Evented", "Description"));
+
+        // Act
+        taskService.updateTask(task.getId(), new Task("Evented again", "Description"));
+        taskService.deleteTask(task.getId());
+        taskService.restoreTask(task.getId());
+
+        // Assert
+        await(() -> listener.received.size() == 4);
+        assertEquals(Arrays.asList(TaskEvent.Type.TASK_CREATED, TaskEvent.Type.TASK_UPDATED,
+            TaskEvent.Type.TASK_DELETED, TaskEvent.Type.TASK_RESTORED), types(listener.received));
+        assertTrue(listener.received.stream().allMatch(event -> task.getId().equals(event.getTaskId())));
+        await(() -> eventRepository.count() == 0);
+    }
+
+    @Test
+    void rolledBackWrite_ShouldPublishNothing() {
+        // Act
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            taskService.createTask(new Task("Never committed", null));
+            status.setRollbackOnly();
+        });
+        Task committed = taskService.createTask(new Task("Committed", null));
+
+        // Assert
+        await(() -> !listener.received.isEmpty());
+        assertEquals(1, listener.received.size());
+        assertEquals(committed.getId(), listener.received.get(0).getTaskId());
+    }
+
+    @Test
+    void relay_ShouldRedeliver_WhenListenerFailed() {
+        // Arrange
+        listener.failNext.set(true);
+        Task task = taskService.createTask(new Task("Retried", null));
+        await(() -> !listener.failNext.get());
+        assertTrue(listener.received.isEmpty());
+
+        // Act
+        await(() -> {
+            taskEventBus.relay();
+            return !listener.received.isEmpty();
+        });
+
+        // Assert
+        assertEquals(TaskEvent.Type.TASK_CREATED, listener.received.get(0).getType());
+        assertEquals(task.getId(), listener.received.get(0).getTaskId());
+        await(() -> eventRepository.count() == 0);
+    }
+
+    @Test
+    void relay_ShouldDeadLetterEvent_ThatKeepsFailing_AndDeliverTheRestOfItsBatch() {
+        // Arrange: one transaction, so both events are queued together, and
+        // poisoned before its commit hands them to the dispatcher
+        Long[] ids = new Long[2];
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            ids[0] = taskService.createTask(new Task("Poisoned", null)).getId();
+            ids[1] = taskService.createTask(new Task("Healthy", null)).getId();
+            listener.poisonedTaskIds.add(ids[0]);
+        });
+        Long poisonedId = ids[0];
+        Long healthyId = ids[1];
+
+        // Act
+        await(() -> !listener.received.isEmpty());
+        await(() -> attempts(poisonedId) == 1);
+        await(() -> {
+            taskEventBus.relay();
+            return eventRepository.count() == 0;
+        });
+
+        // Assert
+        assertEquals(1, listener.received.size());
+        assertEquals(healthyId, listener.received.get(0).getTaskId());
+    }
+
+    @Test
+    void batchWrites_ShouldPublishOneEventPerTask() {
+        // Arrange
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            tasks.add(new Task("Batch " + i, null));
+        }
+
+        // Act
+        taskService.createTasks(tasks);
+
+        // Assert
+        await(() -> listener.received.size() == 250);
+        assertEquals(250, listener.received.stream().map(TaskEvent::getTaskId).distinct().count());
+        await(() -> eventRepository.count() == 0);
+    }
+
+    private int attempts(Long taskId) {
+        return jdbcTemplate.queryForObject("SELECT COALESCE(MAX(attempts), 0) FROM task_events WHERE task_id = ?",
+            Integer.class, taskId);
+    }
+
+    private static List<TaskEvent.Type> types(List<TaskEvent> events) {
+        return events.stream().map(TaskEvent::getType).collect(Collectors.toList());
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Timed out waiting for task events");
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.taskmanager.service;
+
+import com.taskmanager.model.TaskImportResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.StringJoiner;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Runs bulk imports against an Oracle-mode H2 with two-row batches, so
+ * every test spans several checkpoint commits.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:taskimport;MODE=Oracle;DB_CLOSE_DELAY=-1",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.Oracle12cDialect",
+    "taskmanager.jpa.sequence-mismatch-strategy=none",
+    "spring.jpa.hibernate.ddl-auto=none",
+    "taskmanager.cache.mode=none",
+    "taskmanager.search.engine=jpql",
+    "taskmanager.import.batch-size=2"
+})
+class TaskImportServiceTest {
+
+    @Autowired
+    private TaskImportService taskImportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM task_import_errors");
+        jdbcTemplate.update("DELETE FROM task_import_ids");
+        jdbcTemplate.update("DELETE FROM task_imports");
+        jdbcTemplate.update("DELETE FROM tasks WHERE parent_task_id IS NOT NULL");
+        jdbcTemplate.update("DELETE FROM tasks");
+    }
+
+    @Test
+    void importTasks_ShouldResolveForwardParentsAndReportBadRows() throws Exception {
+        // Arrange
+        String csv = "id,title,description,priority,status,parent_task_id\n" +
+            "1,Child first,\"Line one\nline two, with \"\"quotes\"\"\",HIGH,PENDING,2\n" +
+            "2,Parent,,LOW,COMPLETED,\n" +
+            "3,,missing title,,,\n" +
+            "4,Orphan,,,,999\n";
+
+        // Act
+        TaskImportResult result = taskImportService.importTasks("csv-import", TaskExportFormat.CSV, stream(csv));
+
+        // Assert
+        assertEquals(TaskImportResult.Status.COMPLETED, result.getStatus());
+        assertEquals(4, result.getRowsRead());
+        assertEquals(3, result.getRowsImported());
+        assertEquals(1, result.getRowsFailed());
+        assertEquals(2, result.getErrors().size());
+        assertEquals(3, result.getErrors().get(0).getRow());
+        assertEquals("Title is required", result.getErrors().get(0).getMessage());
+        assertEquals(4, result.getErrors().get(1).getRow());
+
+        assertEquals(1, count("SELECT COUNT(*) FROM tasks c JOIN tasks p ON c.parent_task_id = p.id " +
+            "WHERE c.title = 'Child first' AND p.title = 'Parent'"));
+        assertEquals(1, count("SELECT COUNT(*) FROM tasks WHERE title = 'Orphan' AND parent_task_id IS NULL"));
+        assertEquals("Line one\nline two, with \"quotes\"", jdbcTemplate.queryForObject(
+            "SELECT description FROM tasks WHERE title = 'Child first'", String.class));
+    }
+
+    @Test
+    void importTasks_ShouldResumeAfterLastCommittedBatch() throws Exception {
+        // Arrange: the first attempt loses its input after five of eight lines
+        StringJoiner jsonl = new StringJoiner("\n", "", "\n");
+        for (int i = 1; i <= 8; i++) {
+            jsonl.add("{\"id\":" + (100 + i) + ",\"title\":\"Imported " + i + "\",\"parentTaskId\":" +
+                (i > 1 ? "101" : "null") + "}");
+        }
+        String content = jsonl.toString();
+        String firstFiveLines = content.substring(0, content.indexOf("{\"id\":106"));
+        assertThrows(IOException.class, () -> taskImportService.importTasks("jsonl-import", TaskExportFormat.JSONL,
+            failingAfter(firstFiveLines)));
+        TaskImportResult interrupted = taskImportService.getImport("jsonl-import");
+        assertEquals(TaskImportResult.Status.FAILED, interrupted.getStatus());
+        assertEquals(4, interrupted.getRowsRead());
+
+        // Act
+        TaskImportResult result = taskImportService.importTasks("jsonl-import", TaskExportFormat.JSONL,
+            stream(content));
+
+        // Assert
+        assertEquals(TaskImportResult.Status.COMPLETED, result.getStatus());
+        assertEquals(8, result.getRowsRead());
+        assertEquals(8, result.getRowsImported());
+        assertEquals(8, count("SELECT COUNT(*) FROM tasks"));
+        assertEquals(7, count("SELECT COUNT(*) FROM tasks c JOIN tasks p ON c.parent_task_id = p.id " +
+            "WHERE p.title = 'Imported 1'"));
+    }
+
+    @Test
+    void importTasks_ShouldReturnCompletedImportWithoutReimporting() throws Exception {
+        // Arrange
+        taskImportService.importTasks("done", TaskExportFormat.JSONL, stream("{\"title\":\"Once\"}\n"));
+
+        // Act
+        TaskImportResult result = taskImportService.importTasks("done", TaskExportFormat.JSONL,
+            stream("{\"title\":\"Once\"}\n"));
+
+        // Assert
+        assertEquals(TaskImportResult.Status.COMPLETED, result.getStatus());
+        assertEquals(1, count("SELECT COUNT(*) FROM tasks"));
+    }
+
+    @Test
+    void getImport_ShouldReturnNull_WhenImportIsUnknown() {
+        assertNull(taskImportService.getImport("missing"));
+    }
+
+    private int count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Integer.class);
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Fails where the content ends instead of reporting end of input, like a dropped upload
+    private static InputStream failingAfter(String content) {
+        InputStream in = stream(content);
+        return new InputStream() {
+            @Override
+            public int read() throws IOException {
+                int b = in.read();
+                if (b < 0) {
+                    throw new IOException("Connection reset");
+                }
+                return b;
+            }
+        };
+    }
+}
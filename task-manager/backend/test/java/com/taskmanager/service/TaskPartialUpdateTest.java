@@ -0,0 +1,141 @@
+package com.taskmanager.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanager.config.SqlStatementStats;
+import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskSummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Partial updates on an Oracle-mode H2: the UPDATE statements must leave
+ * the description column alone, and queued write-behind changes must
+ * collapse to one write per task. The write-behind window is pushed out so
+ * the tests decide when it flushes.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:taskpatch;MODE=Oracle;DB_CLOSE_DELAY=-1",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.Oracle12cDialect",
+    "taskmanager.jpa.sequence-mismatch-strategy=none",
+    "spring.jpa.hibernate.ddl-auto=none",
+    "taskmanager.cache.mode=none",
+    "taskmanager.search.engine=jpql",
+    "taskmanager.write-behind.enabled=true",
+    "taskmanager.write-behind.window-ms=3600000"
+})
+class TaskPartialUpdateTest {
+
+    private static final String DESCRIPTION = "A long description that a status change should never rewrite";
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskStatusWriteBehind statusWriteBehind;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM tasks WHERE parent_task_id IS NOT NULL");
+        jdbcTemplate.update("DELETE FROM tasks");
+        Task created = new Task("Toggle me", DESCRIPTION);
+        created.setStatus(Task.Status.PENDING);
+        created.setPriority(Task.Priority.LOW);
+        task = taskService.createTask(created);
+    }
+
+    @Test
+    void updateStatus_ShouldNotWriteDescription() {
+        // Act
+        SqlStatementStats stats = SqlStatementStats.begin();
+        TaskSummary updated;
+        try {
+            updated = taskService.updateStatus(task.getId(), Task.Status.COMPLETED);
+        } finally {
+            SqlStatementStats.end();
+        }
+
+        // Assert
+        assertEquals(Task.Status.COMPLETED, updated.getStatus());
+        assertNoDescriptionWrite(stats);
+        Task stored = taskService.getTaskById(task.getId()).orElseThrow();
+        assertEquals(Task.Status.COMPLETED, stored.getStatus());
+        assertEquals(DESCRIPTION, stored.getDescription());
+        assertEquals(task.getVersion() + 1, stored.getVersion());
+    }
+
+    @Test
+    void patchTask_ShouldUpdateOnlyChangedColumns() {
+        // Act
+        SqlStatementStats stats = SqlStatementStats.begin();
+        try {
+            taskService.patchTask(task.getId(), objectMapper.createObjectNode().put("priority", "HIGH"), null);
+        } finally {
+            SqlStatementStats.end();
+        }
+
+        // Assert
+        assertNoDescriptionWrite(stats);
+        Task stored = taskService.getTaskById(task.getId()).orElseThrow();
+        assertEquals(Task.Priority.HIGH, stored.getPriority());
+        assertEquals(Task.Status.PENDING, stored.getStatus());
+        assertEquals(DESCRIPTION, stored.getDescription());
+    }
+
+    @Test
+    void patchTask_ShouldRejectFieldsThatCannotChange() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () ->
+            taskService.patchTask(task.getId(), objectMapper.createObjectNode().put("isDeleted", true), null));
+        assertFalse(taskService.getTaskById(task.getId()).orElseThrow().getIsDeleted());
+    }
+
+    @Test
+    void queueStatusUpdate_ShouldWriteOnlyTheLastQueuedStatus() {
+        // Arrange
+        taskService.queueStatusUpdate(task.getId(), Task.Status.IN_PROGRESS);
+        taskService.queueStatusUpdate(task.getId(), Task.Status.COMPLETED);
+        taskService.queueStatusUpdate(task.getId(), Task.Status.IN_PROGRESS);
+        assertEquals(Task.Status.PENDING, taskService.getTaskById(task.getId()).orElseThrow().getStatus());
+
+        // Act
+        statusWriteBehind.flush();
+
+        // Assert
+        Task stored = taskService.getTaskById(task.getId()).orElseThrow();
+        assertEquals(Task.Status.IN_PROGRESS, stored.getStatus());
+        assertEquals(task.getVersion() + 1, stored.getVersion());
+        assertEquals(DESCRIPTION, stored.getDescription());
+    }
+
+    private static void assertNoDescriptionWrite(SqlStatementStats stats) {
+        List<String> updates = new ArrayList<>();
+        for (String sql : stats.getStatements().keySet()) {
+            if (sql.trim().toLowerCase().startsWith("update")) {
+                updates.add(sql);
+            }
+        }
+        assertEquals(1, updates.size(), () -> "Expected one UPDATE: " + stats.getStatements());
+        assertFalse(updates.get(0).toLowerCase().contains("description"), () -> "Rewrote description: " + updates);
+    }
+}
@@ -0,0 +1,159 @@
+package com.taskmanager.service;
+
+import com.taskmanager.model.CursorPage;
+import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskQuery;
+import com.taskmanager.model.TaskSummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Runs GET /tasks/query combinations against an Oracle-mode H2, which
+ * sorts NULL due dates the way Oracle does.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:taskquery;MODE=Oracle;DB_CLOSE_DELAY=-1",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.Oracle12cDialect",
+    "taskmanager.jpa.sequence-mismatch-strategy=none",
+    "spring.jpa.hibernate.ddl-auto=none",
+    "taskmanager.cache.mode=none",
+    "taskmanager.search.engine=jpql"
+})
+class TaskQueryTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM tasks WHERE parent_task_id IS NOT NULL");
+        jdbcTemplate.update("DELETE FROM tasks");
+    }
+
+    @Test
+    void queryTasks_ShouldApplyEveryFilterTogether() {
+        // Arrange
+        Task match = create("Match", Task.Status.PENDING, Task.Priority.HIGH, Task.Category.WORK, "2025-03-10", null);
+        create("Due later", Task.Status.PENDING, Task.Priority.HIGH, Task.Category.WORK, "2025-04-10", null);
+        create("Completed", Task.Status.COMPLETED, Task.Priority.HIGH, Task.Category.WORK, "2025-03-12", null);
+        create("Low", Task.Status.PENDING, Task.Priority.LOW, Task.Category.WORK, "2025-03-11", null);
+        create("Personal", Task.Status.PENDING, Task.Priority.HIGH, Task.Category.PERSONAL, "2025-03-15", null);
+        Task deleted = create("Deleted", Task.Status.PENDING, Task.Priority.HIGH, Task.Category.WORK,
+            "2025-03-11", null);
+        taskService.deleteTask(deleted.getId());
+
+        TaskQuery query = new TaskQuery();
+        query.setStatus(Task.Status.PENDING);
+        query.setPriority(Task.Priority.HIGH);
+        query.setCategory(Task.Category.WORK);
+        query.setDueFrom(Date.valueOf("2025-03-01"));
+        query.setDueTo(Date.valueOf("2025-03-31"));
+
+        // Act
+        CursorPage<TaskSummary> page = taskService.queryTasks(query, null, null);
+
+        // Assert
+        assertEquals(List.of(match.getId()), ids(page.getItems()));
+    }
+
+    @Test
+    void queryTasks_ShouldMatchKeywordWithinParent() {
+        // Arrange
+        Task parent = create("Quarter close", Task.Status.PENDING, Task.Priority.MEDIUM, Task.Category.WORK, null,
+            null);
+        Task report = create("Write report", Task.Status.PENDING, Task.Priority.MEDIUM, Task.Category.WORK, null,
+            parent.getId());
+        create("Book room", Task.Status.PENDING, Task.Priority.MEDIUM, Task.Category.WORK, null, parent.getId());
+        create("Read report", Task.Status.PENDING, Task.Priority.MEDIUM, Task.Category.WORK, null, null);
+
+        TaskQuery inParent = new TaskQuery();
+        inParent.setParentTaskId(parent.getId());
+        inParent.setKeyword("REPORT");
+        TaskQuery topLevel = new TaskQuery();
+        topLevel.setTopLevel(true);
+        topLevel.setSort(TaskQuery.Sort.CREATED_ASC);
+
+        // Act
+        CursorPage<TaskSummary> children = taskService.queryTasks(inParent, null, null);
+        CursorPage<TaskSummary> roots = taskService.queryTasks(topLevel, null, null);
+
+        // Assert
+        assertEquals(List.of(report.getId()), ids(children.getItems()));
+        assertEquals(2, roots.getItems().size());
+        assertEquals(parent.getId(), roots.getItems().get(0).getId());
+    }
+
+    @Test
+    void queryTasks_ShouldPageByDueDateWithTasksWithoutOneAtTheEnd() {
+        // Arrange
+        Task noDue1 = create("No due 1", Task.Status.PENDING, Task.Priority.LOW, Task.Category.HEALTH, null, null);
+        Task march = create("March", Task.Status.PENDING, Task.Priority.LOW, Task.Category.HEALTH, "2025-03-01", null);
+        Task noDue2 = create("No due 2", Task.Status.PENDING, Task.Priority.LOW, Task.Category.HEALTH, null, null);
+        Task january = create("January", Task.Status.PENDING, Task.Priority.LOW, Task.Category.HEALTH,
+            "2025-01-01", null);
+        Task alsoMarch = create("Also March", Task.Status.PENDING, Task.Priority.LOW, Task.Category.HEALTH,
+            "2025-03-01", null);
+
+        // Act
+        List<Long> ascending = readAll(TaskQuery.Sort.DUE_DATE_ASC);
+        List<Long> descending = readAll(TaskQuery.Sort.DUE_DATE_DESC);
+
+        // Assert
+        assertEquals(List.of(january.getId(), march.getId(), alsoMarch.getId(), noDue1.getId(), noDue2.getId()),
+            ascending);
+        assertEquals(List.of(noDue2.getId(), noDue1.getId(), alsoMarch.getId(), march.getId(), january.getId()),
+            descending);
+    }
+
+    @Test
+    void queryTasks_ShouldRejectInvalidCursor() {
+        assertThrows(IllegalArgumentException.class, () -> taskService.queryTasks(new TaskQuery(), "garbage", null));
+    }
+
+    // Follows nextCursor two rows at a time
+    private List<Long> readAll(TaskQuery.Sort sort) {
+        TaskQuery query = new TaskQuery();
+        query.setCategory(Task.Category.HEALTH);
+        query.setSort(sort);
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<TaskSummary> page = taskService.queryTasks(query, cursor, 2);
+            ids.addAll(ids(page.getItems()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return ids;
+    }
+
+    private Task create(String title, Task.Status status, Task.Priority priority, Task.Category category,
+                        String dueDate, Long parentTaskId) {
+        Task task = new Task(title, null);
+        task.setStatus(status);
+        task.setPriority(priority);
+        task.setCategory(category);
+        task.setDueDate(dueDate == null ? null : Date.valueOf(dueDate));
+        task.setParentTaskId(parentTaskId);
+        return taskService.createTask(task);
+    }
+
+    private static List<Long> ids(List<TaskSummary> tasks) {
+        return tasks.stream().map(TaskSummary::getId).collect(Collectors.toList());
+    }
+}
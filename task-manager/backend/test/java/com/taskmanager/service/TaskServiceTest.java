@@ -3,13 +3,17 @@ package com.taskmanager.service;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.taskmanager.config.DatabaseConfig;
 import com.taskmanager.controller.TaskController;
 import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskSummary;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -24,7 +28,9 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 
-@WebMvcTest(TaskController.class)
+// DatabaseConfig also registers the CORS mapping, which would pull its Oracle pool into the slice
+@WebMvcTest(controllers = TaskController.class, excludeFilters = @ComponentScan.Filter(
+    type = FilterType.ASSIGNABLE_TYPE, classes = DatabaseConfig.class))
 class TaskControllerTest {
 
     @Autowired
@@ -33,13 +39,19 @@ class TaskControllerTest {
     @MockBean
     private TaskService taskService;
 
+    @MockBean
+    private TaskImportService taskImportService;
+
+    @MockBean
+    private TaskChangeBroadcaster changeBroadcaster;
+
     @Autowired
     private ObjectMapper objectMapper;
 
     private Task testTask;
     private Task parentTask;
     private Task subTask;
-    private List<Task> testTasks;
+    private List<TaskSummary> testTasks;
 
     @BeforeEach
     void setUp() {
@@ -83,7 +95,7 @@ class TaskControllerTest {
         testTask.setCreatedAt(new Date());
         testTask.setUpdatedAt(new Date());
 
-        testTasks = Arrays.asList(parentTask, testTask);
+        testTasks = Arrays.asList(TaskSummary.from(parentTask), TaskSummary.from(testTask));
     }
 
     @Test
@@ -0,0 +1,140 @@
+package com.taskmanager.service;
+
+import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the incrementally maintained counts against a fresh GROUP BY
+ * rebuild on an Oracle-mode H2. The periodic rebuild is pushed out of the
+ * way so only the writes under test move the counters.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:taskstats;MODE=Oracle;DB_CLOSE_DELAY=-1",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.Oracle12cDialect",
+    "taskmanager.jpa.sequence-mismatch-strategy=none",
+    "spring.jpa.hibernate.ddl-auto=none",
+    "taskmanager.cache.mode=none",
+    "taskmanager.search.engine=jpql",
+    "taskmanager.stats.reconcile-interval-ms=3600000"
+})
+class TaskStatisticsTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskStatistics taskStatistics;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM tasks WHERE parent_task_id IS NOT NULL");
+        jdbcTemplate.update("DELETE FROM tasks");
+        taskStatistics.reconcile();
+    }
+
+    @Test
+    void getStats_ShouldFollowCreateUpdateDeleteAndRestore() {
+        // Arrange
+        Task overdue = create("Overdue", Task.Status.PENDING, Task.Priority.HIGH, "2000-01-01");
+        create("Done late", Task.Status.COMPLETED, Task.Priority.HIGH, "2000-01-01");
+        Task later = create("Later", Task.Status.IN_PROGRESS, Task.Priority.LOW, "2999-01-01");
+
+        // Act
+        Task details = taskService.getTaskById(later.getId()).orElseThrow();
+        details.setStatus(Task.Status.COMPLETED);
+        taskService.updateTask(later.getId(), details);
+        taskService.deleteTask(overdue.getId());
+        taskService.deleteTask(overdue.getId());
+        taskService.restoreTask(overdue.getId());
+        taskService.restoreTask(overdue.getId());
+        TaskStats stats = taskService.getStats();
+
+        // Assert
+        assertEquals(3, stats.getTotal());
+        assertEquals(1, stats.getByStatus().get(Task.Status.PENDING));
+        assertEquals(0, stats.getByStatus().get(Task.Status.IN_PROGRESS));
+        assertEquals(2, stats.getByStatus().get(Task.Status.COMPLETED));
+        assertEquals(2, stats.getByPriority().get(Task.Priority.HIGH));
+        assertEquals(1, stats.getOverdue());
+        assertSameCounts(stats, rebuilt());
+    }
+
+    @Test
+    void getStats_ShouldStayExact_UnderConcurrentWrites() throws Exception {
+        // Arrange
+        int threads = 8;
+        int tasksPerThread = 25;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Callable<Void>> writers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            writers.add(() -> {
+                for (int i = 0; i < tasksPerThread; i++) {
+                    Task task = create("Task " + thread + "-" + i, Task.Status.values()[i % 3],
+                        Task.Priority.values()[i % 4], i % 2 == 0 ? "2000-01-01" : null);
+                    if (i % 5 == 0) {
+                        taskService.deleteTask(task.getId());
+                    }
+                }
+                return null;
+            });
+        }
+
+        // Act
+        for (Future<Void> writer : pool.invokeAll(writers)) {
+            writer.get();
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+        TaskStats stats = taskService.getStats();
+
+        // Assert
+        assertEquals(threads * (tasksPerThread - 5), stats.getTotal());
+        assertSameCounts(stats, rebuilt());
+    }
+
+    private TaskStats rebuilt() {
+        taskStatistics.reconcile();
+        return taskService.getStats();
+    }
+
+    private static void assertSameCounts(TaskStats expected, TaskStats actual) {
+        assertEquals(expected.getTotal(), actual.getTotal());
+        assertEquals(expected.getByStatus(), actual.getByStatus());
+        assertEquals(expected.getByCategory(), actual.getByCategory());
+        assertEquals(expected.getByPriority(), actual.getByPriority());
+        assertEquals(expected.getOverdue(), actual.getOverdue());
+    }
+
+    private Task create(String title, Task.Status status, Task.Priority priority, String dueDate) {
+        Task task = new Task(title, null);
+        task.setStatus(status);
+        task.setPriority(priority);
+        task.setCategory(Task.Category.WORK);
+        task.setDueDate(dueDate == null ? null : Date.valueOf(dueDate));
+        return taskService.createTask(task);
+    }
+}
@@ -0,0 +1,219 @@
+package com.taskmanager.service;
+
+import com.taskmanager.model.Task;
+import com.taskmanager.model.TaskEvent;
+import com.taskmanager.model.TaskStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Cascading delete and restore against an Oracle-mode H2, so the subtree
+ * walk runs as real SQL. Only rows whose flag flips may move the counts or
+ * publish an event.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:tasktree;MODE=Oracle;DB_CLOSE_DELAY=-1",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.Oracle12cDialect",
+    "taskmanager.jpa.sequence-mismatch-strategy=none",
+    "spring.jpa.hibernate.ddl-auto=none",
+    "taskmanager.cache.mode=none",
+    "taskmanager.search.engine=jpql",
+    "taskmanager.stats.reconcile-interval-ms=3600000"
+})
+class TaskTreeDeleteTest {
+
+    @TestConfiguration
+    static class RecordingListenerConfig {
+
+        @Bean
+        RecordingListener recordingListener() {
+            return new RecordingListener();
+        }
+    }
+
+    static class RecordingListener implements TaskEventListener {
+
+        final List<TaskEvent> received = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void onEvents(List<TaskEvent> events) {
+            received.addAll(events);
+        }
+    }
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskStatistics taskStatistics;
+
+    @Autowired
+    private RecordingListener listener;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Task root;
+    private Task child;
+    private Task grandchild;
+    private Task deletedLeaf;
+
+    @BeforeEach
+    void setUp() {
+        // Unlinks first, since a test may leave parent links in a cycle
+        jdbcTemplate.update("UPDATE tasks SET parent_task_id = NULL");
+        jdbcTemplate.update("DELETE FROM tasks");
+        taskStatistics.reconcile();
+        listener.received.clear();
+
+        root = create("Root", null);
+        child = create("Child", root.getId());
+        grandchild = create("Grandchild", child.getId());
+        deletedLeaf = create("Deleted leaf", child.getId());
+        taskService.deleteTask(deletedLeaf.getId());
+        await(() -> listener.received.size() == 5);
+        listener.received.clear();
+    }
+
+    @Test
+    void deleteTaskTree_ShouldDeleteEveryDescendant_AndReportOnlyRowsItChanged() {
+        // Act
+        boolean deleted = taskService.deleteTaskTree(root.getId());
+
+        // Assert
+        assertTrue(deleted);
+        assertEquals(4, countDeleted());
+        TaskStats stats = taskService.getStats();
+        assertEquals(0, stats.getTotal());
+        assertSameCounts(stats, rebuilt());
+        await(() -> listener.received.size() == 3);
+        assertEventsFor(TaskEvent.Type.TASK_DELETED, root, child, grandchild);
+    }
+
+    @Test
+    void restoreTaskTree_ShouldRestoreEveryDescendant_AndReportOnlyRowsItChanged() {
+        // Arrange
+        taskService.deleteTask(grandchild.getId());
+        await(() -> listener.received.size() == 1);
+        listener.received.clear();
+
+        // Act
+        Task restored = taskService.restoreTaskTree(child.getId());
+
+        // Assert
+        assertNotNull(restored);
+        assertFalse(restored.getIsDeleted());
+        assertEquals(0, countDeleted());
+        TaskStats stats = taskService.getStats();
+        assertEquals(4, stats.getTotal());
+        assertSameCounts(stats, rebuilt());
+        await(() -> listener.received.size() == 2);
+        assertEventsFor(TaskEvent.Type.TASK_RESTORED, grandchild, deletedLeaf);
+    }
+
+    @Test
+    void deleteTaskTree_ShouldSucceedUntouched_WhenSubtreeAlreadyDeleted() {
+        // Arrange
+        taskService.deleteTaskTree(child.getId());
+        await(() -> listener.received.size() == 2);
+        listener.received.clear();
+
+        // Act
+        boolean deleted = taskService.deleteTaskTree(child.getId());
+
+        // Assert
+        assertTrue(deleted);
+        assertEquals(1, taskService.getStats().getTotal());
+        assertTrue(listener.received.isEmpty());
+    }
+
+    @Test
+    void deleteTaskTree_ShouldStop_WhenParentLinksFormACycle() {
+        // Arrange
+        jdbcTemplate.update("UPDATE tasks SET parent_task_id = ? WHERE id = ?", grandchild.getId(), root.getId());
+
+        // Act
+        boolean deleted = taskService.deleteTaskTree(root.getId());
+
+        // Assert
+        assertTrue(deleted);
+        assertEquals(4, countDeleted());
+    }
+
+    @Test
+    void deleteAndRestoreTaskTree_ShouldReportMissingRoot() {
+        // Act & Assert
+        assertFalse(taskService.deleteTaskTree(-1L));
+        assertNull(taskService.restoreTaskTree(-1L));
+    }
+
+    private Task create(String title, Long parentTaskId) {
+        Task task = new Task(title, null);
+        task.setPriority(Task.Priority.MEDIUM);
+        task.setCategory(Task.Category.WORK);
+        task.setStatus(Task.Status.PENDING);
+        task.setParentTaskId(parentTaskId);
+        return taskService.createTask(task);
+    }
+
+    private int countDeleted() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tasks WHERE is_deleted = 1", Integer.class);
+    }
+
+    private TaskStats rebuilt() {
+        taskStatistics.reconcile();
+        return taskService.getStats();
+    }
+
+    private static void assertSameCounts(TaskStats expected, TaskStats actual) {
+        assertEquals(expected.getTotal(), actual.getTotal());
+        assertEquals(expected.getByStatus(), actual.getByStatus());
+        assertEquals(expected.getByCategory(), actual.getByCategory());
+        assertEquals(expected.getByPriority(), actual.getByPriority());
+    }
+
+    private void assertEventsFor(TaskEvent.Type type, Task... tasks) {
+        assertTrue(listener.received.stream().allMatch(event -> event.getType() == type));
+        Set<Long> expected = Arrays.stream(tasks).map(Task::getId).collect(Collectors.toSet());
+        assertEquals(expected, new HashSet<>(listener.received.stream()
+            .map(TaskEvent::getTaskId)
+            .collect(Collectors.toList())));
+        assertEquals(tasks.length, listener.received.size());
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Timed out waiting for task events");
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -1,3 +1,8 @@
+-- Snapshot of the schema after Flyway migration V10
+-- (backend/src/main/resources/db/migration/oracle). The application applies
+-- those migrations itself at startup; if you create a database from this
+-- file instead, start the app with spring.flyway.baseline-version=10.
+
 -- Create Tasks table
 CREATE TABLE tasks (
     id NUMBER(10) PRIMARY KEY,
@@ -8,29 +13,104 @@ CREATE TABLE tasks (
     category VARCHAR2(50) DEFAULT 'PERSONAL',
     status VARCHAR2(20) DEFAULT 'PENDING',
     parent_task_id NUMBER(10),
-    is_deleted NUMBER(1) DEFAULT 0,
+    is_deleted NUMBER(1) DEFAULT 0 NOT NULL,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    change_version NUMBER(19) NOT NULL,
+    changed_at TIMESTAMP DEFAULT CAST(SYSTIMESTAMP AT TIME ZONE 'UTC' AS TIMESTAMP) NOT NULL,
+    version NUMBER(19) DEFAULT 0 NOT NULL,
     CONSTRAINT fk_parent_task FOREIGN KEY (parent_task_id) REFERENCES tasks(id)
 );
 
 -- Create sequence for auto-increment
-CREATE SEQUENCE task_seq START WITH 1 INCREMENT BY 1;
+-- INCREMENT BY must match the allocationSize of Task.id: the application
+-- reserves a block of 50 ids per NEXTVAL
+CREATE SEQUENCE task_seq START WITH 1 INCREMENT BY 50;
 
 -- Create trigger for auto-increment
+-- Only fills in ids for inserts that do not supply one (e.g. manual SQL)
 CREATE OR REPLACE TRIGGER task_id_trigger
     BEFORE INSERT ON tasks
     FOR EACH ROW
+    WHEN (NEW.id IS NULL)
 BEGIN
     :NEW.id := task_seq.NEXTVAL;
 END;
 /
 
+-- Change feed: every insert and update takes the next change version and
+-- a database-clock timestamp (see V5__task_change_version.sql and
+-- V9__task_changed_at.sql)
+CREATE SEQUENCE task_change_seq START WITH 1 INCREMENT BY 1 CACHE 100 ORDER;
+
+CREATE OR REPLACE TRIGGER task_change_version_trigger
+    BEFORE INSERT OR UPDATE ON tasks
+    FOR EACH ROW
+BEGIN
+    :NEW.change_version := task_change_seq.NEXTVAL;
+    :NEW.changed_at := CAST(SYSTIMESTAMP AT TIME ZONE 'UTC' AS TIMESTAMP);
+END;
+/
+
 -- Create indexes for better performance
-CREATE INDEX idx_tasks_status ON tasks(status);
-CREATE INDEX idx_tasks_category ON tasks(category);
-CREATE INDEX idx_tasks_due_date ON tasks(due_date);
+-- See V3__access_path_indexes.sql and V7__task_query_indexes.sql for the
+-- queries they serve
 CREATE INDEX idx_tasks_parent ON tasks(parent_task_id);
+CREATE INDEX idx_tasks_live_parent ON tasks (is_deleted, parent_task_id, created_at DESC, id DESC);
+CREATE INDEX idx_tasks_live_status ON tasks (is_deleted, status, created_at DESC, id DESC);
+CREATE INDEX idx_tasks_live_category ON tasks (is_deleted, category, created_at DESC, id DESC);
+CREATE INDEX idx_tasks_live_priority ON tasks (is_deleted, priority, created_at DESC, id DESC);
+CREATE INDEX idx_tasks_live_due_date ON tasks (is_deleted, due_date);
+-- Ascending on purpose: see V3 for why DESC keys would index live rows too
+CREATE INDEX idx_tasks_trash ON tasks (
+    CASE WHEN is_deleted = 1 THEN updated_at END,
+    CASE WHEN is_deleted = 1 THEN id END
+);
+CREATE INDEX idx_tasks_change_version ON tasks (change_version);
+CREATE INDEX idx_tasks_changed_at ON tasks (changed_at);
+
+-- Bulk import checkpoints (see V4__task_imports.sql)
+CREATE TABLE task_imports (
+    import_id VARCHAR2(64) PRIMARY KEY,
+    status VARCHAR2(20) NOT NULL,
+    rows_read NUMBER(19) DEFAULT 0 NOT NULL,
+    rows_imported NUMBER(19) DEFAULT 0 NOT NULL,
+    rows_failed NUMBER(19) DEFAULT 0 NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- The id a row had in the import file, mapped to the task it created.
+-- parent_source_id is set while the row's parent is still unresolved.
+CREATE TABLE task_import_ids (
+    import_id VARCHAR2(64) NOT NULL,
+    task_id NUMBER(10) NOT NULL,
+    source_row NUMBER(19) NOT NULL,
+    source_id NUMBER(19),
+    parent_source_id NUMBER(19),
+    CONSTRAINT pk_task_import_ids PRIMARY KEY (import_id, task_id)
+);
+
+CREATE INDEX idx_task_import_ids_source ON task_import_ids (import_id, source_id);
+
+CREATE TABLE task_import_errors (
+    import_id VARCHAR2(64) NOT NULL,
+    source_row NUMBER(19) NOT NULL,
+    message VARCHAR2(1000),
+    CONSTRAINT pk_task_import_errors PRIMARY KEY (import_id, source_row)
+);
+
+-- Task event outbox (see V8__task_events.sql and
+-- V10__task_event_attempts.sql)
+CREATE SEQUENCE task_event_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE task_events (
+    id NUMBER(19) PRIMARY KEY,
+    event_type VARCHAR2(20) NOT NULL,
+    task_id NUMBER(10) NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    attempts NUMBER(10) DEFAULT 0 NOT NULL
+);
 
 -- Insert sample data
 INSERT INTO tasks (title, description, due_date, priority, category, status) VALUES
@@ -1,13 +1,80 @@
-import React, { useState, useEffect } from 'react';
+import React, { useState, useEffect, useMemo, useRef } from 'react';
 import './App.css';
 import TaskList from './components/TaskList';
 import TaskForm from './components/TaskForm';
 import FilterBar from './components/FilterBar';
 import taskService from './services/taskService';
 
+// List and feed responses leave the description out; TaskItem fetches it on expand
+const loadDescription = (id) => taskService.getTaskById(id).then(response => response.data.description);
+
+const newestFirst = (key) => (a, b) =>
+  new Date(b[key]) - new Date(a[key]) || b.id - a.id;
+
+// Splits the synced tasks into the lists the page shows: top-level tasks,
+// their direct subtasks, and the trash
+const toLists = (taskMap) => {
+  const all = Object.values(taskMap);
+  const live = all.filter(task => !task.isDeleted);
+  const tasks = live.filter(task => task.parentTaskId == null).sort(newestFirst('createdAt'));
+  const subtasksMap = {};
+  tasks.forEach(task => { subtasksMap[task.id] = []; });
+  live.forEach(task => {
+    if (task.parentTaskId != null && subtasksMap[task.parentTaskId]) {
+      subtasksMap[task.parentTaskId].push(task);
+    }
+  });
+  Object.values(subtasksMap).forEach(children => children.sort(newestFirst('createdAt')));
+  const deletedTasks = all.filter(task => task.isDeleted).sort(newestFirst('updatedAt'));
+  return { tasks, subtasksMap, deletedTasks };
+};
+
+// GET /tasks/query only returns live tasks, so the (small) trash is still
+// filtered here; the live list uses it only until the server answers
+const matchesFilters = ({ searchTerm, statusFilter, categoryFilter, priorityFilter }) => (task) => {
+  if (task.parentTaskId) return false;
+  if (searchTerm && !task.title?.toLowerCase().includes(searchTerm.toLowerCase())) return false;
+  if (statusFilter && task.status !== statusFilter) return false;
+  if (categoryFilter && task.category !== categoryFilter) return false;
+  if (priorityFilter && task.priority !== priorityFilter) return false;
+  return true;
+};
+
+// Applies synced changes to the server's filtered result instead of asking
+// it again. Keyword matches on descriptions cannot be checked here, so a
+// listed task stays while it passes the other filters, and a new one joins
+// when its title matches.
+const updateMatches = (ids, changes, filters) => {
+  const next = [...ids];
+  const passesOtherFilters = matchesFilters({ ...filters, searchTerm: '' });
+  changes.forEach(change => {
+    const index = next.indexOf(change.id);
+    const listable = !change.isDeleted && passesOtherFilters(change);
+    if (index >= 0 && !listable) {
+      next.splice(index, 1);
+    } else if (index < 0 && listable && matchesFilters(filters)(change)) {
+      next.unshift(change.id);
+    }
+  });
+  return next;
+};
+
+// Flattens the paged tree (top-level tasks with their direct subtasks) and
+// the trash into one map by id
+const toTaskMap = (trees, deletedTasks) => {
+  const taskMap = {};
+  trees.forEach(node => {
+    taskMap[node.task.id] = node.task;
+    (node.subTasks || []).forEach(child => { taskMap[child.task.id] = child.task; });
+  });
+  deletedTasks.forEach(task => { taskMap[task.id] = task; });
+  return taskMap;
+};
+
 function App() {
-  const [tasks, setTasks] = useState([]);
-  const [deletedTasks, setDeletedTasks] = useState([]);
+  // Every listed task by id, kept current from the change feed
+  const [taskMap, setTaskMap] = useState({});
+  const changeToken = useRef(null);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState(null);
   const [success, setSuccess] = useState(null);
@@ -22,12 +89,65 @@ function App() {
   const [categoryFilter, setCategoryFilter] = useState('');
   const [priorityFilter, setPriorityFilter] = useState('');
 
-  // Fetch tasks on component mount
+  const { tasks, subtasksMap, deletedTasks } = useMemo(() => toLists(taskMap), [taskMap]);
+  // Ids of the top-level tasks matching the filters, in server order;
+  // null while no filter is set
+  const [matchingIds, setMatchingIds] = useState(null);
+  const filtersActive = !!(searchTerm || statusFilter || categoryFilter || priorityFilter);
+  // Read by applyChanges, which the change subscription captures once
+  const filtersRef = useRef({});
+  filtersRef.current = { searchTerm, statusFilter, categoryFilter, priorityFilter };
+
+  // Load the lists once, then follow pushed changes
   useEffect(() => {
-    fetchTasks();
-    fetchDeletedTasks();
+    let unsubscribe;
+    const start = async () => {
+      await seedTasks();
+      unsubscribe = taskService.subscribeToChanges(changeToken.current, feed => {
+        changeToken.current = feed.nextToken;
+        applyChanges(feed.changes || []);
+        if (feed.hasMore) {
+          syncTasks();
+        }
+      });
+    };
+    start();
+    return () => unsubscribe && unsubscribe();
   }, []);
 
+  // Filtering runs on the server as one indexed query, debounced while
+  // typing. Synced changes are then applied to its result in place.
+  useEffect(() => {
+    if (!filtersActive) {
+      setMatchingIds(null);
+      return undefined;
+    }
+    let cancelled = false;
+    const timer = setTimeout(async () => {
+      try {
+        const items = await taskService.queryAllTasks({
+          keyword: searchTerm || undefined,
+          status: statusFilter || undefined,
+          category: categoryFilter || undefined,
+          priority: priorityFilter || undefined,
+          topLevel: true
+        });
+        if (!cancelled) {
+          setMatchingIds(items.map(task => task.id));
+        }
+      } catch (err) {
+        if (!cancelled) {
+          setError('Failed to filter tasks. Please try again.');
+        }
+        console.error('Error querying tasks:', err);
+      }
+    }, 300);
+    return () => {
+      cancelled = true;
+      clearTimeout(timer);
+    };
+  }, [filtersActive, searchTerm, statusFilter, categoryFilter, priorityFilter]);
+
   // Auto-hide messages after 3 seconds
   useEffect(() => {
     if (error || success) {
@@ -39,11 +159,38 @@ function App() {
     }
   }, [error, success]);
 
-  const fetchTasks = async () => {
+  // A change can arrive twice (pushed and fetched); keep the newest version.
+  // Tasks loaded from the paged lists carry no version, and every change is
+  // read after them.
+  const applyChanges = (changes) => {
+    if (changes.length === 0) {
+      return;
+    }
+    setTaskMap(previous => {
+      const next = { ...previous };
+      changes.forEach(change => {
+        const known = next[change.id];
+        if (!known || known.changeVersion == null || known.changeVersion <= change.changeVersion) {
+          next[change.id] = change;
+        }
+      });
+      return next;
+    });
+    setMatchingIds(previous => previous && updateMatches(previous, changes, filtersRef.current));
+  };
+
+  // First load from the paged lists rather than the whole feed. The token
+  // is taken first, so writes made while the pages load come through the
+  // feed afterwards.
+  const seedTasks = async () => {
     try {
-      setLoading(true);
-      const response = await taskService.getAllTasks();
-      setTasks(response.data || []);
+      const token = await taskService.getLatestChangeToken();
+      const [trees, deletedTasks] = await Promise.all([
+        taskService.getAllTaskTrees(),
+        taskService.getAllDeletedTasks()
+      ]);
+      changeToken.current = token;
+      setTaskMap(toTaskMap(trees, deletedTasks));
       setError(null);
     } catch (err) {
       setError('Failed to fetch tasks. Please try again.');
@@ -53,12 +200,18 @@ function App() {
     }
   };
 
-  const fetchDeletedTasks = async () => {
+  // Fetches only what changed since the last sync instead of every list
+  const syncTasks = async () => {
     try {
-      const response = await taskService.getDeletedTasks();
-      setDeletedTasks(response.data || []);
+      const { changes, token } = await taskService.getAllChanges(changeToken.current);
+      changeToken.current = token;
+      applyChanges(changes);
+      setError(null);
     } catch (err) {
-      console.error('Error fetching deleted tasks:', err);
+      setError('Failed to fetch tasks. Please try again.');
+      console.error('Error fetching tasks:', err);
+    } finally {
+      setLoading(false);
     }
   };
 
@@ -73,7 +226,7 @@ function App() {
       setSuccess(parentTaskId ? 'Subtask created successfully!' : 'Task created successfully!');
       setShowForm(false);
       setParentTaskId(null);
-      fetchTasks();
+      syncTasks();
     } catch (err) {
       setError('Failed to create task. Please try again.');
       console.error('Error creating task:', err);
@@ -86,7 +239,7 @@ function App() {
       setSuccess('Task updated successfully!');
       setEditingTask(null);
       setShowForm(false);
-      fetchTasks();
+      syncTasks();
     } catch (err) {
       setError('Failed to update task. Please try again.');
       console.error('Error updating task:', err);
@@ -96,10 +249,9 @@ function App() {
   const handleDeleteTask = async (taskId) => {
     if (window.confirm('Are you sure you want to delete this task?')) {
       try {
-        await taskService.deleteTask(taskId);
+        await taskService.deleteTask(taskId, true);
         setSuccess('Task deleted successfully!');
-        fetchTasks();
-        fetchDeletedTasks();
+        syncTasks();
       } catch (err) {
         setError('Failed to delete task. Please try again.');
         console.error('Error deleting task:', err);
@@ -109,10 +261,9 @@ function App() {
 
   const handleRestoreTask = async (taskId) => {
     try {
-      await taskService.restoreTask(taskId);
+      await taskService.restoreTask(taskId, true);
       setSuccess('Task restored successfully!');
-      fetchTasks();
-      fetchDeletedTasks();
+      syncTasks();
     } catch (err) {
       setError('Failed to restore task. Please try again.');
       console.error('Error restoring task:', err);
@@ -121,19 +272,27 @@ function App() {
 
   const handleToggleStatus = async (taskId, updatedTask) => {
     try {
-      await taskService.updateTask(taskId, updatedTask);
+      // Writes only the status column; the description is never sent back
+      await taskService.updateTaskStatus(taskId, updatedTask.status);
       setSuccess('Task status updated successfully!');
-      fetchTasks();
+      syncTasks();
     } catch (err) {
       setError('Failed to update task status. Please try again.');
       console.error('Error updating task status:', err);
     }
   };
 
-  const handleEditTask = (task) => {
-    setEditingTask(task);
-    setShowForm(true);
-    setParentTaskId(null);
+  const handleEditTask = async (task) => {
+    try {
+      // The form needs the description, which list responses leave out
+      const response = await taskService.getTaskById(task.id);
+      setEditingTask(response.data);
+      setShowForm(true);
+      setParentTaskId(null);
+    } catch (err) {
+      setError('Failed to load task. Please try again.');
+      console.error('Error loading task:', err);
+    }
   };
 
   const handleAddSubtask = (parentId) => {
@@ -166,6 +325,17 @@ function App() {
 
   const stats = getTaskStats();
 
+  // Until the first query answers, the local filter stands in for it
+  const filters = { searchTerm, statusFilter, categoryFilter, priorityFilter };
+  let visibleTasks = tasks;
+  if (showDeleted) {
+    visibleTasks = deletedTasks.filter(matchesFilters(filters));
+  } else if (matchingIds) {
+    visibleTasks = matchingIds.map(id => taskMap[id]).filter(task => task && !task.isDeleted);
+  } else if (filtersActive) {
+    visibleTasks = tasks.filter(matchesFilters(filters));
+  }
+
   if (loading) {
     return <div className="loading">Loading tasks...</div>;
   }
@@ -223,15 +393,14 @@ function App() {
           />
 
           <TaskList
-            tasks={showDeleted ? deletedTasks : tasks}
+            tasks={visibleTasks}
+            subtasksMap={showDeleted ? {} : subtasksMap}
             onEdit={handleEditTask}
             onDelete={showDeleted ? handleRestoreTask : handleDeleteTask}
             onToggleStatus={handleToggleStatus}
             onAddSubtask={handleAddSubtask}
-            searchTerm={searchTerm}
-            statusFilter={statusFilter}
-            categoryFilter={categoryFilter}
-            priorityFilter={priorityFilter}
+            onLoadDescription={loadDescription}
+            filtersActive={filtersActive}
           />
         </div>
 
@@ -1,4 +1,4 @@
-import React, { useState } from 'react';
+import React, { useState, useEffect } from 'react';
 import { format, isAfter, parseISO } from 'date-fns';
 
 const TaskItem = ({
@@ -7,9 +7,33 @@ const TaskItem = ({
   onDelete,
   onToggleStatus,
   onAddSubtask,
+  onLoadDescription,
   subtasks = []
 }) => {
   const [showSubtasks, setShowSubtasks] = useState(false);
+  const [showDetails, setShowDetails] = useState(false);
+  // List responses carry no description: undefined until fetched, null if that failed
+  const [description, setDescription] = useState(undefined);
+
+  // Any change to the task may have changed its description
+  useEffect(() => {
+    setDescription(undefined);
+  }, [task.updatedAt]);
+
+  useEffect(() => {
+    if (!showDetails || description !== undefined) return undefined;
+    let cancelled = false;
+    onLoadDescription(task.id)
+      .then(text => { if (!cancelled) setDescription(text || ''); })
+      .catch(() => { if (!cancelled) setDescription(null); });
+    return () => { cancelled = true; };
+  }, [showDetails, description, task.id, onLoadDescription]);
+
+  const describe = () => {
+    if (description === undefined) return 'Loading description...';
+    if (description === null) return 'Could not load the description.';
+    return description || 'No description.';
+  };
 
   const formatDate = (dateString) => {
     if (!dateString) return null;
@@ -51,8 +75,8 @@ const TaskItem = ({
       <div className="task-header">
         <div>
           <h3 className="task-title">{task.title}</h3>
-          {task.description && (
-            <p className="task-description">{task.description}</p>
+          {showDetails && (
+            <p className="task-description">{describe()}</p>
           )}
         </div>
       </div>
@@ -85,6 +109,9 @@ const TaskItem = ({
         <button className="btn btn-primary btn-small" onClick={() => onEdit(task)}>
           Edit
         </button>
+        <button className="btn btn-secondary btn-small" onClick={() => setShowDetails(!showDetails)}>
+          {showDetails ? 'Hide' : 'Show'} Details
+        </button>
         <button className="btn btn-secondary btn-small" onClick={() => onAddSubtask(task.id)}>
           Add Subtask
         </button>
@@ -111,11 +138,6 @@ const TaskItem = ({
                   <strong className={subtask.status === 'COMPLETED' ? 'completed' : ''}>
                     {subtask.title}
                   </strong>
-                  {subtask.description && (
-                    <p style={{ fontSize: '0.9rem', color: '#666', margin: '5px 0' }}>
-                      {subtask.description}
-                    </p>
-                  )}
                   <div style={{ display: 'flex', gap: '5px', marginTop: '5px' }}>
                     <span className={getPriorityClass(subtask.priority)}>
                       {subtask.priority}
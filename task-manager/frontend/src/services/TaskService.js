@@ -0,0 +1,134 @@
+import axios from 'axios';
+
+const API_BASE_URL = 'http://localhost:8080/api';
+
+const api = axios.create({
+  baseURL: API_BASE_URL,
+  headers: {
+    'Content-Type': 'application/json',
+  },
+});
+
+const taskService = {
+  getAllTasks: () => api.get('/tasks'),
+
+  getTaskById: (id) => api.get(`/tasks/${id}`),
+
+  createTask: (task) => api.post('/tasks', task),
+
+  updateTask: (id, task) => api.put(`/tasks/${id}`, task),
+
+  // Only the fields given are changed, e.g. patchTask(id, { priority: 'HIGH' })
+  patchTask: (id, changes) => api.patch(`/tasks/${id}`, changes),
+
+  // 200 with the task summary, or 202 when the server queues status writes
+  updateTaskStatus: (id, status) => api.patch(`/tasks/${id}/status`, { status }),
+
+  // cascade also deletes/restores every subtask below the task
+  deleteTask: (id, cascade = false) => api.delete(`/tasks/${id}`, { params: { cascade } }),
+
+  restoreTask: (id, cascade = false) => api.put(`/tasks/${id}/restore`, null, { params: { cascade } }),
+
+  getDeletedTasks: () => api.get('/tasks/deleted'),
+
+  // One page of the trash, most recently deleted first
+  getDeletedTasksPage: ({ cursor, limit } = {}) =>
+    api.get('/tasks/deleted/page', { params: { cursor, limit } }),
+
+  // Follows nextCursor until the whole trash has been loaded
+  getAllDeletedTasks: async (limit = 500) => {
+    const items = [];
+    let cursor;
+    do {
+      const response = await taskService.getDeletedTasksPage({ cursor, limit });
+      const page = response.data || {};
+      items.push(...(page.items || []));
+      cursor = page.nextCursor;
+    } while (cursor);
+    return items;
+  },
+
+  getTasksByStatus: (status) => api.get(`/tasks/status/${status}`),
+
+  getTasksByCategory: (category) => api.get(`/tasks/category/${category}`),
+
+  searchTasks: (keyword) => api.get('/tasks/search', { params: { keyword } }),
+
+  getSubTasks: (id) => api.get(`/tasks/${id}/subtasks`),
+
+  // One page of top-level tasks with their subtasks already nested
+  getTaskTree: ({ cursor, limit, depth } = {}) =>
+    api.get('/tasks/tree', { params: { cursor, limit, depth } }),
+
+  // Follows nextCursor until every top-level task has been loaded
+  getAllTaskTrees: async ({ limit = 500, depth = 1 } = {}) => {
+    const nodes = [];
+    let cursor;
+    do {
+      const response = await taskService.getTaskTree({ cursor, limit, depth });
+      const page = response.data || {};
+      nodes.push(...(page.items || []));
+      cursor = page.nextCursor;
+    } while (cursor);
+    return nodes;
+  },
+
+  // Non-deleted tasks matching every filter given (status, category,
+  // priority, dueFrom, dueTo, parentId, topLevel, keyword, sort), filtered
+  // and sorted by the server
+  queryTasks: (filters = {}, { cursor, limit } = {}) =>
+    api.get('/tasks/query', { params: { ...filters, cursor, limit } }),
+
+  // Follows nextCursor until every matching task has been loaded
+  queryAllTasks: async (filters, limit = 500) => {
+    const items = [];
+    let cursor;
+    do {
+      const response = await taskService.queryTasks(filters, { cursor, limit });
+      const page = response.data || {};
+      items.push(...(page.items || []));
+      cursor = page.nextCursor;
+    } while (cursor);
+    return items;
+  },
+
+  // Live task counts per status, category and priority, plus overdue
+  getStats: () => api.get('/tasks/stats'),
+
+  // Tasks created, updated, deleted or restored since the token; no token
+  // returns every task, deleted ones included
+  getChanges: (since, limit) => api.get('/tasks/changes', { params: { since, limit } }),
+
+  // Token for the newest change, without reading any: take it before
+  // loading from the paged endpoints, then follow the feed from it
+  getLatestChangeToken: async () => {
+    const response = await api.get('/tasks/changes/latest');
+    return response.data.nextToken;
+  },
+
+  // Follows hasMore and returns the changes with the token to resume from
+  getAllChanges: async (since, limit = 500) => {
+    const changes = [];
+    let token = since;
+    let hasMore;
+    do {
+      const response = await taskService.getChanges(token, limit);
+      const feed = response.data || {};
+      changes.push(...(feed.changes || []));
+      token = feed.nextToken;
+      hasMore = feed.hasMore;
+    } while (hasMore);
+    return { changes, token };
+  },
+
+  // Server-sent "changes" events, each carrying the same body as getChanges.
+  // The browser reconnects on its own and resumes from the last event id.
+  subscribeToChanges: (since, onFeed) => {
+    const query = since ? `?since=${encodeURIComponent(since)}` : '';
+    const source = new EventSource(`${API_BASE_URL}/tasks/changes/stream${query}`);
+    source.addEventListener('changes', event => onFeed(JSON.parse(event.data)));
+    return () => source.close();
+  },
+};
+
+export default taskService;